@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -119,8 +119,17 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	@Nullable
 	private transient PointcutExpression pointcutExpression;
 
+	@Nullable
+	private transient PointcutExpressionPreFilter preFilter;
+
+	private transient boolean beanNameSensitive;
+
 	private transient Map<Method, ShadowMatch> shadowMatchCache = new ConcurrentHashMap<>(32);
 
+	private transient Map<Class<?>, Boolean> canApplyCache = new ConcurrentHashMap<>(32);
+
+	private transient Map<Class<?>, Boolean> canApplyWithIntroductionsCache = new ConcurrentHashMap<>(32);
+
 
 	/**
 	 * Create a new default AspectJExpressionPointcut.
@@ -195,6 +204,8 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		}
 		if (this.pointcutExpression == null) {
 			this.pointcutClassLoader = determinePointcutClassLoader();
+			this.preFilter = PointcutExpressionPreFilter.forExpression(
+					replaceBooleanOperators(resolveExpression()), this.pointcutParameterNames, this.pointcutParameterTypes);
 			this.pointcutExpression = buildPointcutExpression(this.pointcutClassLoader);
 		}
 		return this.pointcutExpression;
@@ -267,6 +278,43 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		return obtainPointcutExpression();
 	}
 
+	/**
+	 * Return whether the pointcut expression uses the Spring-specific
+	 * {@code bean()} designator, directly or through a referenced pointcut.
+	 * Matches of such a pointcut depend on the name of the currently proxied
+	 * bean, not just on the target class and method.
+	 * @since 5.1.21
+	 * @see ProxyCreationContext#getCurrentProxiedBeanName()
+	 */
+	public boolean isBeanNameSensitive() {
+		obtainPointcutExpression();
+		return this.beanNameSensitive;
+	}
+
+	/**
+	 * Determine whether this pointcut can apply to the given target class at all,
+	 * i.e. whether it matches any of its methods.
+	 * <p>Unless the pointcut is {@linkplain #isBeanNameSensitive() bean name sensitive},
+	 * the outcome is remembered per target class for the lifetime of this pointcut.
+	 * @param targetClass the target class
+	 * @param hasIntroductions whether or not the advisor chain for the target
+	 * class includes any introductions
+	 * @since 5.1.21
+	 * @see AopUtils#canApply(org.springframework.aop.Pointcut, Class, boolean)
+	 */
+	public boolean canApply(Class<?> targetClass, boolean hasIntroductions) {
+		if (isBeanNameSensitive()) {
+			return AopUtils.canApply(this, targetClass, hasIntroductions);
+		}
+		Map<Class<?>, Boolean> cache = (hasIntroductions ? this.canApplyWithIntroductionsCache : this.canApplyCache);
+		Boolean canApply = cache.get(targetClass);
+		if (canApply == null) {
+			canApply = AopUtils.canApply(this, targetClass, hasIntroductions);
+			cache.put(targetClass, canApply);
+		}
+		return canApply;
+	}
+
 	@Override
 	public boolean matches(Class<?> targetClass) {
 		PointcutExpression pointcutExpression = obtainPointcutExpression();
@@ -292,6 +340,11 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	@Override
 	public boolean matches(Method method, Class<?> targetClass, boolean hasIntroductions) {
 		obtainPointcutExpression();
+		PointcutExpressionPreFilter preFilter = this.preFilter;
+		if (preFilter != null && !preFilter.couldMatch(method, targetClass)) {
+			// Cannot match according to method name or annotations: skip AspectJ matching
+			return false;
+		}
 		ShadowMatch shadowMatch = getTargetShadowMatch(method, targetClass);
 
 		// Special handling for this, target, @this, @target, @annotation
@@ -577,6 +630,8 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		// Initialize transient fields.
 		// pointcutExpression will be initialized lazily by checkReadyToMatch()
 		this.shadowMatchCache = new ConcurrentHashMap<>(32);
+		this.canApplyCache = new ConcurrentHashMap<>(32);
+		this.canApplyWithIntroductionsCache = new ConcurrentHashMap<>(32);
 	}
 
 
@@ -599,6 +654,7 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 
 		@Override
 		public ContextBasedMatcher parse(String expression) {
+			beanNameSensitive = true;
 			return new BeanContextMatcher(expression);
 		}
 	}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.aspectj;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.PatternMatchUtils;
+
+/**
+ * Cheap pre-filter for AspectJ pointcut expressions, rejecting methods that
+ * cannot possibly match before the AspectJ weaver computes a full shadow match.
+ *
+ * <p>Derived from the expression text: method name patterns of
+ * {@code execution} designators and annotation types of {@code @annotation}
+ * designators are extracted, combined according to the {@code &&} and
+ * {@code ||} operators of the expression. Any other designator, negation
+ * or named pointcut reference is treated as "could match", so the filter
+ * never rejects a method that the full expression would match.
+ *
+ * @since 5.1.21
+ * @see AspectJExpressionPointcut#matches(Method, Class, boolean)
+ */
+final class PointcutExpressionPreFilter {
+
+	private static final String EXECUTION_DESIGNATOR = "execution";
+
+	private static final String AT_ANNOTATION_DESIGNATOR = "@annotation";
+
+
+	private final Condition condition;
+
+
+	private PointcutExpressionPreFilter(Condition condition) {
+		this.condition = condition;
+	}
+
+
+	/**
+	 * Determine whether the given method could match the pointcut expression.
+	 * @param method the candidate method
+	 * @param targetClass the target class
+	 * @return {@code false} if the method definitely does not match,
+	 * {@code true} if a full match is required
+	 */
+	public boolean couldMatch(Method method, Class<?> targetClass) {
+		return this.condition.couldMatch(method, targetClass);
+	}
+
+
+	/**
+	 * Build a pre-filter for the given pointcut expression.
+	 * @param expression the pointcut expression (with AspectJ boolean operators)
+	 * @param parameterNames the names of the pointcut parameters
+	 * @param parameterTypes the types of the pointcut parameters
+	 * @return the pre-filter, or {@code null} if the expression does not
+	 * allow for any pre-filtering
+	 */
+	@Nullable
+	public static PointcutExpressionPreFilter forExpression(
+			String expression, String[] parameterNames, Class<?>[] parameterTypes) {
+
+		Condition condition;
+		try {
+			Parser parser = new Parser(expression, parameterNames, parameterTypes);
+			condition = parser.parse();
+		}
+		catch (IllegalArgumentException ex) {
+			// Not understood - leave it to AspectJ
+			return null;
+		}
+		return (condition != Condition.ANY ? new PointcutExpressionPreFilter(condition) : null);
+	}
+
+
+	/**
+	 * A condition on a candidate method.
+	 */
+	private interface Condition {
+
+		Condition ANY = (method, targetClass) -> true;
+
+		boolean couldMatch(Method method, Class<?> targetClass);
+	}
+
+
+	/**
+	 * Condition for the method name pattern of an {@code execution} designator.
+	 */
+	private static class MethodNameCondition implements Condition {
+
+		private final String namePattern;
+
+		public MethodNameCondition(String namePattern) {
+			this.namePattern = namePattern;
+		}
+
+		@Override
+		public boolean couldMatch(Method method, Class<?> targetClass) {
+			return PatternMatchUtils.simpleMatch(this.namePattern, method.getName());
+		}
+	}
+
+
+	/**
+	 * Condition for the annotation type of an {@code @annotation} designator,
+	 * checking the given method as well as the most specific target method.
+	 */
+	private static class AnnotationCondition implements Condition {
+
+		private final String annotationName;
+
+		private final boolean qualified;
+
+		public AnnotationCondition(String annotationName) {
+			this.annotationName = annotationName;
+			this.qualified = (annotationName.indexOf('.') != -1);
+		}
+
+		@Override
+		public boolean couldMatch(Method method, Class<?> targetClass) {
+			if (hasAnnotation(method)) {
+				return true;
+			}
+			Method targetMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+			return (targetMethod != method && hasAnnotation(targetMethod));
+		}
+
+		private boolean hasAnnotation(Method method) {
+			for (Annotation ann : method.getAnnotations()) {
+				String name = ann.annotationType().getName().replace('$', '.');
+				if (name.equals(this.annotationName) ||
+						(!this.qualified && name.endsWith("." + this.annotationName))) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+
+	/**
+	 * Conjunction or disjunction of conditions.
+	 */
+	private static class CompositeCondition implements Condition {
+
+		private final List<Condition> conditions;
+
+		private final boolean all;
+
+		public CompositeCondition(List<Condition> conditions, boolean all) {
+			this.conditions = conditions;
+			this.all = all;
+		}
+
+		@Override
+		public boolean couldMatch(Method method, Class<?> targetClass) {
+			for (Condition condition : this.conditions) {
+				if (condition.couldMatch(method, targetClass) != this.all) {
+					return !this.all;
+				}
+			}
+			return this.all;
+		}
+	}
+
+
+	/**
+	 * Simple recursive descent parser for the boolean structure of an expression,
+	 * treating each designator with its arguments as an opaque unit.
+	 */
+	private static class Parser {
+
+		private final String expression;
+
+		private final String[] parameterNames;
+
+		private final Class<?>[] parameterTypes;
+
+		private int pos;
+
+		public Parser(String expression, String[] parameterNames, Class<?>[] parameterTypes) {
+			this.expression = expression;
+			this.parameterNames = parameterNames;
+			this.parameterTypes = parameterTypes;
+		}
+
+		public Condition parse() {
+			Condition condition = parseOr();
+			skipWhitespace();
+			if (this.pos != this.expression.length()) {
+				throw new IllegalArgumentException("Unexpected character at position " + this.pos);
+			}
+			return condition;
+		}
+
+		private Condition parseOr() {
+			List<Condition> conditions = new ArrayList<>();
+			conditions.add(parseAnd());
+			while (consume("||")) {
+				conditions.add(parseAnd());
+			}
+			if (conditions.size() == 1) {
+				return conditions.get(0);
+			}
+			for (Condition condition : conditions) {
+				if (condition == Condition.ANY) {
+					return Condition.ANY;
+				}
+			}
+			return new CompositeCondition(conditions, false);
+		}
+
+		private Condition parseAnd() {
+			List<Condition> conditions = new ArrayList<>();
+			Condition condition = parseUnary();
+			if (condition != Condition.ANY) {
+				conditions.add(condition);
+			}
+			while (consume("&&")) {
+				condition = parseUnary();
+				if (condition != Condition.ANY) {
+					conditions.add(condition);
+				}
+			}
+			if (conditions.isEmpty()) {
+				return Condition.ANY;
+			}
+			return (conditions.size() == 1 ? conditions.get(0) : new CompositeCondition(conditions, true));
+		}
+
+		private Condition parseUnary() {
+			if (consume("!")) {
+				// Negated conditions cannot be evaluated conservatively
+				parseUnary();
+				return Condition.ANY;
+			}
+			if (consume("(")) {
+				Condition condition = parseOr();
+				if (!consume(")")) {
+					throw new IllegalArgumentException("Missing closing parenthesis at position " + this.pos);
+				}
+				return condition;
+			}
+			return parseDesignator();
+		}
+
+		private Condition parseDesignator() {
+			skipWhitespace();
+			int start = this.pos;
+			while (this.pos < this.expression.length() && isDesignatorChar(this.expression.charAt(this.pos))) {
+				this.pos++;
+			}
+			String designator = this.expression.substring(start, this.pos);
+			if (designator.isEmpty() || !consume("(")) {
+				throw new IllegalArgumentException("Designator expected at position " + start);
+			}
+			int bodyStart = this.pos;
+			int depth = 1;
+			while (depth > 0) {
+				if (this.pos >= this.expression.length()) {
+					throw new IllegalArgumentException("Unbalanced parentheses in designator '" + designator + "'");
+				}
+				char c = this.expression.charAt(this.pos++);
+				if (c == '(') {
+					depth++;
+				}
+				else if (c == ')') {
+					depth--;
+				}
+			}
+			String body = this.expression.substring(bodyStart, this.pos - 1).trim();
+			if (EXECUTION_DESIGNATOR.equals(designator)) {
+				return executionCondition(body);
+			}
+			if (AT_ANNOTATION_DESIGNATOR.equals(designator)) {
+				return annotationCondition(body);
+			}
+			return Condition.ANY;
+		}
+
+		private Condition executionCondition(String body) {
+			int paramsStart = body.indexOf('(');
+			if (paramsStart == -1 || paramsStart != body.lastIndexOf('(')) {
+				// Parenthesized type patterns: not worth analyzing
+				return Condition.ANY;
+			}
+			String signature = body.substring(0, paramsStart).trim();
+			int nameStart = Math.max(signature.lastIndexOf('.'), signature.lastIndexOf(' ')) + 1;
+			String namePattern = signature.substring(nameStart);
+			if (namePattern.isEmpty() || "*".equals(namePattern) || !isNamePattern(namePattern)) {
+				return Condition.ANY;
+			}
+			return new MethodNameCondition(namePattern);
+		}
+
+		private Condition annotationCondition(String body) {
+			if (body.isEmpty() || !isTypeName(body)) {
+				return Condition.ANY;
+			}
+			for (int i = 0; i < this.parameterNames.length; i++) {
+				if (body.equals(this.parameterNames[i])) {
+					return new AnnotationCondition(this.parameterTypes[i].getName().replace('$', '.'));
+				}
+			}
+			return new AnnotationCondition(body);
+		}
+
+		private boolean consume(String token) {
+			skipWhitespace();
+			if (this.expression.startsWith(token, this.pos)) {
+				this.pos += token.length();
+				return true;
+			}
+			return false;
+		}
+
+		private void skipWhitespace() {
+			while (this.pos < this.expression.length() && Character.isWhitespace(this.expression.charAt(this.pos))) {
+				this.pos++;
+			}
+		}
+
+		private static boolean isDesignatorChar(char c) {
+			return (Character.isJavaIdentifierPart(c) || c == '.' || c == '@');
+		}
+
+		private static boolean isNamePattern(String pattern) {
+			for (int i = 0; i < pattern.length(); i++) {
+				char c = pattern.charAt(i);
+				if (!Character.isJavaIdentifierPart(c) && c != '*') {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static boolean isTypeName(String name) {
+			for (int i = 0; i < name.length(); i++) {
+				char c = name.charAt(i);
+				if (!Character.isJavaIdentifierPart(c) && (c != '.' || i == 0 || name.charAt(i - 1) == '.')) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+}
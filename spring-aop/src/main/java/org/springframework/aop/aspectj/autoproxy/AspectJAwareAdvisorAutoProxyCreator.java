@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,11 +25,17 @@ import org.aspectj.util.PartialOrder;
 import org.aspectj.util.PartialOrder.PartialComparable;
 
 import org.springframework.aop.Advisor;
+import org.springframework.aop.IntroductionAdvisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.PointcutAdvisor;
 import org.springframework.aop.aspectj.AbstractAspectJAdvice;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
 import org.springframework.aop.aspectj.AspectJPointcutAdvisor;
 import org.springframework.aop.aspectj.AspectJProxyUtils;
 import org.springframework.aop.framework.autoproxy.AbstractAdvisorAutoProxyCreator;
+import org.springframework.aop.framework.autoproxy.ProxyCreationContext;
 import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.core.Ordered;
 import org.springframework.util.ClassUtils;
 
@@ -49,6 +55,53 @@ public class AspectJAwareAdvisorAutoProxyCreator extends AbstractAdvisorAutoProx
 	private static final Comparator<Advisor> DEFAULT_PRECEDENCE_COMPARATOR = new AspectJPrecedenceComparator();
 
 
+	/**
+	 * Search the given candidate Advisors like the superclass, but letting
+	 * AspectJ expression pointcuts remember their outcome per target class.
+	 * <p>Such pointcuts match independently of the specific bean instance (unless
+	 * they use the {@code bean()} designator), so further beans of the same class
+	 * do not have to go through the method-by-method matching again.
+	 * @see AopUtils#findAdvisorsThatCanApply
+	 * @see AspectJExpressionPointcut#canApply(Class, boolean)
+	 */
+	@Override
+	protected List<Advisor> findAdvisorsThatCanApply(
+			List<Advisor> candidateAdvisors, Class<?> beanClass, String beanName) {
+
+		if (candidateAdvisors.isEmpty()) {
+			return candidateAdvisors;
+		}
+		ProxyCreationContext.setCurrentProxiedBeanName(beanName);
+		try {
+			List<Advisor> eligibleAdvisors = new ArrayList<>();
+			for (Advisor candidate : candidateAdvisors) {
+				if (candidate instanceof IntroductionAdvisor && AopUtils.canApply(candidate, beanClass)) {
+					eligibleAdvisors.add(candidate);
+				}
+			}
+			boolean hasIntroductions = !eligibleAdvisors.isEmpty();
+			for (Advisor candidate : candidateAdvisors) {
+				if (!(candidate instanceof IntroductionAdvisor) && canApply(candidate, beanClass, hasIntroductions)) {
+					eligibleAdvisors.add(candidate);
+				}
+			}
+			return eligibleAdvisors;
+		}
+		finally {
+			ProxyCreationContext.setCurrentProxiedBeanName(null);
+		}
+	}
+
+	private boolean canApply(Advisor advisor, Class<?> beanClass, boolean hasIntroductions) {
+		if (advisor instanceof PointcutAdvisor) {
+			Pointcut pointcut = ((PointcutAdvisor) advisor).getPointcut();
+			if (pointcut instanceof AspectJExpressionPointcut) {
+				return ((AspectJExpressionPointcut) pointcut).canApply(beanClass, hasIntroductions);
+			}
+		}
+		return AopUtils.canApply(advisor, beanClass, hasIntroductions);
+	}
+
 	/**
 	 * Sort the rest by AspectJ precedence. If two pieces of advice have
 	 * come from the same aspect they will have the same order.
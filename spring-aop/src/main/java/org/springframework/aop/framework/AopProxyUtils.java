@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -44,6 +44,9 @@ import org.springframework.util.ObjectUtils;
  */
 public abstract class AopProxyUtils {
 
+	/** Shared argument array for invocations without arguments. */
+	private static final Object[] EMPTY_ARGUMENTS = new Object[0];
+
 	/**
 	 * Obtain the singleton target object behind the given proxy, if any.
 	 * @param candidate the (potential) proxy to check
@@ -218,11 +221,12 @@ public abstract class AopProxyUtils {
 	 * @param method the target method
 	 * @param arguments the given arguments
 	 * @return a cloned argument array, or the original if no adaptation is needed
+	 * (a shared empty array in case of no arguments)
 	 * @since 4.2.3
 	 */
 	static Object[] adaptArgumentsIfNecessary(Method method, @Nullable Object[] arguments) {
 		if (ObjectUtils.isEmpty(arguments)) {
-			return new Object[0];
+			return EMPTY_ARGUMENTS;
 		}
 		if (method.isVarArgs()) {
 			Class<?>[] paramTypes = method.getParameterTypes();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,7 +20,9 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
@@ -92,6 +94,13 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	 */
 	private boolean hashCodeDefined;
 
+	/**
+	 * Interceptor chains per proxied interface method, precomputed
+	 * for a frozen configuration with a static target.
+	 */
+	@Nullable
+	private transient Map<Method, List<Object>> fixedInterceptorChains;
+
 
 	/**
 	 * Construct a new JdkDynamicAopProxy for the given AOP configuration.
@@ -120,9 +129,43 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		}
 		Class<?>[] proxiedInterfaces = AopProxyUtils.completeProxiedInterfaces(this.advised, true);
 		findDefinedEqualsAndHashCodeMethods(proxiedInterfaces);
+		if (this.advised.isFrozen() && this.advised.getTargetSource().isStatic() &&
+				this.fixedInterceptorChains == null) {
+			this.fixedInterceptorChains = computeFixedInterceptorChains();
+		}
 		return Proxy.newProxyInstance(classLoader, proxiedInterfaces, this);
 	}
 
+	/**
+	 * Precompute the interceptor chains for all methods on the proxied interfaces,
+	 * avoiding the cache lookup in the AOP configuration for every invocation.
+	 * <p>Only valid for a frozen configuration with a static target, i.e. where
+	 * neither the advisors nor the target class may change anymore.
+	 * @return the interceptor chains per method, or {@code null} if the
+	 * target could not be determined
+	 */
+	@Nullable
+	private Map<Method, List<Object>> computeFixedInterceptorChains() {
+		Object target;
+		try {
+			target = this.advised.getTargetSource().getTarget();
+		}
+		catch (Exception ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not determine static target for precomputing interceptor chains", ex);
+			}
+			return null;
+		}
+		Class<?> targetClass = (target != null ? target.getClass() : null);
+		Map<Method, List<Object>> chains = new HashMap<>();
+		for (Class<?> proxiedInterface : this.advised.getProxiedInterfaces()) {
+			for (Method method : proxiedInterface.getMethods()) {
+				chains.put(method, this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass));
+			}
+		}
+		return chains;
+	}
+
 	/**
 	 * Finds any {@link #equals} or {@link #hashCode} method that may be defined
 	 * on the supplied set of interfaces.
@@ -199,7 +242,11 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			/*
 			  获取当前方法的拦截器链
 			 */
-			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			Map<Method, List<Object>> fixedChains = this.fixedInterceptorChains;
+			List<Object> chain = (fixedChains != null ? fixedChains.get(method) : null);
+			if (chain == null) {
+				chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			}
 
 			// Check whether we have any advice. If we don't, we can fallback on direct
 			// reflective invocation of the target, and avoid creating a MethodInvocation.
@@ -213,6 +260,8 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			}
 			else {
 				// We need to create a method invocation...
+				// This remains a per-call allocation even for a fixed chain, since the
+				// invocation keeps track of its current position within the chain.
 				/*
 				  将拦截器封装在ReflectiveMethodInvocation,
 				  以便于使用其proceed进行连接表用拦截器
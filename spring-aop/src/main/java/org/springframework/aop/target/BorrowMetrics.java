@@ -0,0 +1,83 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.target;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention-free borrow counters shared by the {@link TargetSourceMetrics}
+ * implementations in this package.
+ *
+ * @since 5.1.21
+ */
+@SuppressWarnings("serial")
+final class BorrowMetrics implements Serializable {
+
+	private final LongAdder borrowCount = new LongAdder();
+
+	private final LongAdder waitCount = new LongAdder();
+
+	private final LongAdder totalBorrowTime = new LongAdder();
+
+	private final AtomicLong maxBorrowTime = new AtomicLong();
+
+
+	/**
+	 * Record a completed borrow without measuring its latency.
+	 */
+	public void recordBorrow() {
+		this.borrowCount.increment();
+	}
+
+	/**
+	 * Record a completed borrow.
+	 * @param startTime the {@link System#nanoTime()} value taken before the borrow
+	 * @param waited whether the borrow had to wait for an available instance
+	 */
+	public void recordBorrow(long startTime, boolean waited) {
+		long elapsed = System.nanoTime() - startTime;
+		this.borrowCount.increment();
+		if (waited) {
+			this.waitCount.increment();
+		}
+		this.totalBorrowTime.add(elapsed);
+		long max = this.maxBorrowTime.get();
+		while (elapsed > max && !this.maxBorrowTime.compareAndSet(max, elapsed)) {
+			max = this.maxBorrowTime.get();
+		}
+	}
+
+	public long getBorrowCount() {
+		return this.borrowCount.sum();
+	}
+
+	public long getWaitCount() {
+		return this.waitCount.sum();
+	}
+
+	public long getAverageBorrowTime() {
+		long count = this.borrowCount.sum();
+		return (count > 0 ? this.totalBorrowTime.sum() / count : 0);
+	}
+
+	public long getMaxBorrowTime() {
+		return this.maxBorrowTime.get();
+	}
+
+}
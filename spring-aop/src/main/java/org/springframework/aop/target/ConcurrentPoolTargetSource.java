@@ -0,0 +1,240 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.target;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.aop.support.DefaultIntroductionAdvisor;
+import org.springframework.aop.support.DelegatingIntroductionInterceptor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Pooling {@link org.springframework.aop.TargetSource} implementation that
+ * keeps idle target instances in a non-blocking deque, without requiring
+ * an external pooling library.
+ *
+ * <p>Borrowing and returning a target only involves compare-and-set operations
+ * as long as the pool is not exhausted: idle instances are taken in LIFO order
+ * (keeping recently used instances warm), and new instances are created through
+ * {@link #newPrototypeInstance()} when no idle one is available. Only once
+ * {@link #setMaxSize maxSize} instances are in use do callers block, for at most
+ * {@link #setMaxWait maxWait} milliseconds.
+ *
+ * <p>Borrow latency, wait and pool size statistics are exposed through
+ * {@link TargetSourceMetrics}; {@link #getPoolingConfigMixin()} and
+ * {@link #getMetricsMixin()} make them available on the proxy itself.
+ *
+ * @since 5.1.21
+ * @see CommonsPool2TargetSource
+ */
+@SuppressWarnings("serial")
+public class ConcurrentPoolTargetSource extends AbstractPoolingTargetSource implements TargetSourceMetrics {
+
+	/** Default maximum number of target instances: 8. */
+	public static final int DEFAULT_MAX_SIZE = 8;
+
+
+	private long maxWait = -1;
+
+	private final ConcurrentLinkedDeque<Object> idleTargets = new ConcurrentLinkedDeque<>();
+
+	private final AtomicInteger idleCount = new AtomicInteger();
+
+	private final AtomicInteger activeCount = new AtomicInteger();
+
+	private final BorrowMetrics metrics = new BorrowMetrics();
+
+	/** Permits for target instances; {@code null} if the pool is unbounded. */
+	@Nullable
+	private Semaphore permits;
+
+	private volatile boolean destroyed;
+
+
+	/**
+	 * Create a ConcurrentPoolTargetSource with default settings.
+	 * Default maximum size of the pool is 8.
+	 * @see #setMaxSize
+	 */
+	public ConcurrentPoolTargetSource() {
+		setMaxSize(DEFAULT_MAX_SIZE);
+	}
+
+
+	/**
+	 * Set the maximum time in milliseconds to wait for a target instance
+	 * when the pool is exhausted. Default is -1, waiting forever.
+	 */
+	public void setMaxWait(long maxWait) {
+		this.maxWait = maxWait;
+	}
+
+	/**
+	 * Return the maximum time in milliseconds to wait for a target instance.
+	 */
+	public long getMaxWait() {
+		return this.maxWait;
+	}
+
+
+	@Override
+	protected void createPool() {
+		int maxSize = getMaxSize();
+		this.permits = (maxSize > 0 ? new Semaphore(maxSize) : null);
+	}
+
+	/**
+	 * Borrow an idle target instance, or create a new one if none is idle.
+	 * @throws NoSuchElementException if no instance became available
+	 * within the configured {@link #setMaxWait maxWait} time
+	 */
+	@Override
+	public Object getTarget() throws Exception {
+		Assert.state(!this.destroyed, "ConcurrentPoolTargetSource has been destroyed");
+		long startTime = System.nanoTime();
+		boolean waited = false;
+		Semaphore permits = this.permits;
+		if (permits != null && !permits.tryAcquire()) {
+			waited = true;
+			if (this.maxWait < 0) {
+				permits.acquire();
+			}
+			else if (!permits.tryAcquire(this.maxWait, TimeUnit.MILLISECONDS)) {
+				throw new NoSuchElementException("Timeout waiting for target instance of bean '" +
+						getTargetBeanName() + "' after " + this.maxWait + " ms");
+			}
+		}
+		Object target = this.idleTargets.pollFirst();
+		if (target != null) {
+			this.idleCount.decrementAndGet();
+		}
+		else {
+			try {
+				target = newPrototypeInstance();
+			}
+			catch (Throwable ex) {
+				if (permits != null) {
+					permits.release();
+				}
+				throw ex;
+			}
+		}
+		this.activeCount.incrementAndGet();
+		this.metrics.recordBorrow(startTime, waited);
+		return target;
+	}
+
+	/**
+	 * Return the given target instance to the pool,
+	 * or destroy it if the pool has been destroyed in the meantime.
+	 */
+	@Override
+	public void releaseTarget(Object target) {
+		this.activeCount.decrementAndGet();
+		if (this.destroyed) {
+			destroyPrototypeInstance(target);
+		}
+		else {
+			this.idleTargets.offerFirst(target);
+			this.idleCount.incrementAndGet();
+			if (this.destroyed) {
+				// Destroyed concurrently: make sure the instance does not linger.
+				destroy();
+			}
+		}
+		Semaphore permits = this.permits;
+		if (permits != null) {
+			permits.release();
+		}
+	}
+
+	@Override
+	public int getActiveCount() {
+		return this.activeCount.get();
+	}
+
+	@Override
+	public int getIdleCount() {
+		return this.idleCount.get();
+	}
+
+	/**
+	 * Return the number of threads currently waiting for a target instance
+	 * to be released. This is an estimate only, see {@link Semaphore#getQueueLength()}.
+	 */
+	public int getWaitingCount() {
+		Semaphore permits = this.permits;
+		return (permits != null ? permits.getQueueLength() : 0);
+	}
+
+
+	@Override
+	public long getBorrowCount() {
+		return this.metrics.getBorrowCount();
+	}
+
+	@Override
+	public long getWaitCount() {
+		return this.metrics.getWaitCount();
+	}
+
+	@Override
+	public long getAverageBorrowTime() {
+		return this.metrics.getAverageBorrowTime();
+	}
+
+	@Override
+	public long getMaxBorrowTime() {
+		return this.metrics.getMaxBorrowTime();
+	}
+
+	@Override
+	public int getPoolSize() {
+		return this.activeCount.get() + this.idleCount.get();
+	}
+
+	/**
+	 * Return an IntroductionAdvisor that provides a mixin
+	 * exposing the {@link TargetSourceMetrics} of this pool.
+	 */
+	public DefaultIntroductionAdvisor getMetricsMixin() {
+		DelegatingIntroductionInterceptor dii = new DelegatingIntroductionInterceptor(this);
+		return new DefaultIntroductionAdvisor(dii, TargetSourceMetrics.class);
+	}
+
+
+	/**
+	 * Destroy all idle target instances. Instances still in use
+	 * are destroyed once they are released.
+	 */
+	@Override
+	public void destroy() {
+		logger.debug("Destroying ConcurrentPoolTargetSource instances");
+		this.destroyed = true;
+		Object target;
+		while ((target = this.idleTargets.pollFirst()) != null) {
+			this.idleCount.decrementAndGet();
+			destroyPrototypeInstance(target);
+		}
+	}
+
+}
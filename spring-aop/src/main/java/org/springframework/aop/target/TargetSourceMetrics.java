@@ -0,0 +1,61 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.target;
+
+/**
+ * Runtime statistics exposed by {@link org.springframework.aop.TargetSource}
+ * implementations that hand out target objects per invocation.
+ *
+ * <p>A "borrow" is a single {@code getTarget()} call; its latency covers any
+ * waiting for an available instance as well as the creation of a new one.
+ *
+ * @since 5.1.21
+ * @see ConcurrentPoolTargetSource
+ * @see ThreadLocalTargetSource
+ * @see HotSwappableTargetSource
+ */
+public interface TargetSourceMetrics {
+
+	/**
+	 * Return the number of targets borrowed so far.
+	 */
+	long getBorrowCount();
+
+	/**
+	 * Return the number of borrows that had to wait for an instance
+	 * to become available.
+	 */
+	long getWaitCount();
+
+	/**
+	 * Return the average borrow latency in nanoseconds,
+	 * or 0 if no target has been borrowed yet.
+	 */
+	long getAverageBorrowTime();
+
+	/**
+	 * Return the maximum borrow latency observed, in nanoseconds.
+	 */
+	long getMaxBorrowTime();
+
+	/**
+	 * Return the number of target instances currently held,
+	 * whether in use or idle.
+	 */
+	int getPoolSize();
+
+}
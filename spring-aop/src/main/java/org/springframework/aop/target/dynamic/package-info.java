@@ -0,0 +1,10 @@
+/**
+ * Support for dynamic, refreshable {@link org.springframework.aop.TargetSource}
+ * implementations for use with Spring AOP.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.aop.target.dynamic;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -0,0 +1,10 @@
+/**
+ * Various {@link org.springframework.aop.TargetSource} implementations for use
+ * with Spring AOP, including pooling and thread-local target sources.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.aop.target;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.aspectj;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PointcutExpressionPreFilter}.
+ *
+ * @since 5.1.21
+ */
+public class PointcutExpressionPreFilterTests {
+
+	private static final String MARKER = Marker.class.getName().replace('$', '.');
+
+	private final Method getName = ReflectionUtils.findMethod(Service.class, "getName");
+
+	private final Method setName = ReflectionUtils.findMethod(Service.class, "setName", String.class);
+
+	private final Method annotated = ReflectionUtils.findMethod(Service.class, "annotated");
+
+
+	@Test
+	public void executionMethodNamePattern() {
+		PointcutExpressionPreFilter preFilter = preFilter("execution(* com.example..*.get*(..))");
+		assertTrue(preFilter.couldMatch(this.getName, Service.class));
+		assertFalse(preFilter.couldMatch(this.setName, Service.class));
+	}
+
+	@Test
+	public void executionWithThrowsClause() {
+		PointcutExpressionPreFilter preFilter = preFilter("execution(public String getName() throws Exception)");
+		assertTrue(preFilter.couldMatch(this.getName, Service.class));
+		assertFalse(preFilter.couldMatch(this.setName, Service.class));
+	}
+
+	@Test
+	public void annotationType() {
+		PointcutExpressionPreFilter preFilter = preFilter("@annotation(" + MARKER + ")");
+		assertTrue(preFilter.couldMatch(this.annotated, Service.class));
+		assertFalse(preFilter.couldMatch(this.getName, Service.class));
+	}
+
+	@Test
+	public void annotationOnMostSpecificMethod() {
+		PointcutExpressionPreFilter preFilter = preFilter("@annotation(" + MARKER + ")");
+		Method interfaceMethod = ReflectionUtils.findMethod(Named.class, "getName");
+		assertFalse(preFilter.couldMatch(interfaceMethod, Named.class));
+		assertTrue(preFilter.couldMatch(interfaceMethod, AnnotatedService.class));
+	}
+
+	@Test
+	public void annotationBoundToParameter() {
+		PointcutExpressionPreFilter preFilter = PointcutExpressionPreFilter.forExpression(
+				"@annotation(marker)", new String[] {"marker"}, new Class<?>[] {Marker.class});
+		assertNotNull(preFilter);
+		assertTrue(preFilter.couldMatch(this.annotated, Service.class));
+		assertFalse(preFilter.couldMatch(this.getName, Service.class));
+	}
+
+	@Test
+	public void conjunction() {
+		PointcutExpressionPreFilter preFilter =
+				preFilter("execution(* *Name(..)) && within(com.example..*) && args(name)");
+		assertTrue(preFilter.couldMatch(this.getName, Service.class));
+		assertTrue(preFilter.couldMatch(this.setName, Service.class));
+		assertFalse(preFilter.couldMatch(this.annotated, Service.class));
+	}
+
+	@Test
+	public void disjunction() {
+		PointcutExpressionPreFilter preFilter =
+				preFilter("(execution(* get*(..)) || @annotation(" + MARKER + ")) && target(bean)");
+		assertTrue(preFilter.couldMatch(this.getName, Service.class));
+		assertTrue(preFilter.couldMatch(this.annotated, Service.class));
+		assertFalse(preFilter.couldMatch(this.setName, Service.class));
+	}
+
+	@Test
+	public void noPreFilterForUnknownDesignators() {
+		assertNull(preFilter("within(com.example..*)"));
+		assertNull(preFilter("execution(* *(..))"));
+		assertNull(preFilter("execution(* com.example.Service.*(..))"));
+		assertNull(preFilter("com.example.SystemArchitecture.businessService()"));
+		assertNull(preFilter("execution(* get*(..)) || bean(service)"));
+		assertNull(preFilter("!execution(* get*(..))"));
+		assertNull(preFilter("execution(* (com.example.A || com.example.B).get*(..))"));
+		assertNull(preFilter("@annotation(com.example..*)"));
+	}
+
+	@Test
+	public void noPreFilterForMalformedExpression() {
+		assertNull(preFilter("execution(* get*(..)"));
+		assertNull(preFilter("execution(* get*(..)) &&"));
+	}
+
+
+	@Nullable
+	private static PointcutExpressionPreFilter preFilter(String expression) {
+		return PointcutExpressionPreFilter.forExpression(expression, new String[0], new Class<?>[0]);
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Marker {
+	}
+
+
+	interface Named {
+
+		String getName();
+	}
+
+
+	static class Service implements Named {
+
+		@Override
+		public String getName() {
+			return "service";
+		}
+
+		public void setName(String name) {
+		}
+
+		@Marker
+		public void annotated() {
+		}
+	}
+
+
+	static class AnnotatedService extends Service {
+
+		@Marker
+		@Override
+		public String getName() {
+			return "annotated";
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.aspectj.autoproxy;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.MethodBeforeAdvice;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link AspectJAwareAdvisorAutoProxyCreator}.
+ */
+public class AspectJAwareAdvisorAutoProxyCreatorTests {
+
+	private final AspectJAwareAdvisorAutoProxyCreator creator = new AspectJAwareAdvisorAutoProxyCreator();
+
+
+	@Test
+	public void matchOutcomeRememberedPerTargetClass() {
+		CountingPointcut pointcut = new CountingPointcut("execution(* getName())");
+		List<Advisor> candidates = Collections.singletonList(createAdvisor(pointcut));
+
+		assertEquals(candidates, this.creator.findAdvisorsThatCanApply(candidates, Target.class, "first"));
+		int matchCount = pointcut.matchCount;
+		assertTrue(matchCount > 0);
+
+		assertEquals(candidates, this.creator.findAdvisorsThatCanApply(candidates, Target.class, "second"));
+		assertEquals(matchCount, pointcut.matchCount);
+		assertTrue(pointcut.canApply(Target.class, false));
+		assertEquals(matchCount, pointcut.matchCount);
+	}
+
+	@Test
+	public void nonMatchingOutcomeRememberedPerTargetClass() {
+		CountingPointcut pointcut = new CountingPointcut("execution(* getAge())");
+		List<Advisor> candidates = Collections.singletonList(createAdvisor(pointcut));
+
+		assertTrue(this.creator.findAdvisorsThatCanApply(candidates, Target.class, "first").isEmpty());
+		int matchCount = pointcut.matchCount;
+		assertTrue(matchCount > 0);
+
+		assertTrue(this.creator.findAdvisorsThatCanApply(candidates, Target.class, "second").isEmpty());
+		assertEquals(matchCount, pointcut.matchCount);
+	}
+
+	@Test
+	public void matchOutcomeNotSharedBetweenPointcutInstances() {
+		CountingPointcut pointcut = new CountingPointcut("execution(* getName())");
+		List<Advisor> candidates = Collections.singletonList(createAdvisor(pointcut));
+		assertEquals(candidates, this.creator.findAdvisorsThatCanApply(candidates, Target.class, "first"));
+
+		// Fresh advisor and pointcut, as built for each lookup of a prototype aspect
+		CountingPointcut otherPointcut = new CountingPointcut("execution(* getName())");
+		List<Advisor> otherCandidates = Collections.singletonList(createAdvisor(otherPointcut));
+		assertEquals(otherCandidates, this.creator.findAdvisorsThatCanApply(otherCandidates, Target.class, "first"));
+		assertTrue(otherPointcut.matchCount > 0);
+	}
+
+	@Test
+	public void beanNameSensitivePointcutMatchedPerBean() {
+		CountingPointcut pointcut = new CountingPointcut("bean(first) && execution(* getName())");
+		List<Advisor> candidates = Collections.singletonList(createAdvisor(pointcut));
+
+		assertEquals(candidates, this.creator.findAdvisorsThatCanApply(candidates, Target.class, "first"));
+		int matchCount = pointcut.matchCount;
+		assertTrue(matchCount > 0);
+
+		assertTrue(this.creator.findAdvisorsThatCanApply(candidates, Target.class, "second").isEmpty());
+		assertTrue(pointcut.matchCount > matchCount);
+	}
+
+
+	private static Advisor createAdvisor(AspectJExpressionPointcut pointcut) {
+		return new DefaultPointcutAdvisor(pointcut, (MethodBeforeAdvice) (method, args, target) -> {});
+	}
+
+
+	@SuppressWarnings("serial")
+	private static class CountingPointcut extends AspectJExpressionPointcut {
+
+		int matchCount;
+
+		CountingPointcut(String expression) {
+			setExpression(expression);
+		}
+
+		@Override
+		public boolean matches(Class<?> targetClass) {
+			this.matchCount++;
+			return super.matches(targetClass);
+		}
+
+		@Override
+		public boolean matches(Method method, Class<?> targetClass, boolean hasIntroductions) {
+			this.matchCount++;
+			return super.matches(method, targetClass, hasIntroductions);
+		}
+	}
+
+
+	public static class Target {
+
+		public String getName() {
+			return "target";
+		}
+	}
+
+}
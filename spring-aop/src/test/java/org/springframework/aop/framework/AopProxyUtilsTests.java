@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.aop.framework;
 
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Arrays;
 import java.util.List;
@@ -130,4 +131,19 @@ public class AopProxyUtilsTests {
 		AopProxyUtils.proxiedUserInterfaces(proxy);
 	}
 
+	@Test
+	public void testAdaptArgumentsWithoutArguments() throws Exception {
+		Method method = ITestBean.class.getMethod("getAge");
+		Object[] arguments = AopProxyUtils.adaptArgumentsIfNecessary(method, null);
+		assertEquals(0, arguments.length);
+		assertSame(arguments, AopProxyUtils.adaptArgumentsIfNecessary(method, new Object[0]));
+	}
+
+	@Test
+	public void testAdaptArgumentsKeepsMatchingArguments() throws Exception {
+		Method method = ITestBean.class.getMethod("setAge", int.class);
+		Object[] arguments = new Object[] {42};
+		assertSame(arguments, AopProxyUtils.adaptArgumentsIfNecessary(method, arguments));
+	}
+
 }
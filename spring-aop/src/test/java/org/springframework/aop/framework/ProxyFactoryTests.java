@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,7 @@ import org.springframework.aop.support.AopUtils;
 import org.springframework.aop.support.DefaultIntroductionAdvisor;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
 import org.springframework.aop.support.DelegatingIntroductionInterceptor;
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.annotation.Order;
 import org.springframework.tests.TimeStamped;
@@ -381,6 +382,32 @@ public class ProxyFactoryTests {
 	}
 
 
+	@Test
+	public void testFrozenInterfaceProxyWithStaticTarget() {
+		TestBean target = new TestBean("tb");
+		target.setAge(21);
+		NopInterceptor nop = new NopInterceptor();
+		NopInterceptor nameNop = new NopInterceptor();
+		NameMatchMethodPointcutAdvisor nameAdvisor = new NameMatchMethodPointcutAdvisor(nameNop);
+		nameAdvisor.setMappedName("getName");
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.addAdvice(nop);
+		pf.addAdvisor(nameAdvisor);
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+
+		assertEquals(21, proxy.getAge());
+		assertEquals("tb", proxy.getName());
+		assertEquals(2, nop.getCount());
+		assertEquals(1, nameNop.getCount());
+		assertEquals(2, ((Advised) proxy).getAdvisors().length);
+		assertTrue(proxy.equals(pf.getProxy()));
+		assertEquals(target.toString(), proxy.toString());
+		assertEquals(3, nop.getCount());
+		assertEquals(1, nameNop.getCount());
+	}
+
+
 	@SuppressWarnings("serial")
 	private static class TimestampIntroductionInterceptor extends DelegatingIntroductionInterceptor
 			implements TimeStamped {
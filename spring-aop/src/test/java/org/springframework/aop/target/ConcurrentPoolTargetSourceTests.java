@@ -0,0 +1,159 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.target;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConcurrentPoolTargetSource}.
+ */
+public class ConcurrentPoolTargetSourceTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@Before
+	public void setup() {
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		this.beanFactory.registerBeanDefinition("target", bd);
+	}
+
+
+	@Test
+	public void reusesReleasedTarget() throws Exception {
+		ConcurrentPoolTargetSource targetSource = createTargetSource(2);
+		Object first = targetSource.getTarget();
+		assertEquals(1, targetSource.getActiveCount());
+		assertEquals(0, targetSource.getIdleCount());
+
+		targetSource.releaseTarget(first);
+		assertEquals(0, targetSource.getActiveCount());
+		assertEquals(1, targetSource.getIdleCount());
+		assertSame(first, targetSource.getTarget());
+		assertEquals(1, targetSource.getPoolSize());
+	}
+
+	@Test
+	public void createsNewTargetWhileBelowMaxSize() throws Exception {
+		ConcurrentPoolTargetSource targetSource = createTargetSource(2);
+		Object first = targetSource.getTarget();
+		Object second = targetSource.getTarget();
+		assertNotSame(first, second);
+		assertEquals(2, targetSource.getActiveCount());
+		assertEquals(2, targetSource.getPoolSize());
+		assertEquals(0, targetSource.getWaitCount());
+	}
+
+	@Test
+	public void timesOutWhenExhausted() throws Exception {
+		ConcurrentPoolTargetSource targetSource = createTargetSource(1);
+		targetSource.setMaxWait(10);
+		targetSource.getTarget();
+		try {
+			targetSource.getTarget();
+			fail("Should have thrown NoSuchElementException");
+		}
+		catch (NoSuchElementException ex) {
+			// expected
+		}
+		assertEquals(1, targetSource.getBorrowCount());
+	}
+
+	@Test
+	public void waitsForReleasedTarget() throws Exception {
+		ConcurrentPoolTargetSource targetSource = createTargetSource(1);
+		Object target = targetSource.getTarget();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> borrowed = executor.submit(targetSource::getTarget);
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (targetSource.getWaitingCount() == 0) {
+				assertTrue("Borrowing thread did not start waiting", System.nanoTime() < deadline);
+				Thread.yield();
+			}
+			assertFalse(borrowed.isDone());
+			targetSource.releaseTarget(target);
+			assertSame(target, borrowed.get(5, TimeUnit.SECONDS));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertEquals(2, targetSource.getBorrowCount());
+		assertEquals(1, targetSource.getWaitCount());
+		assertEquals(0, targetSource.getWaitingCount());
+		assertTrue(targetSource.getMaxBorrowTime() > 0);
+		assertTrue(targetSource.getMaxBorrowTime() >= targetSource.getAverageBorrowTime());
+	}
+
+	@Test
+	public void destroyDisposesIdleTargets() throws Exception {
+		ConcurrentPoolTargetSource targetSource = createTargetSource(2);
+		Object first = targetSource.getTarget();
+		Object second = targetSource.getTarget();
+		targetSource.releaseTarget(first);
+		targetSource.destroy();
+		assertEquals(0, targetSource.getIdleCount());
+
+		targetSource.releaseTarget(second);
+		assertEquals(0, targetSource.getIdleCount());
+		assertEquals(0, targetSource.getPoolSize());
+	}
+
+	@Test
+	public void metricsAvailableThroughProxy() throws Exception {
+		ConcurrentPoolTargetSource targetSource = createTargetSource(2);
+		ProxyFactory pf = new ProxyFactory();
+		pf.setTargetSource(targetSource);
+		pf.addInterface(ITestBean.class);
+		pf.addAdvisor(targetSource.getPoolingConfigMixin());
+		pf.addAdvisor(targetSource.getMetricsMixin());
+		Object proxy = pf.getProxy();
+
+		((ITestBean) proxy).setAge(42);
+		assertEquals(42, ((ITestBean) proxy).getAge());
+		assertEquals(2, ((PoolingConfig) proxy).getMaxSize());
+		assertEquals(1, ((TargetSourceMetrics) proxy).getPoolSize());
+		assertTrue(((TargetSourceMetrics) proxy).getBorrowCount() >= 2);
+	}
+
+
+	private ConcurrentPoolTargetSource createTargetSource(int maxSize) {
+		ConcurrentPoolTargetSource targetSource = new ConcurrentPoolTargetSource();
+		targetSource.setMaxSize(maxSize);
+		targetSource.setTargetBeanName("target");
+		targetSource.setBeanFactory(this.beanFactory);
+		return targetSource;
+	}
+
+}
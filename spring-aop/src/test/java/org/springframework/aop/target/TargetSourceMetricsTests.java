@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.target;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.tests.sample.beans.SerializablePerson;
+import org.springframework.tests.sample.beans.TestBean;
+import org.springframework.util.SerializationTestUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TargetSourceMetrics} as exposed by
+ * {@link ThreadLocalTargetSource} and {@link HotSwappableTargetSource}.
+ */
+public class TargetSourceMetricsTests {
+
+	@Test
+	public void threadLocalTargetSource() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		beanFactory.registerBeanDefinition("target", bd);
+		ThreadLocalTargetSource targetSource = new ThreadLocalTargetSource();
+		targetSource.setTargetBeanName("target");
+		targetSource.setBeanFactory(beanFactory);
+		targetSource.setCollectMetrics(true);
+
+		Object target = targetSource.getTarget();
+		assertSame(target, targetSource.getTarget());
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			assertNotSame(target, executor.submit(targetSource::getTarget).get());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(3, targetSource.getBorrowCount());
+		assertEquals(3, targetSource.getInvocationCount());
+		assertEquals(1, targetSource.getHitCount());
+		assertEquals(2, targetSource.getPoolSize());
+		assertEquals(0, targetSource.getWaitCount());
+		assertTrue(targetSource.getMaxBorrowTime() >= targetSource.getAverageBorrowTime());
+		assertTrue(targetSource.getMaxBorrowTime() > 0);
+
+		targetSource.destroy();
+		assertEquals(0, targetSource.getPoolSize());
+	}
+
+	@Test
+	public void threadLocalTargetSourceWithoutMetrics() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		beanFactory.registerBeanDefinition("target", bd);
+		ThreadLocalTargetSource targetSource = new ThreadLocalTargetSource();
+		targetSource.setTargetBeanName("target");
+		targetSource.setBeanFactory(beanFactory);
+
+		assertFalse(targetSource.isCollectMetrics());
+		assertSame(targetSource.getTarget(), targetSource.getTarget());
+		assertEquals(2, targetSource.getBorrowCount());
+		assertEquals(1, targetSource.getHitCount());
+		assertEquals(0, targetSource.getAverageBorrowTime());
+		assertEquals(0, targetSource.getMaxBorrowTime());
+		targetSource.destroy();
+	}
+
+	@Test
+	public void hotSwappableTargetSource() {
+		HotSwappableTargetSource targetSource = new HotSwappableTargetSource(new TestBean("first"));
+		targetSource.getTarget();
+		assertEquals(0, targetSource.getBorrowCount());
+
+		targetSource.setCollectMetrics(true);
+		assertEquals("first", ((TestBean) targetSource.getTarget()).getName());
+		targetSource.swap(new TestBean("second"));
+		assertEquals("second", ((TestBean) targetSource.getTarget()).getName());
+
+		assertEquals(2, targetSource.getBorrowCount());
+		assertEquals(0, targetSource.getWaitCount());
+		assertEquals(0, targetSource.getMaxBorrowTime());
+		assertEquals(1, targetSource.getPoolSize());
+	}
+
+	@Test
+	public void hotSwappableTargetSourceSerialization() throws Exception {
+		SerializablePerson person = new SerializablePerson();
+		person.setName("first");
+		HotSwappableTargetSource targetSource = new HotSwappableTargetSource(person);
+		targetSource.setCollectMetrics(true);
+		targetSource.getTarget();
+
+		HotSwappableTargetSource deserialized =
+				(HotSwappableTargetSource) SerializationTestUtils.serializeAndDeserialize(targetSource);
+		assertFalse(deserialized.isCollectMetrics());
+		assertEquals("first", ((SerializablePerson) deserialized.getTarget()).getName());
+		assertEquals(0, deserialized.getBorrowCount());
+	}
+
+}
@@ -24,6 +24,7 @@ import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 
+import org.springframework.cglib.reflect.FastMethod;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.Property;
 import org.springframework.core.convert.TypeDescriptor;
@@ -75,6 +76,11 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	@Nullable
 	private AccessControlContext acc;
 
+	/**
+	 * Whether to invoke property accessor methods through generated FastClasses.
+	 */
+	private boolean fastPropertyAccess = false;
+
 
 	/**
 	 * Create a new empty BeanWrapperImpl. Wrapped instance needs to be set afterwards.
@@ -132,6 +138,7 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	private BeanWrapperImpl(Object object, String nestedPath, BeanWrapperImpl parent) {
 		super(object, nestedPath, parent);
 		setSecurityContext(parent.acc);
+		setFastPropertyAccess(parent.fastPropertyAccess);
 	}
 
 
@@ -193,6 +200,37 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 		return this.acc;
 	}
 
+	/**
+	 * Set whether to invoke property read and write methods through a generated
+	 * CGLIB {@link org.springframework.cglib.reflect.FastClass} for the wrapped
+	 * class instead of through reflection. Default is "false".
+	 * <p>Generated accessors are cached along with the introspection results
+	 * and only pay off when the same classes get bound over and over again,
+	 * e.g. for web data binding onto large command objects. Accessors which
+	 * cannot be generated (non-public classes or methods) as well as all
+	 * accessors under a SecurityManager fall back to reflection.
+	 * @since 5.1.21
+	 */
+	public void setFastPropertyAccess(boolean fastPropertyAccess) {
+		this.fastPropertyAccess = fastPropertyAccess;
+	}
+
+	/**
+	 * Return whether to invoke property accessors through generated FastClasses.
+	 * @since 5.1.21
+	 */
+	public boolean isFastPropertyAccess() {
+		return this.fastPropertyAccess;
+	}
+
+	@Nullable
+	private FastMethod getFastMethod(Method method) {
+		if (!this.fastPropertyAccess || System.getSecurityManager() != null) {
+			return null;
+		}
+		return getCachedIntrospectionResults().getFastMethod(method);
+	}
+
 
 	/**
 	 * Convert the given value for the specified property to the latter's type.
@@ -290,6 +328,10 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 		@Nullable
 		public Object getValue() throws Exception {
 			Method readMethod = this.pd.getReadMethod();
+			FastMethod fastMethod = getFastMethod(readMethod);
+			if (fastMethod != null) {
+				return fastMethod.invoke(getWrappedInstance(), new Object[0]);
+			}
 			if (System.getSecurityManager() != null) {
 				AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
 					ReflectionUtils.makeAccessible(readMethod);
@@ -314,6 +356,11 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 			Method writeMethod = (this.pd instanceof GenericTypeAwarePropertyDescriptor ?
 					((GenericTypeAwarePropertyDescriptor) this.pd).getWriteMethodForActualAccess() :
 					this.pd.getWriteMethod());
+			FastMethod fastMethod = getFastMethod(writeMethod);
+			if (fastMethod != null) {
+				fastMethod.invoke(getWrappedInstance(), new Object[] {value});
+				return;
+			}
 			if (System.getSecurityManager() != null) {
 				AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
 					ReflectionUtils.makeAccessible(writeMethod);
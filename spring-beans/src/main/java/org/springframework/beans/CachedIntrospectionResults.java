@@ -20,6 +20,8 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -27,15 +29,20 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.cglib.reflect.FastMethod;
 import org.springframework.core.SpringProperties;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.StringUtils;
 
@@ -64,6 +71,12 @@ import org.springframework.util.StringUtils;
  * recreates much-requested entries every time the garbage collector removed them. In
  * such a scenario, consider the {@link #IGNORE_BEANINFO_PROPERTY_NAME} system property.
  *
+ * <p>The strongly held cache is unbounded by default. Consider setting a
+ * {@link #setCacheLimit cache limit} (or the {@link #CACHE_LIMIT_PROPERTY_NAME}
+ * system property) in deployments which introspect a large and changing set of
+ * classes, and monitor the effect through the {@link #getCacheHitCount() cache
+ * statistics}. Introspection results can be {@link #warmUp warmed up} at startup.
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @since 05 May 2001
@@ -92,8 +105,23 @@ public final class CachedIntrospectionResults {
 	 */
 	public static final String IGNORE_BEANINFO_PROPERTY_NAME = "spring.beaninfo.ignore";
 
+	/**
+	 * System property that bounds the number of strongly cached introspection
+	 * results: "spring.beaninfo.cache.limit", with a positive integer value
+	 * indicating the maximum number of classes to keep (least recently used
+	 * classes are evicted beyond that limit).
+	 * <p>The default is no limit, keeping the introspection results of all
+	 * cache-safe classes until their ClassLoader gets {@link #clearClassLoader cleared}.
+	 * @since 5.1.21
+	 * @see #setCacheLimit
+	 */
+	public static final String CACHE_LIMIT_PROPERTY_NAME = "spring.beaninfo.cache.limit";
+
 	private static final PropertyDescriptor[] EMPTY_PROPERTY_DESCRIPTOR_ARRAY = {};
 
+	/** Marker for a bean class or method that cannot be accessed through a generated FastClass. */
+	private static final Object NO_FAST_ACCESS = new Object();
+
 
 	private static final boolean shouldIntrospectorIgnoreBeaninfoClasses =
 			SpringProperties.getFlag(IGNORE_BEANINFO_PROPERTY_NAME);
@@ -125,6 +153,20 @@ public final class CachedIntrospectionResults {
 	static final ConcurrentMap<Class<?>, CachedIntrospectionResults> softClassCache =
 			new ConcurrentReferenceHashMap<>(64);
 
+	/**
+	 * LRU cache keyed by Class containing CachedIntrospectionResults, strongly held.
+	 * This variant replaces the strong class cache if a cache limit has been set.
+	 */
+	@Nullable
+	private static volatile ConcurrentLruCache<Class<?>, CachedIntrospectionResults> boundedClassCache =
+			createBoundedClassCache(getCacheLimitProperty());
+
+	/** Number of lookups answered by the strong or soft class cache. */
+	private static final LongAdder hitCount = new LongAdder();
+
+	/** Number of introspections performed for the strong or soft class cache. */
+	private static final LongAdder missCount = new LongAdder();
+
 
 	/**
 	 * Accept the given ClassLoader as cache-safe, even if its classes would
@@ -157,6 +199,99 @@ public final class CachedIntrospectionResults {
 				isUnderneathClassLoader(beanClass.getClassLoader(), classLoader));
 		softClassCache.keySet().removeIf(beanClass ->
 				isUnderneathClassLoader(beanClass.getClassLoader(), classLoader));
+		ConcurrentLruCache<Class<?>, CachedIntrospectionResults> boundedCache = boundedClassCache;
+		if (boundedCache != null) {
+			boundedCache.removeIf(beanClass ->
+					isUnderneathClassLoader(beanClass.getClassLoader(), classLoader));
+		}
+	}
+
+	/**
+	 * Set the maximum number of strongly cached introspection results, evicting
+	 * the least recently used classes beyond that limit.
+	 * <p>This configuration method is meant to be called once at application
+	 * startup: any previously cached strongly held results are discarded.
+	 * Classes which are not cache-safe remain softly held in any case.
+	 * @param cacheLimit the maximum number of classes to keep
+	 * (0 indicates no limit, which is the default)
+	 * @since 5.1.21
+	 * @see #CACHE_LIMIT_PROPERTY_NAME
+	 */
+	public static void setCacheLimit(int cacheLimit) {
+		Assert.isTrue(cacheLimit >= 0, "Cache limit must not be negative");
+		boundedClassCache = createBoundedClassCache(cacheLimit);
+		strongClassCache.clear();
+	}
+
+	/**
+	 * Return the maximum number of strongly cached introspection results,
+	 * or 0 if not limited.
+	 * @since 5.1.21
+	 */
+	public static int getCacheLimit() {
+		ConcurrentLruCache<Class<?>, CachedIntrospectionResults> boundedCache = boundedClassCache;
+		return (boundedCache != null ? boundedCache.sizeLimit() : 0);
+	}
+
+	/**
+	 * Return the number of introspection results currently cached.
+	 * @since 5.1.21
+	 */
+	public static int getCacheSize() {
+		ConcurrentLruCache<Class<?>, CachedIntrospectionResults> boundedCache = boundedClassCache;
+		return strongClassCache.size() + softClassCache.size() + (boundedCache != null ? boundedCache.size() : 0);
+	}
+
+	/**
+	 * Return the number of lookups which have been answered from the cache.
+	 * @since 5.1.21
+	 */
+	public static long getCacheHitCount() {
+		ConcurrentLruCache<Class<?>, CachedIntrospectionResults> boundedCache = boundedClassCache;
+		return hitCount.sum() + (boundedCache != null ? boundedCache.hitCount() : 0);
+	}
+
+	/**
+	 * Return the number of lookups which required introspection of a class,
+	 * including repeated introspection of softly held classes after the
+	 * garbage collector removed them.
+	 * @since 5.1.21
+	 */
+	public static long getCacheMissCount() {
+		ConcurrentLruCache<Class<?>, CachedIntrospectionResults> boundedCache = boundedClassCache;
+		return missCount.sum() + (boundedCache != null ? boundedCache.missCount() : 0);
+	}
+
+	/**
+	 * Return the number of introspection results which have been evicted
+	 * because of the {@link #setCacheLimit cache limit}.
+	 * @since 5.1.21
+	 */
+	public static long getCacheEvictionCount() {
+		ConcurrentLruCache<Class<?>, CachedIntrospectionResults> boundedCache = boundedClassCache;
+		return (boundedCache != null ? boundedCache.evictionCount() : 0);
+	}
+
+	/**
+	 * Introspect the given classes upfront, e.g. at application startup,
+	 * so that subsequent bean property access finds them in the cache.
+	 * <p>Classes which fail to be introspected are skipped; the corresponding
+	 * exception will be thrown on actual property access instead.
+	 * @param beanClasses the classes to introspect
+	 * @since 5.1.21
+	 */
+	public static void warmUp(Class<?>... beanClasses) {
+		for (Class<?> beanClass : beanClasses) {
+			try {
+				forClass(beanClass);
+			}
+			catch (BeansException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Failed to warm up introspection results for class [" +
+							beanClass.getName() + "]: " + ex);
+				}
+			}
+		}
 	}
 
 	/**
@@ -166,20 +301,32 @@ public final class CachedIntrospectionResults {
 	 * @throws BeansException in case of introspection failure
 	 */
 	static CachedIntrospectionResults forClass(Class<?> beanClass) throws BeansException {
+		ConcurrentLruCache<Class<?>, CachedIntrospectionResults> boundedCache = boundedClassCache;
+		if (boundedCache != null && boundedCache.contains(beanClass)) {
+			return boundedCache.get(beanClass);
+		}
 		CachedIntrospectionResults results = strongClassCache.get(beanClass);
 		if (results != null) {
+			hitCount.increment();
 			return results;
 		}
 		results = softClassCache.get(beanClass);
 		if (results != null) {
+			hitCount.increment();
 			return results;
 		}
 
+		boolean cacheSafe = (ClassUtils.isCacheSafe(beanClass, CachedIntrospectionResults.class.getClassLoader()) ||
+				isClassLoaderAccepted(beanClass.getClassLoader()));
+		if (cacheSafe && boundedCache != null) {
+			return boundedCache.get(beanClass);
+		}
+
+		missCount.increment();
 		results = new CachedIntrospectionResults(beanClass);
 		ConcurrentMap<Class<?>, CachedIntrospectionResults> classCacheToUse;
 
-		if (ClassUtils.isCacheSafe(beanClass, CachedIntrospectionResults.class.getClassLoader()) ||
-				isClassLoaderAccepted(beanClass.getClassLoader())) {
+		if (cacheSafe) {
 			classCacheToUse = strongClassCache;
 		}
 		else {
@@ -193,6 +340,24 @@ public final class CachedIntrospectionResults {
 		return (existing != null ? existing : results);
 	}
 
+	private static int getCacheLimitProperty() {
+		String cacheLimit = SpringProperties.getProperty(CACHE_LIMIT_PROPERTY_NAME);
+		if (cacheLimit != null) {
+			try {
+				return Math.max(Integer.parseInt(cacheLimit.trim()), 0);
+			}
+			catch (NumberFormatException ex) {
+				logger.warn("Ignoring invalid value for property '" + CACHE_LIMIT_PROPERTY_NAME + "': " + cacheLimit);
+			}
+		}
+		return 0;
+	}
+
+	@Nullable
+	private static ConcurrentLruCache<Class<?>, CachedIntrospectionResults> createBoundedClassCache(int cacheLimit) {
+		return (cacheLimit > 0 ? new ConcurrentLruCache<>(cacheLimit, CachedIntrospectionResults::new) : null);
+	}
+
 	/**
 	 * Check whether this CachedIntrospectionResults class is configured
 	 * to accept the given ClassLoader.
@@ -260,6 +425,13 @@ public final class CachedIntrospectionResults {
 	/** TypeDescriptor objects keyed by PropertyDescriptor. */
 	private final ConcurrentMap<PropertyDescriptor, TypeDescriptor> typeDescriptorCache;
 
+	/** Lazily generated FastClass for the bean class, or {@code NO_FAST_ACCESS}. */
+	@Nullable
+	private volatile Object fastClass;
+
+	/** FastMethod objects (or {@code NO_FAST_ACCESS}) keyed by accessor Method. */
+	private final ConcurrentMap<Method, Object> fastMethodCache = new ConcurrentReferenceHashMap<>();
+
 
 	/**
 	 * Create a new CachedIntrospectionResults instance for the given class.
@@ -375,4 +547,55 @@ public final class CachedIntrospectionResults {
 		return this.typeDescriptorCache.get(pd);
 	}
 
+	/**
+	 * Return a generated {@link FastMethod} for the given property accessor method,
+	 * allowing for invocation without reflection.
+	 * @param method a read or write method of one of the cached property descriptors
+	 * @return the FastMethod, or {@code null} if the method is not accessible
+	 * through a FastClass for the bean class (e.g. because it is not public)
+	 * @since 5.1.21
+	 */
+	@Nullable
+	FastMethod getFastMethod(Method method) {
+		Object fastMethod = this.fastMethodCache.get(method);
+		if (fastMethod == null) {
+			fastMethod = NO_FAST_ACCESS;
+			FastClass fastClass = getFastClass();
+			if (fastClass != null && Modifier.isPublic(method.getModifiers()) &&
+					!Modifier.isStatic(method.getModifiers())) {
+				FastMethod candidate = fastClass.getMethod(method);
+				if (candidate.getIndex() >= 0) {
+					fastMethod = candidate;
+				}
+			}
+			Object existing = this.fastMethodCache.putIfAbsent(method, fastMethod);
+			if (existing != null) {
+				fastMethod = existing;
+			}
+		}
+		return (fastMethod != NO_FAST_ACCESS ? (FastMethod) fastMethod : null);
+	}
+
+	@Nullable
+	private FastClass getFastClass() {
+		Object fastClass = this.fastClass;
+		if (fastClass == null) {
+			fastClass = NO_FAST_ACCESS;
+			Class<?> beanClass = getBeanClass();
+			if (Modifier.isPublic(beanClass.getModifiers()) && !beanClass.isInterface()) {
+				try {
+					fastClass = FastClass.create(beanClass.getClassLoader(), beanClass);
+				}
+				catch (Throwable ex) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Could not generate FastClass for [" + beanClass.getName() +
+								"] - falling back to reflective property access: " + ex);
+					}
+				}
+			}
+			this.fastClass = fastClass;
+		}
+		return (fastClass != NO_FAST_ACCESS ? (FastClass) fastClass : null);
+	}
+
 }
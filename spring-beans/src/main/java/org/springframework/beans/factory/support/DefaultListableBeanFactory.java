@@ -24,6 +24,7 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -39,7 +40,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -73,6 +76,7 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
+import org.springframework.core.MethodParameter;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationUtils;
@@ -152,6 +156,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	@Nullable
 	private Comparator<Object> dependencyComparator;
 
+	/** Optional Executor for preparing singleton bean definitions in parallel. */
+	@Nullable
+	private Executor bootstrapExecutor;
+
 	/** Resolver to use for checking if a bean definition is an autowire candidate. */
 	private AutowireCandidateResolver autowireCandidateResolver = new SimpleAutowireCandidateResolver();
 
@@ -170,6 +178,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Map of singleton-only bean names, keyed by dependency type. */
 	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
 
+	/** Map of singleton and non-singleton bean names, keyed by generic dependency type. */
+	private final Map<ResolvableType, String[]> allBeanNamesByGenericType = new ConcurrentHashMap<>(64);
+
 	/** List of bean definition names, in registration order. */
 	private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
 
@@ -286,6 +297,34 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.dependencyComparator;
 	}
 
+	/**
+	 * Set an {@link Executor} for preparing the non-lazy singleton bean definitions
+	 * in parallel, right before {@link #preInstantiateSingletons()} instantiates them.
+	 * <p>The preparation phase resolves merged bean definitions and bean classes
+	 * (triggering class loading) and introspects the bean properties of singletons
+	 * with property values, all of which are independent of one another.
+	 * The subsequent instantiation of the singletons themselves remains sequential
+	 * in registration order, guaranteeing deterministic singleton creation and
+	 * circular reference resolution within the singleton lock.
+	 * <p>Default is none, preparing the bean definitions lazily on demand. A typical
+	 * choice for large applications is {@link java.util.concurrent.ForkJoinPool#commonPool()}
+	 * or a dedicated {@link java.util.concurrent.ForkJoinPool}.
+	 * @since 5.1.21
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setBootstrapExecutor(@Nullable Executor bootstrapExecutor) {
+		this.bootstrapExecutor = bootstrapExecutor;
+	}
+
+	/**
+	 * Return the {@link Executor} for preparing singleton bean definitions in parallel, if any.
+	 * @since 5.1.21
+	 */
+	@Nullable
+	public Executor getBootstrapExecutor() {
+		return this.bootstrapExecutor;
+	}
+
 	/**
 	 * Set a custom autowire candidate resolver for this BeanFactory to use
 	 * when deciding whether a bean definition should be considered as a
@@ -323,6 +362,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			this.bootstrapExecutor = otherListableFactory.bootstrapExecutor;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware...
 			setAutowireCandidateResolver(
 					BeanUtils.instantiateClass(otherListableFactory.getAutowireCandidateResolver().getClass()));
@@ -473,9 +513,18 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (resolved != null && !type.hasGenerics()) {
 			return getBeanNamesForType(resolved, true, true);
 		}
-		else {
+		if (!isConfigurationFrozen()) {
 			return doGetBeanNamesForType(type, true, true);
 		}
+		String[] resolvedBeanNames = this.allBeanNamesByGenericType.get(type);
+		if (resolvedBeanNames != null) {
+			return resolvedBeanNames;
+		}
+		resolvedBeanNames = doGetBeanNamesForType(type, true, true);
+		if (isCacheSafe(type)) {
+			this.allBeanNamesByGenericType.put(type, resolvedBeanNames);
+		}
+		return resolvedBeanNames;
 	}
 
 	@Override
@@ -562,19 +611,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// Check manually registered singletons too.
 		for (String beanName : this.manualSingletonNames) {
 			try {
-				// In case of FactoryBean, match object created by FactoryBean.
-				if (isFactoryBean(beanName)) {
-					if ((includeNonSingletons || isSingleton(beanName)) && isTypeMatch(beanName, type)) {
-						result.add(beanName);
-						// Match found for this bean: do not match FactoryBean itself anymore.
-						continue;
-					}
-					// In case of FactoryBean, try to match FactoryBean itself next.
-					beanName = FACTORY_BEAN_PREFIX + beanName;
-				}
-				// Match raw bean instance (might be raw FactoryBean).
-				if (isTypeMatch(beanName, type)) {
-					result.add(beanName);
+				String matchingName = matchManualSingleton(beanName, type, includeNonSingletons);
+				if (matchingName != null) {
+					result.add(matchingName);
 				}
 			}
 			catch (NoSuchBeanDefinitionException ex) {
@@ -588,6 +627,57 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Match the given manually registered singleton against the given type.
+	 * @param beanName the name of the manual singleton
+	 * @param type the type to match
+	 * @param includeNonSingletons whether to consider objects that a FactoryBean
+	 * does not expose as singletons
+	 * @return the matching name (the plain bean name, or the FactoryBean's
+	 * {@code &}-prefixed name), or {@code null} if there is no match
+	 */
+	@Nullable
+	private String matchManualSingleton(String beanName, ResolvableType type, boolean includeNonSingletons) {
+		// In case of FactoryBean, match object created by FactoryBean.
+		if (isFactoryBean(beanName)) {
+			if ((includeNonSingletons || isSingleton(beanName)) && isTypeMatch(beanName, type)) {
+				// Match found for this bean: do not match FactoryBean itself anymore.
+				return beanName;
+			}
+			// In case of FactoryBean, try to match FactoryBean itself next.
+			beanName = FACTORY_BEAN_PREFIX + beanName;
+		}
+		// Match raw bean instance (might be raw FactoryBean).
+		return (isTypeMatch(beanName, type) ? beanName : null);
+	}
+
+	/**
+	 * Determine whether the given generic type may be used as a by-type cache
+	 * key, i.e. whether it does not refer to any class outside of the bean
+	 * ClassLoader's hierarchy, neither through its generics nor its source.
+	 */
+	private boolean isCacheSafe(ResolvableType type) {
+		Class<?> resolved = type.resolve();
+		if (resolved == null || !ClassUtils.isCacheSafe(resolved, getBeanClassLoader())) {
+			return false;
+		}
+		Object source = type.getSource();
+		if (source instanceof Member &&
+				!ClassUtils.isCacheSafe(((Member) source).getDeclaringClass(), getBeanClassLoader())) {
+			return false;
+		}
+		if (source instanceof MethodParameter &&
+				!ClassUtils.isCacheSafe(((MethodParameter) source).getDeclaringClass(), getBeanClassLoader())) {
+			return false;
+		}
+		for (ResolvableType generic : type.getGenerics()) {
+			if (generic.resolve() != null && !isCacheSafe(generic)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Check whether the specified bean would need to be eagerly initialized
 	 * in order to determine its type.
@@ -839,6 +929,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// While this may not be part of the regular factory bootstrap, it does otherwise work fine.
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
+		// Resolve bean classes and introspection metadata upfront, if demanded...
+		Executor executor = this.bootstrapExecutor;
+		if (executor != null) {
+			prepareSingletons(beanNames, executor);
+		}
+
 		// Trigger initialization of all non-lazy singleton beans...
 		// 触发所有非惰性单例bean的初始化
 		for (String beanName : beanNames) {
@@ -890,6 +986,53 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	/**
+	 * Prepare the non-lazy singleton bean definitions with the given names in parallel,
+	 * resolving their bean classes and, for beans with property values, their
+	 * introspection metadata.
+	 * <p>Bean class names are checked against the {@link #getBeanExpressionResolver()
+	 * bean expression resolver} on the calling thread: Bean definitions with an
+	 * expression-based class name are not prepared upfront but rather resolved
+	 * on regular bean creation, keeping expression evaluation off the executor.
+	 * <p>Any failure is ignored here, to be raised in the regular creation
+	 * attempt for the affected bean later on.
+	 * @param beanNames the names of the beans to prepare
+	 * @param executor the Executor to prepare the bean definitions with
+	 * @since 5.1.21
+	 * @see #setBootstrapExecutor
+	 */
+	protected void prepareSingletons(List<String> beanNames, Executor executor) {
+		ClassLoader beanClassLoader = getBeanClassLoader();
+		List<CompletableFuture<Void>> futures = new ArrayList<>(beanNames.size());
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			String className = bd.getBeanClassName();
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit() && !bd.hasBeanClass() &&
+					className != null && bd.getFactoryMethodName() == null &&
+					className.equals(evaluateBeanDefinitionString(className, bd))) {
+				futures.add(CompletableFuture.runAsync(
+						() -> prepareSingleton(beanName, bd, beanClassLoader), executor));
+			}
+		}
+		for (CompletableFuture<Void> future : futures) {
+			future.join();
+		}
+	}
+
+	private void prepareSingleton(String beanName, RootBeanDefinition bd, @Nullable ClassLoader beanClassLoader) {
+		try {
+			Class<?> beanClass = bd.resolveBeanClass(beanClassLoader);
+			if (beanClass != null && bd.hasPropertyValues()) {
+				BeanUtils.getPropertyDescriptors(beanClass);
+			}
+		}
+		catch (Throwable ex) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Failed to prepare bean definition '" + beanName + "' - to be retried on creation", ex);
+			}
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
@@ -1050,7 +1193,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		super.registerSingleton(beanName, singletonObject);
 		updateManualSingletonNames(set -> set.add(beanName), set -> !this.beanDefinitionMap.containsKey(beanName));
-		clearByTypeCache();
+		if (this.beanDefinitionMap.containsKey(beanName)) {
+			clearByTypeCache();
+		}
+		else {
+			addManualSingletonToByTypeCache(beanName);
+		}
 	}
 
 	@Override
@@ -1102,6 +1250,34 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private void clearByTypeCache() {
 		this.allBeanNamesByType.clear();
 		this.singletonBeanNamesByType.clear();
+		this.allBeanNamesByGenericType.clear();
+	}
+
+	/**
+	 * Update the by-type mappings for a newly registered manual singleton,
+	 * keeping all other cached mappings intact. Manual singletons come last
+	 * in by-type results, so a match is simply appended.
+	 * @param beanName the name of the new manual singleton
+	 */
+	private void addManualSingletonToByTypeCache(String beanName) {
+		try {
+			this.allBeanNamesByType.replaceAll((type, beanNames) ->
+					addMatchingBeanName(beanNames, beanName, ResolvableType.forRawClass(type), true));
+			this.singletonBeanNamesByType.replaceAll((type, beanNames) ->
+					addMatchingBeanName(beanNames, beanName, ResolvableType.forRawClass(type), false));
+			this.allBeanNamesByGenericType.replaceAll((type, beanNames) ->
+					addMatchingBeanName(beanNames, beanName, type, true));
+		}
+		catch (BeansException ex) {
+			clearByTypeCache();
+		}
+	}
+
+	private String[] addMatchingBeanName(
+			String[] beanNames, String beanName, ResolvableType type, boolean includeNonSingletons) {
+
+		String matchingName = matchManualSingleton(beanName, type, includeNonSingletons);
+		return (matchingName != null ? StringUtils.addStringToArray(beanNames, matchingName) : beanNames);
 	}
 
 
@@ -125,6 +125,12 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	//  一次性bean实例 name : instance
 	private final Map<String, Object> disposableBeans = new LinkedHashMap<>();
 
+	/*
+	 * The following dependency maps hold copy-on-write Sets: they are replaced under the
+	 * corresponding map's lock but never modified after publication, allowing for lock-free
+	 * reads in the dependency checks performed on every prototype and scoped bean creation.
+	 */
+
 	/** Map between containing bean names: bean name to Set of bean names that the bean contains. */
 	private final Map<String, Set<String>> containedBeanMap = new ConcurrentHashMap<>(16);
 
@@ -505,12 +511,8 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see #registerDependentBean
 	 */
 	public void registerContainedBean(String containedBeanName, String containingBeanName) {
-		synchronized (this.containedBeanMap) {
-			Set<String> containedBeans =
-					this.containedBeanMap.computeIfAbsent(containingBeanName, k -> new LinkedHashSet<>(8));
-			if (!containedBeans.add(containedBeanName)) {
-				return;
-			}
+		if (!addToSetValue(this.containedBeanMap, containingBeanName, containedBeanName)) {
+			return;
 		}
 		registerDependentBean(containedBeanName, containingBeanName);
 	}
@@ -527,22 +529,39 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	public void registerDependentBean(String beanName, String dependentBeanName) {
 		String canonicalName = canonicalName(beanName);
 
-		synchronized (this.dependentBeanMap) {
-			Set<String> dependentBeans =
-					// 如果不存在canonicalName,则创建一个canonicalName to Set的映射。表示value 依赖 key
-					// dependentBeanName依赖beanName
-					this.dependentBeanMap.computeIfAbsent(canonicalName, k -> new LinkedHashSet<>(8));
-			// 如果dependentBeans包含dependentBeanName,则返回false
-			if (!dependentBeans.add(dependentBeanName)) {
-				return;
-			}
+		// dependentBeanName依赖beanName; 已注册过则直接返回
+		if (!addToSetValue(this.dependentBeanMap, canonicalName, dependentBeanName)) {
+			return;
 		}
 
 		// 注册反向依赖集合，即dependentBeanName依赖beanName
-		synchronized (this.dependenciesForBeanMap) {
-			Set<String> dependenciesForBean =
-					this.dependenciesForBeanMap.computeIfAbsent(dependentBeanName, k -> new LinkedHashSet<>(8));
-			dependenciesForBean.add(canonicalName);
+		addToSetValue(this.dependenciesForBeanMap, dependentBeanName, canonicalName);
+	}
+
+	/**
+	 * Add the given value to the copy-on-write Set registered for the given key.
+	 * <p>Performs a lock-free check for an existing registration first, which is
+	 * the common case for repeatedly created prototype and scoped beans.
+	 * @param map the dependency map to add to
+	 * @param key the key to register the value for
+	 * @param value the value to add
+	 * @return {@code true} if the value has been added, {@code false} if it
+	 * had been registered already
+	 */
+	private static boolean addToSetValue(Map<String, Set<String>> map, String key, String value) {
+		Set<String> values = map.get(key);
+		if (values != null && values.contains(value)) {
+			return false;
+		}
+		synchronized (map) {
+			values = map.get(key);
+			if (values != null && values.contains(value)) {
+				return false;
+			}
+			Set<String> newValues = (values != null ? new LinkedHashSet<>(values) : new LinkedHashSet<>(8));
+			newValues.add(value);
+			map.put(key, newValues);
+			return true;
 		}
 	}
 
@@ -560,10 +579,8 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	// 返回true，则抛出BeanCreationException的循环依赖异常
 	protected boolean isDependent(String beanName, String dependentBeanName) {
-		synchronized (this.dependentBeanMap) {
-			// 判断dependentBeanName是否依赖beanName
-			return isDependent(beanName, dependentBeanName, null);
-		}
+		// 判断dependentBeanName是否依赖beanName (copy-on-write Sets: no lock needed)
+		return isDependent(beanName, dependentBeanName, null);
 	}
 
 	private boolean isDependent(String beanName, String dependentBeanName, @Nullable Set<String> alreadySeen) {
@@ -617,9 +634,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (dependentBeans == null) {
 			return new String[0];
 		}
-		synchronized (this.dependentBeanMap) {
-			return StringUtils.toStringArray(dependentBeans);
-		}
+		return StringUtils.toStringArray(dependentBeans);
 	}
 
 	/**
@@ -633,9 +648,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (dependenciesForBean == null) {
 			return new String[0];
 		}
-		synchronized (this.dependenciesForBeanMap) {
-			return StringUtils.toStringArray(dependenciesForBean);
-		}
+		return StringUtils.toStringArray(dependenciesForBean);
 	}
 
 	public void destroySingletons() {
@@ -744,9 +757,15 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			for (Iterator<Map.Entry<String, Set<String>>> it = this.dependentBeanMap.entrySet().iterator(); it.hasNext();) {
 				Map.Entry<String, Set<String>> entry = it.next();
 				Set<String> dependenciesToClean = entry.getValue();
-				dependenciesToClean.remove(beanName);
-				if (dependenciesToClean.isEmpty()) {
-					it.remove();
+				if (dependenciesToClean.contains(beanName)) {
+					if (dependenciesToClean.size() == 1) {
+						it.remove();
+					}
+					else {
+						Set<String> remainingDependencies = new LinkedHashSet<>(dependenciesToClean);
+						remainingDependencies.remove(beanName);
+						entry.setValue(remainingDependencies);
+					}
 				}
 			}
 		}
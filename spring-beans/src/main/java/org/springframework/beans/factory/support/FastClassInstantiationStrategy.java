@@ -0,0 +1,157 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.cglib.reflect.FastConstructor;
+import org.springframework.core.KotlinDetector;
+import org.springframework.lang.Nullable;
+
+/**
+ * Extension of {@link CglibSubclassingInstantiationStrategy} which invokes bean
+ * constructors through a generated CGLIB {@link FastClass} instead of reflection.
+ *
+ * <p>The generated instantiator is cached per {@link RootBeanDefinition}, so this
+ * strategy mainly pays off for prototype and scoped beans which get instantiated
+ * over and over again. The first instantiation of each bean definition goes
+ * through the regular reflective path.
+ *
+ * <p>Only public constructors of public, non-Kotlin classes qualify; any other
+ * bean as well as any bean requiring Method Injection is instantiated as
+ * in the superclass.
+ *
+ * @since 5.1.21
+ * @see AbstractAutowireCapableBeanFactory#setInstantiationStrategy
+ */
+public class FastClassInstantiationStrategy extends CglibSubclassingInstantiationStrategy {
+
+	private static final Log logger = LogFactory.getLog(FastClassInstantiationStrategy.class);
+
+
+	@Override
+	public Object instantiate(RootBeanDefinition bd, @Nullable String beanName, BeanFactory owner) {
+		if (!bd.hasMethodOverrides()) {
+			Instantiator instantiator = getInstantiator(bd);
+			if (instantiator != null && instantiator.constructor.getParameterCount() == 0) {
+				return instantiator.newInstance();
+			}
+			Object instance = super.instantiate(bd, beanName, owner);
+			Constructor<?> constructorToUse;
+			synchronized (bd.constructorArgumentLock) {
+				constructorToUse = (bd.resolvedConstructorOrFactoryMethod instanceof Constructor ?
+						(Constructor<?>) bd.resolvedConstructorOrFactoryMethod : null);
+			}
+			if (constructorToUse != null && constructorToUse.getParameterCount() == 0) {
+				bd.resolvedInstantiator = createInstantiator(constructorToUse);
+			}
+			return instance;
+		}
+		return super.instantiate(bd, beanName, owner);
+	}
+
+	@Override
+	public Object instantiate(RootBeanDefinition bd, @Nullable String beanName, BeanFactory owner,
+			final Constructor<?> ctor, Object... args) {
+
+		if (!bd.hasMethodOverrides()) {
+			Instantiator instantiator = getInstantiator(bd);
+			if (instantiator == null || !instantiator.constructor.equals(ctor)) {
+				instantiator = createInstantiator(ctor);
+				bd.resolvedInstantiator = instantiator;
+			}
+			if (instantiator.fastConstructor != null) {
+				return instantiator.newInstance(args);
+			}
+		}
+		return super.instantiate(bd, beanName, owner, ctor, args);
+	}
+
+	@Nullable
+	private static Instantiator getInstantiator(RootBeanDefinition bd) {
+		Object instantiator = bd.resolvedInstantiator;
+		return (instantiator instanceof Instantiator ? (Instantiator) instantiator : null);
+	}
+
+	/**
+	 * Create an {@link Instantiator} for the given constructor, generating a
+	 * {@link FastClass} if the constructor qualifies for it.
+	 * @param ctor the constructor to generate an instantiator for
+	 * @return the instantiator, possibly without generated constructor
+	 * (indicating that the reflective path has to be used)
+	 */
+	private static Instantiator createInstantiator(Constructor<?> ctor) {
+		Class<?> clazz = ctor.getDeclaringClass();
+		if (!Modifier.isPublic(clazz.getModifiers()) || !Modifier.isPublic(ctor.getModifiers()) ||
+				Modifier.isAbstract(clazz.getModifiers()) || System.getSecurityManager() != null ||
+				(KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isKotlinType(clazz))) {
+			return new Instantiator(ctor, null);
+		}
+		try {
+			return new Instantiator(ctor, FastClass.create(clazz.getClassLoader(), clazz).getConstructor(ctor));
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not generate FastClass for [" + clazz.getName() +
+						"] - falling back to reflective instantiation: " + ex);
+			}
+			return new Instantiator(ctor, null);
+		}
+	}
+
+
+	/**
+	 * Holder for a constructor and its generated counterpart, if any.
+	 */
+	private static class Instantiator {
+
+		final Constructor<?> constructor;
+
+		@Nullable
+		final FastConstructor fastConstructor;
+
+		Instantiator(Constructor<?> constructor, @Nullable FastConstructor fastConstructor) {
+			this.constructor = constructor;
+			this.fastConstructor = fastConstructor;
+		}
+
+		Object newInstance(Object... args) {
+			if (this.fastConstructor == null) {
+				return BeanUtils.instantiateClass(this.constructor, args);
+			}
+			try {
+				return this.fastConstructor.newInstance(args);
+			}
+			catch (ClassCastException | IllegalArgumentException ex) {
+				throw new BeanInstantiationException(this.constructor, "Illegal arguments for constructor", ex);
+			}
+			catch (InvocationTargetException ex) {
+				throw new BeanInstantiationException(this.constructor, "Constructor threw exception", ex.getTargetException());
+			}
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -97,6 +97,10 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 	@Nullable
 	Object[] preparedConstructorArguments;
 
+	/** Package-visible field for caching a generated instantiator for the resolved constructor. */
+	@Nullable
+	volatile Object resolvedInstantiator;
+
 	/** Common lock for the two post-processing fields below. */
 	final Object postProcessingLock = new Object();
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -64,6 +64,48 @@ public class CachedIntrospectionResultsTests {
 		assertFalse(CachedIntrospectionResults.strongClassCache.containsKey(ArrayList.class));
 	}
 
+	@Test
+	public void boundedCacheEvictsLeastRecentlyUsedClasses() {
+		CachedIntrospectionResults.setCacheLimit(2);
+		try {
+			assertEquals(2, CachedIntrospectionResults.getCacheLimit());
+			long evictions = CachedIntrospectionResults.getCacheEvictionCount();
+			long misses = CachedIntrospectionResults.getCacheMissCount();
+			long hits = CachedIntrospectionResults.getCacheHitCount();
+
+			CachedIntrospectionResults tbResults = CachedIntrospectionResults.forClass(TestBean.class);
+			CachedIntrospectionResults.forClass(ArrayList.class);
+			assertSame(tbResults, CachedIntrospectionResults.forClass(TestBean.class));
+			CachedIntrospectionResults.forClass(StringBuilder.class);
+			assertFalse(CachedIntrospectionResults.strongClassCache.containsKey(TestBean.class));
+
+			assertEquals(evictions + 1, CachedIntrospectionResults.getCacheEvictionCount());
+			assertEquals(misses + 3, CachedIntrospectionResults.getCacheMissCount());
+			assertEquals(hits + 1, CachedIntrospectionResults.getCacheHitCount());
+			assertSame(tbResults, CachedIntrospectionResults.forClass(TestBean.class));
+		}
+		finally {
+			CachedIntrospectionResults.setCacheLimit(0);
+		}
+		assertEquals(0, CachedIntrospectionResults.getCacheLimit());
+	}
+
+	@Test
+	public void warmUpPopulatesCache() {
+		CachedIntrospectionResults.clearClassLoader(TestBean.class.getClassLoader());
+		CachedIntrospectionResults.clearClassLoader(ArrayList.class.getClassLoader());
+		long misses = CachedIntrospectionResults.getCacheMissCount();
+		CachedIntrospectionResults.warmUp(TestBean.class, ArrayList.class);
+		assertTrue(CachedIntrospectionResults.strongClassCache.containsKey(TestBean.class));
+		assertTrue(CachedIntrospectionResults.strongClassCache.containsKey(ArrayList.class));
+		assertEquals(misses + 2, CachedIntrospectionResults.getCacheMissCount());
+
+		long hits = CachedIntrospectionResults.getCacheHitCount();
+		new BeanWrapperImpl(new TestBean()).getPropertyValue("name");
+		assertEquals(misses + 2, CachedIntrospectionResults.getCacheMissCount());
+		assertTrue(CachedIntrospectionResults.getCacheHitCount() > hits);
+	}
+
 	@Test
 	public void shouldUseExtendedBeanInfoWhenApplicable() throws NoSuchMethodException, SecurityException {
 		// given a class with a non-void returning setter method
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.junit.Test;
+
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the {@link BeanWrapperImpl} test suite against a wrapper with
+ * {@link BeanWrapperImpl#setFastPropertyAccess fast property access} enabled.
+ */
+public class FastPropertyAccessBeanWrapperTests extends BeanWrapperTests {
+
+	@Override
+	protected BeanWrapperImpl createAccessor(Object target) {
+		BeanWrapperImpl accessor = new BeanWrapperImpl(target);
+		accessor.setFastPropertyAccess(true);
+		return accessor;
+	}
+
+
+	@Test
+	public void fastMethodsAreCachedForPublicAccessors() throws Exception {
+		TestBean target = new TestBean();
+		BeanWrapperImpl accessor = createAccessor(target);
+		accessor.setPropertyValue("name", "juergen");
+		assertEquals("juergen", accessor.getPropertyValue("name"));
+
+		CachedIntrospectionResults results = CachedIntrospectionResults.forClass(TestBean.class);
+		assertNotNull(results.getFastMethod(TestBean.class.getMethod("getName")));
+		assertNotNull(results.getFastMethod(TestBean.class.getMethod("setName", String.class)));
+	}
+
+	@Test
+	public void nestedAccessorsInheritFastPropertyAccess() {
+		TestBean target = new TestBean();
+		target.setSpouse(new TestBean());
+		BeanWrapperImpl accessor = createAccessor(target);
+		accessor.setPropertyValue("spouse.name", "kerry");
+		assertEquals("kerry", accessor.getPropertyValue("spouse.name"));
+		assertTrue(((BeanWrapperImpl) accessor.getPropertyAccessorForPropertyPath("spouse.name")).isFastPropertyAccess());
+	}
+
+	@Test
+	public void nonPublicClassFallsBackToReflection() {
+		NonPublicBean target = new NonPublicBean();
+		BeanWrapperImpl accessor = createAccessor(target);
+		accessor.setPropertyValue("value", "test");
+		assertEquals("test", accessor.getPropertyValue("value"));
+	}
+
+
+	static class NonPublicBean {
+
+		private String value;
+
+		public String getValue() {
+			return this.value;
+		}
+
+		public void setValue(String value) {
+			this.value = value;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import java.security.PrivilegedAction;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -37,6 +38,9 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -156,6 +160,98 @@ public class DefaultListableBeanFactoryTests {
 		assertTrue("singleton was instantiated", KnowsIfInstantiated.wasInstantiated());
 	}
 
+	@Test
+	public void testPreInstantiateSingletonsWithBootstrapExecutor() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		Set<Thread> taskThreads = ConcurrentHashMap.newKeySet();
+		AtomicInteger taskCount = new AtomicInteger();
+		try {
+			lbf.setBootstrapExecutor(task -> {
+				taskCount.incrementAndGet();
+				pool.execute(() -> {
+					taskThreads.add(Thread.currentThread());
+					task.run();
+				});
+			});
+			RootBeanDefinition spouse = new RootBeanDefinition();
+			spouse.setBeanClassName(TestBean.class.getName());
+			spouse.getPropertyValues().add("name", "Kerry");
+			lbf.registerBeanDefinition("spouse", spouse);
+			RootBeanDefinition rod = new RootBeanDefinition();
+			rod.setBeanClassName(TestBean.class.getName());
+			rod.getPropertyValues().add("name", "Rod").add("spouse", new RuntimeBeanReference("spouse"));
+			lbf.registerBeanDefinition("rod", rod);
+			RootBeanDefinition lazy = new RootBeanDefinition();
+			lazy.setBeanClassName(DerivedTestBean.class.getName());
+			lazy.setLazyInit(true);
+			lbf.registerBeanDefinition("lazy", lazy);
+
+			lbf.preInstantiateSingletons();
+
+			assertEquals(2, taskCount.get());
+			assertFalse(taskThreads.isEmpty());
+			assertFalse(taskThreads.contains(Thread.currentThread()));
+			assertTrue(lbf.containsSingleton("rod"));
+			assertTrue(lbf.containsSingleton("spouse"));
+			assertFalse(lbf.containsSingleton("lazy"));
+			assertFalse(lazy.hasBeanClass());
+			TestBean rodBean = (TestBean) lbf.getBean("rod");
+			assertEquals("Rod", rodBean.getName());
+			assertSame(lbf.getBean("spouse"), rodBean.getSpouse());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testPreInstantiateSingletonsWithBootstrapExecutorAndClassNameExpression() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+		Set<Thread> evaluationThreads = ConcurrentHashMap.newKeySet();
+		AtomicInteger taskCount = new AtomicInteger();
+		try {
+			lbf.setBootstrapExecutor(task -> {
+				taskCount.incrementAndGet();
+				pool.execute(task);
+			});
+			lbf.setBeanExpressionResolver((value, context) -> {
+				evaluationThreads.add(Thread.currentThread());
+				return ("#{testBeanClass}".equals(value) ? TestBean.class.getName() : value);
+			});
+			RootBeanDefinition expression = new RootBeanDefinition();
+			expression.setBeanClassName("#{testBeanClass}");
+			lbf.registerBeanDefinition("expression", expression);
+			RootBeanDefinition plain = new RootBeanDefinition();
+			plain.setBeanClassName(DerivedTestBean.class.getName());
+			lbf.registerBeanDefinition("plain", plain);
+
+			lbf.preInstantiateSingletons();
+
+			assertEquals(1, taskCount.get());
+			assertEquals(Collections.singleton(Thread.currentThread()), evaluationThreads);
+			assertTrue(lbf.getBean("expression") instanceof TestBean);
+			assertTrue(lbf.getBean("plain") instanceof DerivedTestBean);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testPreInstantiateSingletonsWithBootstrapExecutorAndUnresolvableClass() {
+		lbf.setBootstrapExecutor(Runnable::run);
+		RootBeanDefinition bd = new RootBeanDefinition();
+		bd.setBeanClassName("org.springframework.beans.factory.DoesNotExist");
+		lbf.registerBeanDefinition("invalid", bd);
+		try {
+			lbf.preInstantiateSingletons();
+			fail("Should have thrown CannotLoadBeanClassException");
+		}
+		catch (CannotLoadBeanClassException ex) {
+			assertEquals("invalid", ex.getBeanName());
+		}
+	}
+
 	@Test
 	public void testFactoryBeanDidNotCreatePrototype() {
 		Properties p = new Properties();
@@ -1932,6 +2028,45 @@ public class DefaultListableBeanFactoryTests {
 		assertEquals("&factoryBean", beanNames[0]);
 	}
 
+	@Test
+	public void testGetBeanNamesForGenericTypeWithFrozenConfiguration() {
+		lbf.registerBeanDefinition("stringCallable", new RootBeanDefinition(StringCallable.class));
+		lbf.registerBeanDefinition("integerCallable", new RootBeanDefinition(IntegerCallable.class));
+		lbf.freezeConfiguration();
+
+		ResolvableType stringCallableType = ResolvableType.forClassWithGenerics(Callable.class, String.class);
+		String[] beanNames = lbf.getBeanNamesForType(stringCallableType);
+		assertArrayEquals(new String[] {"stringCallable"}, beanNames);
+		assertSame(beanNames, lbf.getBeanNamesForType(stringCallableType));
+		assertArrayEquals(new String[] {"integerCallable"},
+				lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(Callable.class, Integer.class)));
+	}
+
+	@Test
+	public void testGetBeanNamesForTypeAfterSingletonRegistrationWithFrozenConfiguration() {
+		lbf.registerBeanDefinition("stringCallable", new RootBeanDefinition(StringCallable.class));
+		lbf.registerBeanDefinition("integerCallable", new RootBeanDefinition(IntegerCallable.class));
+		lbf.freezeConfiguration();
+
+		ResolvableType stringCallableType = ResolvableType.forClassWithGenerics(Callable.class, String.class);
+		assertEquals(1, lbf.getBeanNamesForType(stringCallableType).length);
+		assertEquals(2, lbf.getBeanNamesForType(Callable.class).length);
+		assertEquals(2, lbf.getBeanNamesForType(Callable.class, false, true).length);
+		assertEquals(0, lbf.getBeanNamesForType(TestBean.class).length);
+
+		lbf.registerSingleton("otherStringCallable", new StringCallable());
+		assertArrayEquals(new String[] {"stringCallable", "otherStringCallable"},
+				lbf.getBeanNamesForType(stringCallableType));
+		assertArrayEquals(new String[] {"stringCallable", "integerCallable", "otherStringCallable"},
+				lbf.getBeanNamesForType(Callable.class));
+		assertArrayEquals(new String[] {"stringCallable", "integerCallable", "otherStringCallable"},
+				lbf.getBeanNamesForType(Callable.class, false, true));
+		assertEquals(0, lbf.getBeanNamesForType(TestBean.class).length);
+
+		lbf.destroySingleton("otherStringCallable");
+		assertArrayEquals(new String[] {"stringCallable"}, lbf.getBeanNamesForType(stringCallableType));
+	}
+
 	/**
 	 * Verifies that a dependency on a {@link FactoryBean} can <strong>not</strong>
 	 * be autowired <em>by name</em>, as &amp; is an illegal character in
@@ -2960,6 +3095,24 @@ public class DefaultListableBeanFactoryTests {
 	static class B { }
 
 
+	static class StringCallable implements Callable<String> {
+
+		@Override
+		public String call() {
+			return "value";
+		}
+	}
+
+
+	static class IntegerCallable implements Callable<Integer> {
+
+		@Override
+		public Integer call() {
+			return 1;
+		}
+	}
+
+
 	public static class NoDependencies {
 
 		private NoDependencies() {
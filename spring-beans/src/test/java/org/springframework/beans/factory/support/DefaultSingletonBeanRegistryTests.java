@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -101,4 +101,38 @@ public class DefaultSingletonBeanRegistryTests {
 		assertTrue(beanRegistry.isDependent("c", "c"));
 	}
 
+	@Test
+	public void testDependentRegistrationIsIdempotentAndCleanedUpOnDestruction() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.registerSingleton("a", new TestBean());
+		beanRegistry.registerSingleton("b", new TestBean());
+		beanRegistry.registerSingleton("c", new TestBean());
+
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < 1000; j++) {
+					beanRegistry.registerDependentBean("a", "b");
+					beanRegistry.registerDependentBean("a", "c");
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertArrayEquals(new String[] {"b", "c"}, beanRegistry.getDependentBeans("a"));
+		assertArrayEquals(new String[] {"a"}, beanRegistry.getDependenciesForBean("b"));
+		assertArrayEquals(new String[] {"a"}, beanRegistry.getDependenciesForBean("c"));
+
+		beanRegistry.destroySingleton("b");
+		assertArrayEquals(new String[] {"c"}, beanRegistry.getDependentBeans("a"));
+		assertFalse(beanRegistry.isDependent("a", "b"));
+		assertTrue(beanRegistry.isDependent("a", "c"));
+
+		beanRegistry.destroySingleton("c");
+		assertEquals(0, beanRegistry.getDependentBeans("a").length);
+		assertFalse(beanRegistry.hasDependentBean("a"));
+	}
+
 }
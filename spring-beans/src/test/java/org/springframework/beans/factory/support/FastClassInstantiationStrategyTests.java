@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link FastClassInstantiationStrategy}.
+ */
+public class FastClassInstantiationStrategyTests {
+
+	private DefaultListableBeanFactory beanFactory;
+
+
+	@Before
+	public void setUp() {
+		this.beanFactory = new DefaultListableBeanFactory();
+		this.beanFactory.setInstantiationStrategy(new FastClassInstantiationStrategy());
+	}
+
+
+	@Test
+	public void prototypeWithDefaultConstructor() {
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getPropertyValues().add("name", "juergen");
+		this.beanFactory.registerBeanDefinition("test", bd);
+
+		TestBean first = this.beanFactory.getBean("test", TestBean.class);
+		TestBean second = this.beanFactory.getBean("test", TestBean.class);
+		TestBean third = this.beanFactory.getBean("test", TestBean.class);
+		assertNotSame(first, second);
+		assertNotSame(second, third);
+		assertEquals("juergen", third.getName());
+		assertNotNull(((RootBeanDefinition) this.beanFactory.getMergedBeanDefinition("test")).resolvedInstantiator);
+	}
+
+	@Test
+	public void prototypeWithConstructorArguments() {
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getConstructorArgumentValues().addGenericArgumentValue("juergen");
+		bd.getConstructorArgumentValues().addGenericArgumentValue("42");
+		this.beanFactory.registerBeanDefinition("test", bd);
+
+		for (int i = 0; i < 3; i++) {
+			TestBean bean = this.beanFactory.getBean("test", TestBean.class);
+			assertEquals("juergen", bean.getName());
+			assertEquals(42, bean.getAge());
+		}
+	}
+
+	@Test
+	public void prototypeWithNonPublicClass() {
+		RootBeanDefinition bd = new RootBeanDefinition(NonPublicBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		this.beanFactory.registerBeanDefinition("test", bd);
+
+		Object first = this.beanFactory.getBean("test");
+		Object second = this.beanFactory.getBean("test");
+		assertNotSame(first, second);
+		assertSame(NonPublicBean.class, second.getClass());
+	}
+
+	@Test
+	public void prototypeWithFailingConstructor() {
+		RootBeanDefinition bd = new RootBeanDefinition(FailingBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getConstructorArgumentValues().addGenericArgumentValue("fail");
+		this.beanFactory.registerBeanDefinition("test", bd);
+
+		for (int i = 0; i < 2; i++) {
+			try {
+				this.beanFactory.getBean("test");
+				fail("Should have thrown BeanCreationException");
+			}
+			catch (BeanCreationException ex) {
+				assertTrue(ex.getMostSpecificCause() instanceof IllegalStateException);
+				assertEquals("fail", ex.getMostSpecificCause().getMessage());
+			}
+		}
+	}
+
+
+	static class NonPublicBean {
+	}
+
+
+	public static class FailingBean {
+
+		public FailingBean(String message) {
+			throw new IllegalStateException(message);
+		}
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
+
+/**
+ * Benchmarks for method invocation through {@link JdkDynamicAopProxy}
+ * and {@link CglibAopProxy}, with a varying number of interceptors
+ * and for frozen as well as non-frozen proxy configurations.
+ * <p>Run with {@code -prof gc} to compare the allocation rate per invocation.
+ *
+ * @since 5.1.21
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AopProxyBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"0", "1", "3"})
+		public int interceptors;
+
+		@Param({"false", "true"})
+		public boolean frozen;
+
+		public Service jdkProxy;
+
+		public Service cglibProxy;
+
+		public Service target = new DefaultService();
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.jdkProxy = (Service) createProxyFactory(false).getProxy();
+			this.cglibProxy = (Service) createProxyFactory(true).getProxy();
+		}
+
+		private ProxyFactory createProxyFactory(boolean proxyTargetClass) {
+			ProxyFactory proxyFactory = new ProxyFactory(this.target);
+			proxyFactory.setProxyTargetClass(proxyTargetClass);
+			if (!proxyTargetClass) {
+				proxyFactory.addInterface(Service.class);
+			}
+			for (int i = 0; i < this.interceptors; i++) {
+				MethodInterceptor interceptor = invocation -> invocation.proceed();
+				if (i % 2 == 0) {
+					proxyFactory.addAdvice(interceptor);
+				}
+				else {
+					NameMatchMethodPointcutAdvisor advisor = new NameMatchMethodPointcutAdvisor(interceptor);
+					advisor.setMappedName("compute");
+					proxyFactory.addAdvisor(advisor);
+				}
+			}
+			proxyFactory.setFrozen(this.frozen);
+			return proxyFactory;
+		}
+	}
+
+
+	@Benchmark
+	public int direct(BenchmarkState state) {
+		return state.target.compute(42);
+	}
+
+	@Benchmark
+	public int jdkProxy(BenchmarkState state) {
+		return state.jdkProxy.compute(42);
+	}
+
+	@Benchmark
+	public int cglibProxy(BenchmarkState state) {
+		return state.cglibProxy.compute(42);
+	}
+
+	@Benchmark
+	public int jdkProxyWithoutArguments(BenchmarkState state) {
+		return state.jdkProxy.getValue();
+	}
+
+	@Benchmark
+	public int cglibProxyWithoutArguments(BenchmarkState state) {
+		return state.cglibProxy.getValue();
+	}
+
+
+	public interface Service {
+
+		int compute(int value);
+
+		int getValue();
+	}
+
+
+	public static class DefaultService implements Service {
+
+		@Override
+		public int compute(int value) {
+			return value * 2;
+		}
+
+		@Override
+		public int getValue() {
+			return 42;
+		}
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.FastClassInstantiationStrategy;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.support.SimpleThreadScope;
+
+/**
+ * Benchmarks for bean retrieval and creation in {@link DefaultListableBeanFactory}.
+ *
+ * @since 5.1.21
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BeanFactoryBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"reflective", "fastClass"})
+		public String instantiationStrategy;
+
+		public DefaultListableBeanFactory beanFactory;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+			if ("fastClass".equals(this.instantiationStrategy)) {
+				this.beanFactory.setInstantiationStrategy(new FastClassInstantiationStrategy());
+			}
+			this.beanFactory.registerScope("thread", new SimpleThreadScope());
+
+			this.beanFactory.registerBeanDefinition("dependency", new RootBeanDefinition(Dependency.class));
+
+			RootBeanDefinition singleton = new RootBeanDefinition(Component.class);
+			singleton.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+			this.beanFactory.registerBeanDefinition("singleton", singleton);
+
+			RootBeanDefinition prototype = new RootBeanDefinition(Component.class);
+			prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			prototype.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+			this.beanFactory.registerBeanDefinition("prototype", prototype);
+
+			RootBeanDefinition scoped = new RootBeanDefinition(Component.class);
+			scoped.setScope("thread");
+			scoped.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+			this.beanFactory.registerBeanDefinition("scoped", scoped);
+
+			RootBeanDefinition properties = new RootBeanDefinition(Component.class);
+			properties.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			properties.getPropertyValues().add("name", "test").add("age", "42");
+			this.beanFactory.registerBeanDefinition("prototypeWithProperties", properties);
+
+			this.beanFactory.freezeConfiguration();
+			this.beanFactory.preInstantiateSingletons();
+		}
+	}
+
+
+	@Benchmark
+	public Object getSingleton(BenchmarkState state) {
+		return state.beanFactory.getBean("singleton");
+	}
+
+	@Benchmark
+	public Object getSingletonByType(BenchmarkState state) {
+		return state.beanFactory.getBean(Dependency.class);
+	}
+
+	@Benchmark
+	public Object getPrototype(BenchmarkState state) {
+		return state.beanFactory.getBean("prototype");
+	}
+
+	@Benchmark
+	public Object getPrototypeWithProperties(BenchmarkState state) {
+		return state.beanFactory.getBean("prototypeWithProperties");
+	}
+
+	@Benchmark
+	public Object getScoped(BenchmarkState state) {
+		return state.beanFactory.getBean("scoped");
+	}
+
+	@Benchmark
+	public Object createBean(BenchmarkState state) {
+		return state.beanFactory.createBean(Component.class);
+	}
+
+
+	public static class Dependency {
+	}
+
+
+	public static class Component {
+
+		private Dependency dependency;
+
+		private String name;
+
+		private int age;
+
+		public Component() {
+		}
+
+		public Component(Dependency dependency) {
+			this.dependency = dependency;
+		}
+
+		public Dependency getDependency() {
+			return this.dependency;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Contended benchmarks for {@link DefaultSingletonBeanRegistry} lookups and
+ * dependency registrations, as performed on every prototype and scoped bean
+ * creation. Runs with as many threads as available processors: compare with
+ * {@code -t 1} for single-threaded figures.
+ *
+ * @since 5.1.21
+ */
+@BenchmarkMode(Mode.Throughput)
+@Threads(Threads.MAX)
+public class DefaultSingletonBeanRegistryBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public DefaultSingletonBeanRegistry registry;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.registry = new DefaultSingletonBeanRegistry();
+			for (int i = 0; i < 100; i++) {
+				this.registry.registerSingleton("singleton" + i, new Object());
+				this.registry.registerDependentBean("singleton" + i, "prototype");
+				if (i > 0) {
+					this.registry.registerDependentBean("singleton" + (i - 1), "singleton" + i);
+				}
+			}
+		}
+	}
+
+
+	@Benchmark
+	public Object getSingleton(BenchmarkState state) {
+		return state.registry.getSingleton("singleton42");
+	}
+
+	@Benchmark
+	public void registerExistingDependentBean(BenchmarkState state) {
+		state.registry.registerDependentBean("singleton42", "prototype");
+	}
+
+	@Benchmark
+	public boolean isDependent(BenchmarkState state) {
+		return state.registry.isDependent("singleton42", "prototype");
+	}
+
+	@Benchmark
+	public boolean isTransitivelyDependent(BenchmarkState state) {
+		return state.registry.isDependent("singleton90", "singleton99");
+	}
+
+	@Benchmark
+	public String[] getDependentBeans(BenchmarkState state) {
+		return state.registry.getDependentBeans("singleton42");
+	}
+
+}
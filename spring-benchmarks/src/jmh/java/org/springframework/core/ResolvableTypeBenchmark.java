@@ -0,0 +1,100 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link ResolvableType} creation and generic resolution.
+ *
+ * @since 5.1.21
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ResolvableTypeBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Method method;
+
+		public ResolvableType stringList;
+
+		public ResolvableType listOfStringList;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.method = Repository.class.getMethod("findAll", Map.class);
+			this.stringList = ResolvableType.forClass(StringList.class);
+			this.listOfStringList = ResolvableType.forClassWithGenerics(List.class, StringList.class);
+		}
+	}
+
+
+	@Benchmark
+	public Object forClass() {
+		return ResolvableType.forClass(StringList.class);
+	}
+
+	@Benchmark
+	public Object forClassAsList() {
+		return ResolvableType.forClass(StringList.class).as(List.class).resolveGeneric(0);
+	}
+
+	@Benchmark
+	public Object forMethodParameter(BenchmarkState state) {
+		return ResolvableType.forMethodParameter(state.method, 0).resolveGeneric(1);
+	}
+
+	@Benchmark
+	public Object forMethodReturnType(BenchmarkState state) {
+		return ResolvableType.forMethodReturnType(state.method).resolveGeneric(0);
+	}
+
+	@Benchmark
+	public boolean isAssignableFrom(BenchmarkState state) {
+		return ResolvableType.forClassWithGenerics(List.class, String.class).isAssignableFrom(state.stringList);
+	}
+
+	@Benchmark
+	public boolean isAssignableFromNested(BenchmarkState state) {
+		return state.listOfStringList.isAssignableFrom(
+				ResolvableType.forClassWithGenerics(ArrayList.class, StringList.class));
+	}
+
+
+	@SuppressWarnings("serial")
+	public static class StringList extends ArrayList<String> {
+	}
+
+
+	public interface Repository {
+
+		List<StringList> findAll(Map<String, Integer> criteria);
+	}
+
+}
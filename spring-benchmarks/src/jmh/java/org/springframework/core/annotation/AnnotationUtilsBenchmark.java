@@ -0,0 +1,120 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for merged annotation lookups through {@link AnnotatedElementUtils}
+ * and {@link AnnotationUtils}, including {@link AliasFor} resolution.
+ *
+ * @since 5.1.21
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AnnotationUtilsBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Method annotatedMethod;
+
+		public Method plainMethod;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.annotatedMethod = AnnotatedService.class.getMethod("handle");
+			this.plainMethod = AnnotatedService.class.getMethod("toString");
+		}
+	}
+
+
+	@Benchmark
+	public Object findMergedAnnotationOnClass() {
+		return AnnotatedElementUtils.findMergedAnnotation(AnnotatedService.class, Mapping.class);
+	}
+
+	@Benchmark
+	public Object findMergedAnnotationOnMethod(BenchmarkState state) {
+		return AnnotatedElementUtils.findMergedAnnotation(state.annotatedMethod, Mapping.class);
+	}
+
+	@Benchmark
+	public Object findMergedAnnotationMissing(BenchmarkState state) {
+		return AnnotatedElementUtils.findMergedAnnotation(state.plainMethod, Mapping.class);
+	}
+
+	@Benchmark
+	public Object findMergedAnnotationAttributes() {
+		return AnnotatedElementUtils.findMergedAnnotationAttributes(AnnotatedService.class, Mapping.class, false, false);
+	}
+
+	@Benchmark
+	public boolean hasAnnotation() {
+		return AnnotatedElementUtils.hasAnnotation(AnnotatedService.class, Mapping.class);
+	}
+
+	@Benchmark
+	public Object findAnnotation(BenchmarkState state) {
+		return AnnotationUtils.findAnnotation(state.annotatedMethod, Mapping.class);
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+	public @interface Mapping {
+
+		@AliasFor("path")
+		String[] value() default {};
+
+		@AliasFor("value")
+		String[] path() default {};
+
+		String[] produces() default {};
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD})
+	@Mapping(produces = "application/json")
+	public @interface GetJson {
+
+		@AliasFor(annotation = Mapping.class)
+		String[] path() default {};
+	}
+
+
+	@GetJson(path = "/service")
+	public static class AnnotatedService {
+
+		@GetJson(path = "/handle")
+		public void handle() {
+		}
+	}
+
+}
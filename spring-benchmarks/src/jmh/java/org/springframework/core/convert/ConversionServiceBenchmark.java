@@ -0,0 +1,128 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+/**
+ * Benchmarks for typical conversions through {@link GenericConversionService}.
+ *
+ * @since 5.1.21
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ConversionServiceBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public GenericConversionService conversionService;
+
+		public GenericConversionService formattingConversionService;
+
+		public List<String> numbers = Arrays.asList("1", "2", "3", "4", "5");
+
+		public TypeDescriptor sourceListType;
+
+		public TypeDescriptor targetListType;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.conversionService = new DefaultConversionService();
+			this.formattingConversionService = new DefaultFormattingConversionService();
+			this.sourceListType = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(String.class));
+			this.targetListType = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Integer.class));
+		}
+	}
+
+
+	@Benchmark
+	public Object stringToInteger(BenchmarkState state) {
+		return state.conversionService.convert("42", Integer.class);
+	}
+
+	@Benchmark
+	public Object stringToLong(BenchmarkState state) {
+		return state.conversionService.convert("42", Long.class);
+	}
+
+	@Benchmark
+	public Object stringToPrimitiveInt(BenchmarkState state) {
+		return state.conversionService.convert("42", int.class);
+	}
+
+	@Benchmark
+	public Object stringToBigDecimal(BenchmarkState state) {
+		return state.conversionService.convert("42.5", BigDecimal.class);
+	}
+
+	@Benchmark
+	public Object stringToEnum(BenchmarkState state) {
+		return state.conversionService.convert("SECONDS", TimeUnit.class);
+	}
+
+	@Benchmark
+	public Object stringToBoolean(BenchmarkState state) {
+		return state.conversionService.convert("true", Boolean.class);
+	}
+
+	@Benchmark
+	public Object stringToDate(BenchmarkState state) {
+		return state.formattingConversionService.convert("Wed, 01 Jan 2020 00:00:00 GMT", Date.class);
+	}
+
+	@Benchmark
+	public Object longToDate(BenchmarkState state) {
+		return state.formattingConversionService.convert(1577836800000L, Date.class);
+	}
+
+	@Benchmark
+	public Object dateToString(BenchmarkState state) {
+		return state.formattingConversionService.convert(new Date(1577836800000L), String.class);
+	}
+
+	@Benchmark
+	public Object integerToString(BenchmarkState state) {
+		return state.conversionService.convert(42, String.class);
+	}
+
+	@Benchmark
+	public Object stringListToIntegerList(BenchmarkState state) {
+		return state.conversionService.convert(state.numbers, state.sourceListType, state.targetListType);
+	}
+
+	@Benchmark
+	public boolean canConvert(BenchmarkState state) {
+		return state.conversionService.canConvert(String.class, Integer.class);
+	}
+
+}
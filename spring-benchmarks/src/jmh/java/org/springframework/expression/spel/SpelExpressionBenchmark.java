@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for {@link org.springframework.expression.spel.standard.SpelExpression#getValue}
+ * in interpreted versus compiled mode.
+ *
+ * @since 5.1.21
+ */
+@BenchmarkMode(Mode.Throughput)
+public class SpelExpressionBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"OFF", "IMMEDIATE"})
+		public SpelCompilerMode compilerMode;
+
+		@Param({"name", "age > 18 and name.length() > 3", "address.city", "tags[0]", "#root.name + ':' + age"})
+		public String expressionString;
+
+		public Expression expression;
+
+		public Person root;
+
+		public StandardEvaluationContext context;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			SpelParserConfiguration configuration =
+					new SpelParserConfiguration(this.compilerMode, getClass().getClassLoader());
+			this.expression = new SpelExpressionParser(configuration).parseExpression(this.expressionString);
+			this.root = new Person();
+			this.context = new StandardEvaluationContext(this.root);
+			// Trigger compilation in IMMEDIATE mode before measuring
+			this.expression.getValue(this.context);
+		}
+	}
+
+
+	@Benchmark
+	public Object getValue(BenchmarkState state) {
+		return state.expression.getValue(state.context);
+	}
+
+	@Benchmark
+	public Object getValueWithRootObject(BenchmarkState state) {
+		return state.expression.getValue(state.root);
+	}
+
+
+	public static class Person {
+
+		public String name = "Juergen";
+
+		public int age = 42;
+
+		public Address address = new Address();
+
+		public String[] tags = {"spring", "framework"};
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public Address getAddress() {
+			return this.address;
+		}
+
+		public String[] getTags() {
+			return this.tags;
+		}
+	}
+
+
+	public static class Address {
+
+		public String city = "Linz";
+
+		public String getCity() {
+			return this.city;
+		}
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.validation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.MutablePropertyValues;
+
+/**
+ * Benchmarks for binding request-like property values onto a command object
+ * through {@link DataBinder}, with reflective and generated property access.
+ *
+ * @since 5.1.21
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DataBinderBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"false", "true"})
+		public boolean fastPropertyAccess;
+
+		public MutablePropertyValues propertyValues;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.propertyValues = new MutablePropertyValues();
+			this.propertyValues.add("firstName", "Juergen");
+			this.propertyValues.add("lastName", "Hoeller");
+			this.propertyValues.add("email", "juergen@example.org");
+			this.propertyValues.add("street", "Main Street 1");
+			this.propertyValues.add("city", "Linz");
+			this.propertyValues.add("zip", "4020");
+			this.propertyValues.add("age", "42");
+			this.propertyValues.add("subscribed", "true");
+		}
+	}
+
+
+	@Benchmark
+	public Object bind(BenchmarkState state) {
+		DataBinder binder = new DataBinder(new Command(), "command");
+		binder.setFastPropertyAccess(state.fastPropertyAccess);
+		binder.bind(state.propertyValues);
+		return binder.getBindingResult();
+	}
+
+
+	public static class Command {
+
+		private String firstName;
+
+		private String lastName;
+
+		private String email;
+
+		private String street;
+
+		private String city;
+
+		private String zip;
+
+		private int age;
+
+		private boolean subscribed;
+
+		public String getFirstName() {
+			return this.firstName;
+		}
+
+		public void setFirstName(String firstName) {
+			this.firstName = firstName;
+		}
+
+		public String getLastName() {
+			return this.lastName;
+		}
+
+		public void setLastName(String lastName) {
+			this.lastName = lastName;
+		}
+
+		public String getEmail() {
+			return this.email;
+		}
+
+		public void setEmail(String email) {
+			this.email = email;
+		}
+
+		public String getStreet() {
+			return this.street;
+		}
+
+		public void setStreet(String street) {
+			this.street = street;
+		}
+
+		public String getCity() {
+			return this.city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+
+		public String getZip() {
+			return this.zip;
+		}
+
+		public void setZip(String zip) {
+			this.zip = zip;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public boolean isSubscribed() {
+			return this.subscribed;
+		}
+
+		public void setSubscribed(boolean subscribed) {
+			this.subscribed = subscribed;
+		}
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Benchmarks for request dispatching through {@link DispatcherServlet},
+ * driven by {@link MockMvc} to exclude servlet container overhead.
+ *
+ * @since 5.1.21
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DispatcherServletBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public MockMvc mockMvc;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.mockMvc = MockMvcBuilders.standaloneSetup(new PersonController()).build();
+		}
+	}
+
+
+	@Benchmark
+	public MvcResult simpleGet(BenchmarkState state) throws Exception {
+		return state.mockMvc.perform(get("/ping").accept(MediaType.TEXT_PLAIN)).andReturn();
+	}
+
+	@Benchmark
+	public MvcResult pathVariableAndParam(BenchmarkState state) throws Exception {
+		return state.mockMvc.perform(get("/persons/{id}", 42).param("format", "short")
+				.accept(MediaType.TEXT_PLAIN, MediaType.APPLICATION_JSON)).andReturn();
+	}
+
+	@Benchmark
+	public MvcResult formBinding(BenchmarkState state) throws Exception {
+		return state.mockMvc.perform(post("/persons")
+				.contentType(MediaType.APPLICATION_FORM_URLENCODED)
+				.param("name", "Juergen").param("age", "42").param("city", "Linz")).andReturn();
+	}
+
+
+	@RestController
+	public static class PersonController {
+
+		@GetMapping("/ping")
+		public String ping() {
+			return "pong";
+		}
+
+		@GetMapping("/persons/{id}")
+		public String person(@PathVariable int id, @RequestParam String format) {
+			return format + ":" + id;
+		}
+
+		@PostMapping("/persons")
+		public String create(PersonForm form) {
+			return form.getName();
+		}
+	}
+
+
+	public static class PersonForm {
+
+		private String name;
+
+		private int age;
+
+		private String city;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public String getCity() {
+			return this.city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+	}
+
+}
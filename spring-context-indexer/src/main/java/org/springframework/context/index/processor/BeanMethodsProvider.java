@@ -0,0 +1,93 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+
+/**
+ * Provide the names of the {@code @Bean} methods declared by an {@link Element},
+ * in declaration order. This allows the configuration class parser to determine
+ * a deterministic order for reflection-introspected classes without reading the
+ * class file again.
+ *
+ * @since 5.1.21
+ */
+class BeanMethodsProvider {
+
+	private static final String BEAN_ANNOTATION = "org.springframework.context.annotation.Bean";
+
+	private final TypeHelper typeHelper;
+
+
+	public BeanMethodsProvider(TypeHelper typeHelper) {
+		this.typeHelper = typeHelper;
+	}
+
+
+	/**
+	 * Return the names of the methods of the given {@link Element} that are
+	 * annotated or meta-annotated with {@code @Bean}, in declaration order.
+	 * @param element the element to handle
+	 * @return the method names or an empty set if none were found
+	 */
+	public Set<String> getBeanMethods(Element element) {
+		Set<String> beanMethods = new LinkedHashSet<>();
+		ElementKind kind = element.getKind();
+		if (kind != ElementKind.CLASS && kind != ElementKind.INTERFACE) {
+			return beanMethods;
+		}
+		for (Element enclosed : element.getEnclosedElements()) {
+			if (enclosed.getKind() == ElementKind.METHOD && isBeanMethod(enclosed)) {
+				beanMethods.add(enclosed.getSimpleName().toString());
+			}
+		}
+		return beanMethods;
+	}
+
+	private boolean isBeanMethod(Element method) {
+		Set<Element> seen = new HashSet<>();
+		for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+			if (isBeanAnnotation(seen, annotation)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isBeanAnnotation(Set<Element> seen, AnnotationMirror annotation) {
+		if (BEAN_ANNOTATION.equals(this.typeHelper.getType(annotation))) {
+			return true;
+		}
+		Element annotationType = annotation.getAnnotationType().asElement();
+		if (!seen.add(annotationType) || annotationType.toString().startsWith("java.lang")) {
+			return false;
+		}
+		for (AnnotationMirror metaAnnotation : this.typeHelper.getAllAnnotationMirrors(annotationType)) {
+			if (isBeanAnnotation(seen, metaAnnotation)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -40,6 +40,10 @@ import javax.lang.model.element.TypeElement;
  * Annotation {@link Processor} that writes {@link CandidateComponentsMetadata}
  * file for spring components.
  *
+ * <p>As of 5.1.21, the declaration order of the {@code @Bean} methods of each
+ * processed type is written to a separate {@code META-INF/spring.configurations}
+ * file, allowing configuration class parsing to skip a class file read.
+ *
  * @author Stephane Nicoll
  * @author Juergen Hoeller
  * @since 5.0
@@ -53,10 +57,16 @@ public class CandidateComponentsIndexer implements Processor {
 
 	private MetadataCollector metadataCollector;
 
+	private MetadataStore configurationsStore;
+
+	private MetadataCollector configurationsCollector;
+
 	private TypeHelper typeHelper;
 
 	private List<StereotypesProvider> stereotypesProviders;
 
+	private BeanMethodsProvider beanMethodsProvider;
+
 
 	@Override
 	public Set<String> getSupportedOptions() {
@@ -79,11 +89,15 @@ public class CandidateComponentsIndexer implements Processor {
 		this.typeHelper = new TypeHelper(env);
 		this.metadataStore = new MetadataStore(env);
 		this.metadataCollector = new MetadataCollector(env, this.metadataStore.readMetadata());
+		this.beanMethodsProvider = new BeanMethodsProvider(this.typeHelper);
+		this.configurationsStore = new MetadataStore(env, MetadataStore.CONFIGURATIONS_METADATA_PATH);
+		this.configurationsCollector = new MetadataCollector(env, this.configurationsStore.readMetadata());
 	}
 
 	@Override
 	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
 		this.metadataCollector.processing(roundEnv);
+		this.configurationsCollector.processing(roundEnv);
 		roundEnv.getRootElements().forEach(this::processElement);
 		if (roundEnv.processingOver()) {
 			writeMetaData();
@@ -119,13 +133,22 @@ public class CandidateComponentsIndexer implements Processor {
 		if (!stereotypes.isEmpty()) {
 			this.metadataCollector.add(new ItemMetadata(this.typeHelper.getType(element), stereotypes));
 		}
+		Set<String> beanMethods = this.beanMethodsProvider.getBeanMethods(element);
+		if (!beanMethods.isEmpty()) {
+			this.configurationsCollector.add(new ItemMetadata(this.typeHelper.getType(element), beanMethods));
+		}
 	}
 
 	private void writeMetaData() {
-		CandidateComponentsMetadata metadata = this.metadataCollector.getMetadata();
+		writeMetaData(this.metadataStore, this.metadataCollector);
+		writeMetaData(this.configurationsStore, this.configurationsCollector);
+	}
+
+	private void writeMetaData(MetadataStore store, MetadataCollector collector) {
+		CandidateComponentsMetadata metadata = collector.getMetadata();
 		if (!metadata.getItems().isEmpty()) {
 			try {
-				this.metadataStore.writeMetadata(metadata);
+				store.writeMetadata(metadata);
 			}
 			catch (IOException ex) {
 				throw new IllegalStateException("Failed to write metadata", ex);
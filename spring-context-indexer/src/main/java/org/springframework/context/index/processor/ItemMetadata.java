@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,7 @@
 
 package org.springframework.context.index.processor;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -25,6 +25,9 @@ import java.util.Set;
  * be used to retrieve the candidates. A typical use case is the presence of a given
  * annotation on the candidate.
  *
+ * <p>The order of the stereotypes is retained, which allows the same structure
+ * to hold the declaration order of the {@code @Bean} methods of a type.
+ *
  * @author Stephane Nicoll
  * @since 5.0
  */
@@ -37,7 +40,7 @@ class ItemMetadata {
 
 	public ItemMetadata(String type, Set<String> stereotypes) {
 		this.type = type;
-		this.stereotypes = new HashSet<>(stereotypes);
+		this.stereotypes = new LinkedHashSet<>(stereotypes);
 	}
 
 
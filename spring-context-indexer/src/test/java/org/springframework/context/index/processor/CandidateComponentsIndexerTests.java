@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.springframework.context.index.processor;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 
 import javax.annotation.ManagedBean;
 import javax.inject.Named;
@@ -37,6 +38,7 @@ import org.junit.rules.TemporaryFolder;
 import org.springframework.context.index.sample.AbstractController;
 import org.springframework.context.index.sample.MetaControllerIndexed;
 import org.springframework.context.index.sample.SampleComponent;
+import org.springframework.context.index.sample.SampleConfiguration;
 import org.springframework.context.index.sample.SampleController;
 import org.springframework.context.index.sample.SampleEmbedded;
 import org.springframework.context.index.sample.SampleMetaController;
@@ -230,6 +232,26 @@ public class CandidateComponentsIndexerTests {
 		assertThat(metadata.getItems(), hasSize(0));
 	}
 
+	@Test
+	public void beanMethodsInDeclarationOrder() {
+		CandidateComponentsMetadata metadata = compile(SampleConfiguration.class);
+		assertThat(metadata, hasComponent(SampleConfiguration.class, Component.class));
+		CandidateComponentsMetadata configurations =
+				readGeneratedMetadata(this.compiler.getOutputLocation(), MetadataStore.CONFIGURATIONS_METADATA_PATH);
+		assertThat(configurations.getItems(), hasSize(1));
+		ItemMetadata item = configurations.getItems().get(0);
+		assertThat(item.getType(), equalTo(SampleConfiguration.class.getName()));
+		assertThat(new ArrayList<>(item.getStereotypes()), contains("zebra", "alpha", "middle"));
+	}
+
+	@Test
+	public void beanMethodsNotWrittenWithoutBeanMethods() {
+		compile(SampleComponent.class);
+		CandidateComponentsMetadata configurations =
+				readGeneratedMetadata(this.compiler.getOutputLocation(), MetadataStore.CONFIGURATIONS_METADATA_PATH);
+		assertThat(configurations.getItems(), hasSize(0));
+	}
+
 	private void testComponent(Class<?>... classes) {
 		CandidateComponentsMetadata metadata = compile(classes);
 		for (Class<?> c : classes) {
@@ -257,9 +279,12 @@ public class CandidateComponentsIndexerTests {
 	}
 
 	private CandidateComponentsMetadata readGeneratedMetadata(File outputLocation) {
+		return readGeneratedMetadata(outputLocation, MetadataStore.METADATA_PATH);
+	}
+
+	private CandidateComponentsMetadata readGeneratedMetadata(File outputLocation, String path) {
 		try {
-			File metadataFile = new File(outputLocation,
-					MetadataStore.METADATA_PATH);
+			File metadataFile = new File(outputLocation, path);
 			if (metadataFile.isFile()) {
 				return PropertiesMarshaller.read(new FileInputStream(metadataFile));
 			}
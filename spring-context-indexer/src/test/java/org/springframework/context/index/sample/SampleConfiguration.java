@@ -0,0 +1,48 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.sample;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Test candidate for {@link Configuration} with {@link Bean} methods
+ * declared in non-alphabetical order.
+ */
+@Configuration
+public class SampleConfiguration {
+
+	@Bean
+	public String zebra() {
+		return "zebra";
+	}
+
+	public String notABean() {
+		return "none";
+	}
+
+	@Bean
+	public Integer alpha() {
+		return 1;
+	}
+
+	@SampleBean
+	public Long middle() {
+		return 2L;
+	}
+
+}
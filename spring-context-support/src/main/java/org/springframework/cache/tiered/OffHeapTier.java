@@ -0,0 +1,222 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.tiered;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Far tier of a {@link TieredCache}: serialized values held outside of the
+ * Java heap, bounded by their total size in bytes and evicting the least
+ * recently used entries beyond that capacity. Keys remain on the heap.
+ *
+ * <p>All values share a single direct {@link ByteBuffer} slab of the given
+ * capacity, allocated on first use and divided into fixed-size blocks; each
+ * value occupies as many blocks as it needs, not necessarily adjacent ones.
+ * Blocks are recycled as soon as their entry is removed, so the direct memory
+ * footprint never exceeds the capacity, regardless of how often entries move
+ * between tiers, and does not depend on garbage collection to be released.
+ *
+ * <p>Not thread-safe: to be guarded by the owning cache.
+ *
+ * @since 5.1.21
+ */
+class OffHeapTier {
+
+	/** Default size of the blocks that values are stored in: 128 bytes. */
+	static final int DEFAULT_BLOCK_SIZE = 128;
+
+
+	private final long capacity;
+
+	private final int blockSize;
+
+	private final int blockCount;
+
+	private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+	/** Stack of free block indexes; the first {@code freeCount} elements are valid. */
+	@Nullable
+	private int[] freeBlocks;
+
+	private int freeCount;
+
+	@Nullable
+	private ByteBuffer slab;
+
+
+	/**
+	 * Create a new off-heap tier with the default block size.
+	 * @param capacity the maximum total size of all values in bytes
+	 * (0 indicates no far tier, dropping every value offered)
+	 */
+	OffHeapTier(long capacity) {
+		this(capacity, DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * Create a new off-heap tier.
+	 * @param capacity the maximum total size of all values in bytes, rounded
+	 * down to a multiple of the block size (0 indicates no far tier, dropping
+	 * every value offered)
+	 * @param blockSize the size of the blocks that values are stored in
+	 */
+	OffHeapTier(long capacity, int blockSize) {
+		Assert.isTrue(capacity >= 0 && capacity <= Integer.MAX_VALUE,
+				"Capacity must be between 0 and Integer.MAX_VALUE");
+		Assert.isTrue(blockSize > 0, "Block size must be greater than 0");
+		this.capacity = capacity;
+		this.blockSize = blockSize;
+		this.blockCount = (int) (capacity / blockSize);
+		this.freeCount = this.blockCount;
+	}
+
+
+	/**
+	 * Store the given serialized value, evicting least recently used entries
+	 * as necessary to stay within the capacity.
+	 * @param key the key to store the value for
+	 * @param value the serialized value
+	 * @return the number of entries evicted (including the given entry itself
+	 * if its value exceeds the entire capacity)
+	 */
+	public int put(Object key, byte[] value) {
+		remove(key);
+		int needed = (value.length + this.blockSize - 1) / this.blockSize;
+		if (needed > this.blockCount) {
+			return 1;
+		}
+		int evicted = 0;
+		Iterator<Entry> it = this.entries.values().iterator();
+		while (this.freeCount < needed) {
+			release(it.next());
+			it.remove();
+			evicted++;
+		}
+		ByteBuffer slab = obtainSlab();
+		int[] blocks = new int[needed];
+		for (int i = 0; i < needed; i++) {
+			int block = this.freeBlocks[--this.freeCount];
+			int offset = i * this.blockSize;
+			slab.position(block * this.blockSize);
+			slab.put(value, offset, Math.min(this.blockSize, value.length - offset));
+			blocks[i] = block;
+		}
+		this.entries.put(key, new Entry(blocks, value.length));
+		return evicted;
+	}
+
+	/**
+	 * Remove the entry for the given key, returning its serialized value.
+	 * @param key the key to remove the entry for
+	 * @return the serialized value, or {@code null} if none
+	 */
+	@Nullable
+	public byte[] remove(Object key) {
+		Entry entry = this.entries.remove(key);
+		if (entry == null) {
+			return null;
+		}
+		ByteBuffer slab = obtainSlab();
+		byte[] value = new byte[entry.length];
+		for (int i = 0; i < entry.blocks.length; i++) {
+			int offset = i * this.blockSize;
+			slab.position(entry.blocks[i] * this.blockSize);
+			slab.get(value, offset, Math.min(this.blockSize, value.length - offset));
+		}
+		release(entry);
+		return value;
+	}
+
+	public void clear() {
+		for (Entry entry : this.entries.values()) {
+			release(entry);
+		}
+		this.entries.clear();
+	}
+
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Return the number of bytes occupied by the blocks of all current entries.
+	 */
+	public long getUsedBytes() {
+		return (long) (this.blockCount - this.freeCount) * this.blockSize;
+	}
+
+	/**
+	 * Return the number of bytes of direct memory allocated for this tier:
+	 * 0 before the first value got stored, the block-aligned capacity after.
+	 */
+	public long getAllocatedBytes() {
+		return (this.slab != null ? this.slab.capacity() : 0);
+	}
+
+	public long getCapacity() {
+		return this.capacity;
+	}
+
+	private ByteBuffer obtainSlab() {
+		ByteBuffer slab = this.slab;
+		if (slab == null) {
+			slab = ByteBuffer.allocateDirect(this.blockCount * this.blockSize);
+			int[] freeBlocks = new int[this.blockCount];
+			for (int i = 0; i < this.blockCount; i++) {
+				// Hand out blocks in ascending order
+				freeBlocks[i] = this.blockCount - 1 - i;
+			}
+			this.freeBlocks = freeBlocks;
+			this.slab = slab;
+		}
+		return slab;
+	}
+
+	private void release(Entry entry) {
+		for (int block : entry.blocks) {
+			this.freeBlocks[this.freeCount++] = block;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "OffHeapTier: size=" + this.entries.size() + ", usedBytes=" + getUsedBytes() +
+				", capacity=" + this.capacity;
+	}
+
+
+	/**
+	 * A stored value: the blocks holding it, in order, and its length in bytes.
+	 */
+	private static final class Entry {
+
+		final int[] blocks;
+
+		final int length;
+
+		Entry(int[] blocks, int length) {
+			this.blocks = blocks;
+			this.length = length;
+		}
+	}
+
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.tiered;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.core.serializer.support.SerializationDelegate;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Two-tier {@link org.springframework.cache.Cache} implementation: a small,
+ * bounded on-heap near tier in front of a larger off-heap far tier.
+ *
+ * <p>The near tier holds value references, evicting the least recently used
+ * entries beyond its capacity. Evicted entries are not dropped but demoted:
+ * they get serialized through the given {@link SerializationDelegate} and moved
+ * to the far tier, which holds them outside of the Java heap in a single direct
+ * buffer of the far capacity, allocated on the first demotion and recycled
+ * block by block for the lifetime of the cache. A lookup that is answered by
+ * the far tier promotes the entry back to the near tier. Entries only leave
+ * the cache once the far tier runs out of capacity, or if their value turns
+ * out not to be serializable on demotion.
+ *
+ * <p>Hits per tier, misses, promotions, demotions and evictions are recorded
+ * and available through {@link #getStatistics()}.
+ *
+ * <p>Moving entries between tiers is guarded by a lock per cache, so this
+ * implementation is best suited for values that are expensive to compute
+ * but accessed at moderate concurrency. Note that the far tier is subject
+ * to the JVM's limit on direct memory ({@code -XX:MaxDirectMemorySize}).
+ *
+ * @since 5.1.21
+ * @see TieredCacheManager
+ */
+public class TieredCache extends AbstractValueAdaptingCache {
+
+	/** Default capacity of the near tier: 1000 entries. */
+	public static final int DEFAULT_NEAR_CAPACITY = 1000;
+
+	/** Default capacity of the far tier: 64 MB. */
+	public static final long DEFAULT_FAR_CAPACITY = 64 * 1024 * 1024;
+
+
+	private final String name;
+
+	private final int nearCapacity;
+
+	private final LinkedHashMap<Object, Object> nearTier = new LinkedHashMap<>(64, 0.75f, true);
+
+	private final OffHeapTier farTier;
+
+	private final SerializationDelegate serialization;
+
+	private final ConcurrentMap<Object, FutureTask<Object>> loadingTasks = new ConcurrentHashMap<>(16);
+
+	private final LongAdder nearHitCount = new LongAdder();
+
+	private final LongAdder farHitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder promotionCount = new LongAdder();
+
+	private final LongAdder demotionCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+
+	/**
+	 * Create a new TieredCache with the specified name and default capacities,
+	 * serializing demoted values with standard Java serialization.
+	 * @param name the name of the cache
+	 */
+	public TieredCache(String name) {
+		this(name, DEFAULT_NEAR_CAPACITY, DEFAULT_FAR_CAPACITY,
+				new SerializationDelegate(TieredCache.class.getClassLoader()), true);
+	}
+
+	/**
+	 * Create a new TieredCache with the specified name and capacities.
+	 * @param name the name of the cache
+	 * @param nearCapacity the maximum number of entries in the near tier
+	 * @param farCapacity the maximum total size of the serialized values
+	 * in the far tier, in bytes, at most {@link Integer#MAX_VALUE} (0 indicates
+	 * no far tier, evicting entries right away when they leave the near tier)
+	 * @param serialization the {@link SerializationDelegate} to use for
+	 * values moving between the tiers
+	 * @param allowNullValues whether to accept and convert {@code null}
+	 * values for this cache
+	 */
+	public TieredCache(String name, int nearCapacity, long farCapacity,
+			SerializationDelegate serialization, boolean allowNullValues) {
+
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.isTrue(nearCapacity > 0, "Near capacity must be greater than 0");
+		Assert.isTrue(farCapacity >= 0 && farCapacity <= Integer.MAX_VALUE,
+				"Far capacity must be between 0 and Integer.MAX_VALUE");
+		Assert.notNull(serialization, "SerializationDelegate must not be null");
+		this.name = name;
+		this.nearCapacity = nearCapacity;
+		this.farTier = new OffHeapTier(farCapacity);
+		this.serialization = serialization;
+	}
+
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	/**
+	 * This implementation returns the TieredCache itself,
+	 * since its tiers are not exposed individually.
+	 */
+	@Override
+	public final Object getNativeCache() {
+		return this;
+	}
+
+	/**
+	 * Return the maximum number of entries in the near tier.
+	 */
+	public final int getNearCapacity() {
+		return this.nearCapacity;
+	}
+
+	/**
+	 * Return the maximum total size of the serialized values in the far tier, in bytes.
+	 */
+	public final long getFarCapacity() {
+		return this.farTier.getCapacity();
+	}
+
+	@Override
+	@Nullable
+	protected Object lookup(Object key) {
+		synchronized (this.nearTier) {
+			Object storeValue = this.nearTier.get(key);
+			if (storeValue != null) {
+				this.nearHitCount.increment();
+				return storeValue;
+			}
+			storeValue = promote(key);
+			if (storeValue != null) {
+				this.farHitCount.increment();
+				return storeValue;
+			}
+		}
+		this.missCount.increment();
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		Object storeValue = lookup(key);
+		if (storeValue != null) {
+			return (T) fromStoreValue(storeValue);
+		}
+		FutureTask<Object> task = new FutureTask<>(() -> toStoreValue(valueLoader.call()));
+		FutureTask<Object> existingTask = this.loadingTasks.putIfAbsent(key, task);
+		if (existingTask == null) {
+			try {
+				task.run();
+				storeValue = getLoadedValue(key, task, valueLoader);
+				putStoreValue(key, storeValue);
+			}
+			finally {
+				this.loadingTasks.remove(key, task);
+			}
+		}
+		else {
+			storeValue = getLoadedValue(key, existingTask, valueLoader);
+		}
+		return (T) fromStoreValue(storeValue);
+	}
+
+	private Object getLoadedValue(Object key, FutureTask<Object> task, Callable<?> valueLoader) {
+		try {
+			return task.get();
+		}
+		catch (ExecutionException ex) {
+			throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		putStoreValue(key, toStoreValue(value));
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		Object storeValue = toStoreValue(value);
+		synchronized (this.nearTier) {
+			Object existing = this.nearTier.get(key);
+			if (existing == null) {
+				existing = promote(key);
+			}
+			if (existing != null) {
+				return toValueWrapper(existing);
+			}
+			putStoreValue(key, storeValue);
+			return null;
+		}
+	}
+
+	@Override
+	public void evict(Object key) {
+		synchronized (this.nearTier) {
+			this.nearTier.remove(key);
+			this.farTier.remove(key);
+		}
+	}
+
+	@Override
+	public void clear() {
+		synchronized (this.nearTier) {
+			this.nearTier.clear();
+			this.farTier.clear();
+		}
+	}
+
+	/**
+	 * Return a snapshot of the current statistics of this cache.
+	 */
+	public TieredCacheStatistics getStatistics() {
+		int nearSize;
+		int farSize;
+		long farUsedBytes;
+		synchronized (this.nearTier) {
+			nearSize = this.nearTier.size();
+			farSize = this.farTier.size();
+			farUsedBytes = this.farTier.getUsedBytes();
+		}
+		return new TieredCacheStatistics(this.nearHitCount.sum(), this.farHitCount.sum(), this.missCount.sum(),
+				this.promotionCount.sum(), this.demotionCount.sum(), this.evictionCount.sum(),
+				nearSize, farSize, farUsedBytes);
+	}
+
+
+	private void putStoreValue(Object key, Object storeValue) {
+		synchronized (this.nearTier) {
+			this.farTier.remove(key);
+			this.nearTier.put(key, storeValue);
+			demoteIfNecessary();
+		}
+	}
+
+	/**
+	 * Move the entry for the given key from the far tier to the near tier.
+	 * To be called with the near tier lock held.
+	 * @return the promoted store value, or {@code null} if not in the far tier
+	 */
+	@Nullable
+	private Object promote(Object key) {
+		byte[] serializedValue = this.farTier.remove(key);
+		if (serializedValue == null) {
+			return null;
+		}
+		Object storeValue = deserializeValue(serializedValue);
+		if (storeValue == null) {
+			this.evictionCount.increment();
+			return null;
+		}
+		this.nearTier.put(key, storeValue);
+		this.promotionCount.increment();
+		demoteIfNecessary();
+		return storeValue;
+	}
+
+	/**
+	 * Move the least recently used entries beyond the near tier's capacity
+	 * to the far tier. To be called with the near tier lock held.
+	 */
+	private void demoteIfNecessary() {
+		Iterator<Map.Entry<Object, Object>> it = this.nearTier.entrySet().iterator();
+		while (this.nearTier.size() > this.nearCapacity) {
+			Map.Entry<Object, Object> eldest = it.next();
+			it.remove();
+			byte[] serializedValue = serializeValue(eldest.getValue());
+			if (serializedValue != null) {
+				this.demotionCount.increment();
+				this.evictionCount.add(this.farTier.put(eldest.getKey(), serializedValue));
+			}
+			else {
+				this.evictionCount.increment();
+			}
+		}
+	}
+
+	@Nullable
+	private byte[] serializeValue(Object storeValue) {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+			this.serialization.serialize(storeValue, out);
+			return out.toByteArray();
+		}
+		catch (IOException | IllegalArgumentException ex) {
+			// Not serializable: drop the entry instead of demoting it.
+			return null;
+		}
+	}
+
+	@Nullable
+	private Object deserializeValue(byte[] serializedValue) {
+		try {
+			return this.serialization.deserialize(new ByteArrayInputStream(serializedValue));
+		}
+		catch (IOException ex) {
+			// Not deserializable anymore (e.g. class loader changed): treat as evicted.
+			return null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "TieredCache '" + this.name + "': " + getStatistics();
+	}
+
+}
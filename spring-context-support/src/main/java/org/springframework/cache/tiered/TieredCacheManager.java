@@ -0,0 +1,210 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.tiered;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.serializer.support.SerializationDelegate;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} implementation that lazily builds {@link TieredCache}
+ * instances for each {@link #getCache} request. Also supports a 'static' mode where
+ * the set of cache names is pre-defined through {@link #setCacheNames}, with no
+ * dynamic creation of further cache regions at runtime.
+ *
+ * <p>The capacities of the near and far tier apply to each cache individually.
+ * Values moving to the far tier are serialized with standard Java serialization,
+ * resolving classes against the bean class loader on deserialization.
+ *
+ * @since 5.1.21
+ * @see TieredCache
+ */
+public class TieredCacheManager implements CacheManager, BeanClassLoaderAware {
+
+	private final ConcurrentMap<String, Cache> cacheMap = new ConcurrentHashMap<>(16);
+
+	private boolean dynamic = true;
+
+	private int nearCapacity = TieredCache.DEFAULT_NEAR_CAPACITY;
+
+	private long farCapacity = TieredCache.DEFAULT_FAR_CAPACITY;
+
+	private boolean allowNullValues = true;
+
+	private SerializationDelegate serialization =
+			new SerializationDelegate(TieredCacheManager.class.getClassLoader());
+
+
+	/**
+	 * Construct a dynamic TieredCacheManager,
+	 * lazily creating cache instances as they are being requested.
+	 */
+	public TieredCacheManager() {
+	}
+
+	/**
+	 * Construct a static TieredCacheManager,
+	 * managing caches for the specified cache names only.
+	 */
+	public TieredCacheManager(String... cacheNames) {
+		setCacheNames(Arrays.asList(cacheNames));
+	}
+
+
+	/**
+	 * Specify the set of cache names for this CacheManager's 'static' mode.
+	 * <p>The number of caches and their names will be fixed after a call to this method,
+	 * with no creation of further cache regions at runtime.
+	 * <p>Calling this with a {@code null} collection argument resets the
+	 * mode to 'dynamic', allowing for further creation of caches again.
+	 */
+	public void setCacheNames(@Nullable Collection<String> cacheNames) {
+		if (cacheNames != null) {
+			for (String name : cacheNames) {
+				this.cacheMap.put(name, createTieredCache(name));
+			}
+			this.dynamic = false;
+		}
+		else {
+			this.dynamic = true;
+		}
+	}
+
+	/**
+	 * Set the maximum number of entries in the near (on-heap) tier of each cache.
+	 * <p>Default is 1000.
+	 * <p>Note: A change of the capacity will reset all existing caches, if any.
+	 */
+	public void setNearCapacity(int nearCapacity) {
+		Assert.isTrue(nearCapacity > 0, "Near capacity must be greater than 0");
+		if (nearCapacity != this.nearCapacity) {
+			this.nearCapacity = nearCapacity;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the maximum number of entries in the near tier of each cache.
+	 */
+	public int getNearCapacity() {
+		return this.nearCapacity;
+	}
+
+	/**
+	 * Set the maximum total size in bytes of the serialized values in the far
+	 * (off-heap) tier of each cache, or 0 to evict entries leaving the near tier.
+	 * <p>Default is 64 MB, allocated as a single direct buffer per cache on its
+	 * first demotion. Keep the sum across all caches below the JVM's direct
+	 * memory limit.
+	 * <p>Note: A change of the capacity will reset all existing caches, if any;
+	 * the direct buffers of replaced caches are released once garbage-collected.
+	 */
+	public void setFarCapacity(long farCapacity) {
+		Assert.isTrue(farCapacity >= 0 && farCapacity <= Integer.MAX_VALUE,
+				"Far capacity must be between 0 and Integer.MAX_VALUE");
+		if (farCapacity != this.farCapacity) {
+			this.farCapacity = farCapacity;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the maximum total size in bytes of the far tier of each cache.
+	 */
+	public long getFarCapacity() {
+		return this.farCapacity;
+	}
+
+	/**
+	 * Specify whether to accept and convert {@code null} values for all caches
+	 * in this cache manager.
+	 * <p>Default is "true". An internal holder object will be used to store
+	 * user-level {@code null}s.
+	 * <p>Note: A change of the null-value setting will reset all existing caches,
+	 * if any, to reconfigure them with the new null-value requirement.
+	 */
+	public void setAllowNullValues(boolean allowNullValues) {
+		if (allowNullValues != this.allowNullValues) {
+			this.allowNullValues = allowNullValues;
+			// Need to recreate all Cache instances with the new null-value configuration...
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return whether this cache manager accepts and converts {@code null} values
+	 * for all of its caches.
+	 */
+	public boolean isAllowNullValues() {
+		return this.allowNullValues;
+	}
+
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.serialization = new SerializationDelegate(classLoader);
+		// Need to recreate all Cache instances with the new ClassLoader...
+		recreateCaches();
+	}
+
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return Collections.unmodifiableSet(this.cacheMap.keySet());
+	}
+
+	@Override
+	@Nullable
+	public Cache getCache(String name) {
+		Cache cache = this.cacheMap.get(name);
+		if (cache == null && this.dynamic) {
+			synchronized (this.cacheMap) {
+				cache = this.cacheMap.get(name);
+				if (cache == null) {
+					cache = createTieredCache(name);
+					this.cacheMap.put(name, cache);
+				}
+			}
+		}
+		return cache;
+	}
+
+	private void recreateCaches() {
+		for (Map.Entry<String, Cache> entry : this.cacheMap.entrySet()) {
+			entry.setValue(createTieredCache(entry.getKey()));
+		}
+	}
+
+	/**
+	 * Create a new TieredCache instance for the specified cache name.
+	 * @param name the name of the cache
+	 * @return the TieredCache (or a decorator thereof)
+	 */
+	protected Cache createTieredCache(String name) {
+		return new TieredCache(name, this.nearCapacity, this.farCapacity, this.serialization, this.allowNullValues);
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.tiered;
+
+/**
+ * Point-in-time snapshot of the statistics of a {@link TieredCache},
+ * broken down per tier.
+ *
+ * @since 5.1.21
+ * @see TieredCache#getStatistics()
+ */
+public final class TieredCacheStatistics {
+
+	private final long nearHitCount;
+
+	private final long farHitCount;
+
+	private final long missCount;
+
+	private final long promotionCount;
+
+	private final long demotionCount;
+
+	private final long evictionCount;
+
+	private final int nearSize;
+
+	private final int farSize;
+
+	private final long farUsedBytes;
+
+
+	TieredCacheStatistics(long nearHitCount, long farHitCount, long missCount, long promotionCount,
+			long demotionCount, long evictionCount, int nearSize, int farSize, long farUsedBytes) {
+
+		this.nearHitCount = nearHitCount;
+		this.farHitCount = farHitCount;
+		this.missCount = missCount;
+		this.promotionCount = promotionCount;
+		this.demotionCount = demotionCount;
+		this.evictionCount = evictionCount;
+		this.nearSize = nearSize;
+		this.farSize = farSize;
+		this.farUsedBytes = farUsedBytes;
+	}
+
+
+	/**
+	 * Return the number of lookups answered by the near (on-heap) tier.
+	 */
+	public long getNearHitCount() {
+		return this.nearHitCount;
+	}
+
+	/**
+	 * Return the number of lookups answered by the far (off-heap) tier.
+	 */
+	public long getFarHitCount() {
+		return this.farHitCount;
+	}
+
+	/**
+	 * Return the number of lookups not answered by either tier.
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Return the number of entries moved from the far tier to the near tier.
+	 */
+	public long getPromotionCount() {
+		return this.promotionCount;
+	}
+
+	/**
+	 * Return the number of entries moved from the near tier to the far tier.
+	 */
+	public long getDemotionCount() {
+		return this.demotionCount;
+	}
+
+	/**
+	 * Return the number of entries dropped from the cache altogether,
+	 * either for lack of far tier capacity or for not being serializable.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount;
+	}
+
+	/**
+	 * Return the number of entries in the near tier.
+	 */
+	public int getNearSize() {
+		return this.nearSize;
+	}
+
+	/**
+	 * Return the number of entries in the far tier.
+	 */
+	public int getFarSize() {
+		return this.farSize;
+	}
+
+	/**
+	 * Return the total size of the serialized values in the far tier, in bytes.
+	 */
+	public long getFarUsedBytes() {
+		return this.farUsedBytes;
+	}
+
+	/**
+	 * Return the ratio of lookups answered by either tier, between 0 and 1.
+	 */
+	public double getHitRatio() {
+		long hits = this.nearHitCount + this.farHitCount;
+		long lookups = hits + this.missCount;
+		return (lookups > 0 ? (double) hits / lookups : 0);
+	}
+
+
+	@Override
+	public String toString() {
+		return "nearHits=" + this.nearHitCount + ", farHits=" + this.farHitCount + ", misses=" + this.missCount +
+				", promotions=" + this.promotionCount + ", demotions=" + this.demotionCount +
+				", evictions=" + this.evictionCount + ", nearSize=" + this.nearSize + ", farSize=" + this.farSize +
+				", farUsedBytes=" + this.farUsedBytes;
+	}
+
+}
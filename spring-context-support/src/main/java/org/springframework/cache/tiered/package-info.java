@@ -0,0 +1,10 @@
+/**
+ * Two-tier cache with a bounded on-heap near tier and an off-heap far tier,
+ * allowing to set up tiered caches within Spring's cache abstraction.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.cache.tiered;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.tiered;
+
+import org.junit.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TieredCacheManager}.
+ */
+public class TieredCacheManagerTests {
+
+	@Test
+	public void testDynamicMode() {
+		CacheManager cm = new TieredCacheManager();
+		Cache cache1 = cm.getCache("c1");
+		assertTrue(cache1 instanceof TieredCache);
+		Cache cache1again = cm.getCache("c1");
+		assertSame(cache1again, cache1);
+		Cache cache2 = cm.getCache("c2");
+		assertTrue(cache2 instanceof TieredCache);
+		assertNotSame(cache1, cache2);
+
+		cache1.put("key1", "value1");
+		assertEquals("value1", cache1.get("key1").get());
+		cache1.put("key2", 2);
+		assertEquals(2, cache1.get("key2").get());
+		cache1.put("key3", null);
+		assertNull(cache1.get("key3").get());
+		cache1.evict("key3");
+		assertNull(cache1.get("key3"));
+	}
+
+	@Test
+	public void testStaticMode() {
+		TieredCacheManager cm = new TieredCacheManager("c1", "c2");
+		Cache cache1 = cm.getCache("c1");
+		assertTrue(cache1 instanceof TieredCache);
+		Cache cache2 = cm.getCache("c2");
+		assertTrue(cache2 instanceof TieredCache);
+		assertNull(cm.getCache("c3"));
+
+		cm.setCacheNames(null);
+		assertTrue(cm.getCache("c3") instanceof TieredCache);
+	}
+
+	@Test
+	public void changeCapacitiesRecreateCaches() {
+		TieredCacheManager cm = new TieredCacheManager("c1");
+		TieredCache cache1 = (TieredCache) cm.getCache("c1");
+		assertEquals(TieredCache.DEFAULT_NEAR_CAPACITY, cache1.getNearCapacity());
+		assertEquals(TieredCache.DEFAULT_FAR_CAPACITY, cache1.getFarCapacity());
+
+		cm.setNearCapacity(10);
+		cm.setFarCapacity(4096);
+		TieredCache cache1x = (TieredCache) cm.getCache("c1");
+		assertNotSame(cache1x, cache1);
+		assertEquals(10, cache1x.getNearCapacity());
+		assertEquals(4096, cache1x.getFarCapacity());
+	}
+
+	@Test
+	public void changeAllowNullValuesRecreateCaches() {
+		TieredCacheManager cm = new TieredCacheManager("c1");
+		Cache cache1 = cm.getCache("c1");
+		cache1.put("key", null);
+
+		cm.setAllowNullValues(false);
+		Cache cache1x = cm.getCache("c1");
+		assertNotSame(cache1x, cache1);
+		assertNull(cache1x.get("key"));
+		try {
+			cache1x.put("key", null);
+			fail("Should have failed to put null value");
+		}
+		catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.tiered;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cache.AbstractValueAdaptingCacheTests;
+import org.springframework.cache.Cache;
+import org.springframework.core.serializer.support.SerializationDelegate;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TieredCache}.
+ */
+public class TieredCacheTests extends AbstractValueAdaptingCacheTests<TieredCache> {
+
+	private TieredCache cache;
+
+	private TieredCache cacheNoNull;
+
+
+	@Before
+	public void setUp() {
+		this.cache = new TieredCache(CACHE_NAME);
+		this.cacheNoNull = new TieredCache(CACHE_NAME_NO_NULL, TieredCache.DEFAULT_NEAR_CAPACITY,
+				TieredCache.DEFAULT_FAR_CAPACITY, new SerializationDelegate(getClass().getClassLoader()), false);
+	}
+
+	@Override
+	protected TieredCache getCache() {
+		return getCache(true);
+	}
+
+	@Override
+	protected TieredCache getCache(boolean allowNull) {
+		return (allowNull ? this.cache : this.cacheNoNull);
+	}
+
+	@Override
+	protected Object getNativeCache() {
+		return this.cache;
+	}
+
+
+	@Test
+	public void demoteLeastRecentlyUsedEntries() {
+		TieredCache cache = createCache(2, 1024);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.get("a");
+		cache.put("c", "3");
+
+		TieredCacheStatistics stats = cache.getStatistics();
+		assertEquals(2, stats.getNearSize());
+		assertEquals(1, stats.getFarSize());
+		assertEquals(1, stats.getDemotionCount());
+		assertTrue(stats.getFarUsedBytes() > 0);
+		assertEquals(1, stats.getNearHitCount());
+	}
+
+	@Test
+	public void promoteOnFarHit() {
+		TieredCache cache = createCache(1, 1024);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		assertEquals("1", cache.get("a", String.class));
+
+		TieredCacheStatistics stats = cache.getStatistics();
+		assertEquals(1, stats.getFarHitCount());
+		assertEquals(1, stats.getPromotionCount());
+		assertEquals(2, stats.getDemotionCount());
+		assertEquals(1, stats.getNearSize());
+		assertEquals(1, stats.getFarSize());
+		assertEquals("2", cache.get("b", String.class));
+		assertEquals(2, cache.getStatistics().getFarHitCount());
+	}
+
+	@Test
+	public void nullValueSurvivesDemotion() {
+		TieredCache cache = createCache(1, 1024);
+		cache.put("a", null);
+		cache.put("b", "2");
+		Cache.ValueWrapper wrapper = cache.get("a");
+		assertNotNull(wrapper);
+		assertNull(wrapper.get());
+		assertEquals(1, cache.getStatistics().getFarHitCount());
+	}
+
+	@Test
+	public void missesAreRecorded() {
+		TieredCache cache = createCache(1, 1024);
+		assertNull(cache.get("a"));
+		cache.put("a", "1");
+		cache.get("a");
+
+		TieredCacheStatistics stats = cache.getStatistics();
+		assertEquals(1, stats.getMissCount());
+		assertEquals(1, stats.getNearHitCount());
+		assertEquals(0.5, stats.getHitRatio(), 0.0);
+	}
+
+	@Test
+	public void evictFromFarTierWhenFull() {
+		TieredCache cache = createCache(1, 512);
+		for (int i = 0; i < 20; i++) {
+			cache.put(i, "value" + i);
+		}
+
+		TieredCacheStatistics stats = cache.getStatistics();
+		assertTrue(stats.getEvictionCount() > 0);
+		assertTrue(stats.getFarUsedBytes() <= 512);
+		assertEquals(20, stats.getNearSize() + stats.getFarSize() + stats.getEvictionCount());
+		assertNull(cache.get(0));
+		assertEquals("value19", cache.get(19, String.class));
+	}
+
+	@Test
+	public void directMemoryStaysBoundedUnderChurn() {
+		BufferPoolMXBean directPool = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+				.filter(pool -> pool.getName().equals("direct")).findFirst().get();
+		long directMemoryBefore = directPool.getMemoryUsed();
+		TieredCache cache = createCache(10, 64 * 1024);
+		for (int i = 0; i < 20000; i++) {
+			cache.get(i % 50, () -> new byte[1000]);
+		}
+
+		TieredCacheStatistics stats = cache.getStatistics();
+		assertTrue(stats.getPromotionCount() > 10000);
+		assertEquals(0, stats.getEvictionCount());
+		assertEquals(50, stats.getNearSize() + stats.getFarSize());
+		assertTrue(stats.getFarUsedBytes() <= 64 * 1024);
+		assertTrue(directPool.getMemoryUsed() - directMemoryBefore <= 64 * 1024);
+	}
+
+	@Test
+	public void evictNonSerializableValueOnDemotion() {
+		TieredCache cache = createCache(1, 1024);
+		Object value = new Object();
+		cache.put("a", value);
+		cache.put("b", "2");
+
+		TieredCacheStatistics stats = cache.getStatistics();
+		assertEquals(0, stats.getDemotionCount());
+		assertEquals(1, stats.getEvictionCount());
+		assertEquals(0, stats.getFarSize());
+		assertNull(cache.get("a"));
+	}
+
+	@Test
+	public void putReplacesFarTierEntry() {
+		TieredCache cache = createCache(1, 1024);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.put("a", "3");
+		assertEquals("3", cache.get("a", String.class));
+		assertEquals(1, cache.getStatistics().getNearHitCount());
+	}
+
+	@Test
+	public void putIfAbsentConsidersFarTier() {
+		TieredCache cache = createCache(1, 1024);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		Cache.ValueWrapper wrapper = cache.putIfAbsent("a", "3");
+		assertNotNull(wrapper);
+		assertEquals("1", wrapper.get());
+		assertEquals(1, cache.getStatistics().getPromotionCount());
+	}
+
+	@Test
+	public void evictAndClearBothTiers() {
+		TieredCache cache = createCache(1, 1024);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.put("c", "3");
+		cache.evict("a");
+		assertNull(cache.get("a"));
+		assertEquals(1, cache.getStatistics().getFarSize());
+
+		cache.clear();
+		TieredCacheStatistics stats = cache.getStatistics();
+		assertEquals(0, stats.getNearSize());
+		assertEquals(0, stats.getFarSize());
+		assertEquals(0, stats.getFarUsedBytes());
+	}
+
+	@Test
+	public void withoutFarTier() {
+		TieredCache cache = createCache(1, 0);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		assertNull(cache.get("a"));
+		assertEquals(1, cache.getStatistics().getEvictionCount());
+	}
+
+	@Test
+	public void concurrentLoadersInvokedOnce() throws Exception {
+		TieredCache cache = createCache(10, 1024);
+		AtomicInteger counter = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread thread = new Thread(() -> cache.get("a", () -> {
+			started.countDown();
+			release.await();
+			return counter.incrementAndGet();
+		}));
+		thread.start();
+		started.await();
+		Thread waiter = new Thread(() -> assertEquals(Integer.valueOf(1), cache.get("a", counter::incrementAndGet)));
+		waiter.start();
+		release.countDown();
+		thread.join();
+		waiter.join();
+		assertEquals(1, counter.get());
+		assertEquals(Integer.valueOf(1), cache.get("a", Integer.class));
+	}
+
+
+	private TieredCache createCache(int nearCapacity, long farCapacity) {
+		return new TieredCache(CACHE_NAME, nearCapacity, farCapacity,
+				new SerializationDelegate(getClass().getClassLoader()), true);
+	}
+
+}
@@ -43,6 +43,7 @@ import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.context.expression.SharedExpressionCache;
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.lang.Nullable;
@@ -229,6 +230,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 						"Register a CacheManager bean or remove the @EnableCaching annotation from your configuration.");
 			}
 		}
+		if (this.beanFactory != null) {
+			this.evaluator.setSharedExpressionCache(
+					this.beanFactory.getBeanProvider(SharedExpressionCache.class).getIfUnique());
+		}
 		this.initialized = true;
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,7 +21,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.springframework.context.expression.MethodBasedEvaluationContext;
-import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.context.expression.MethodParameterIndex;
 import org.springframework.lang.Nullable;
 
 /**
@@ -48,9 +48,9 @@ class CacheEvaluationContext extends MethodBasedEvaluationContext {
 
 
 	CacheEvaluationContext(Object rootObject, Method method, Object[] arguments,
-			ParameterNameDiscoverer parameterNameDiscoverer) {
+			MethodParameterIndex parameterIndex) {
 
-		super(rootObject, method, arguments, parameterNameDiscoverer);
+		super(rootObject, method, arguments, parameterIndex);
 	}
 
 
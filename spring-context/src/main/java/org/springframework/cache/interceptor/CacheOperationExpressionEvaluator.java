@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -86,7 +86,7 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 		CacheExpressionRootObject rootObject = new CacheExpressionRootObject(
 				caches, method, args, target, targetClass);
 		CacheEvaluationContext evaluationContext = new CacheEvaluationContext(
-				rootObject, targetMethod, args, getParameterNameDiscoverer());
+				rootObject, targetMethod, args, getParameterIndex(targetMethod));
 		if (result == RESULT_UNAVAILABLE) {
 			evaluationContext.addUnavailableVariable(RESULT_VARIABLE);
 		}
@@ -101,16 +101,16 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 
 	@Nullable
 	public Object key(String keyExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
-		return getExpression(this.keyCache, methodKey, keyExpression).getValue(evalContext);
+		return getValue(getExpression(this.keyCache, methodKey, keyExpression), evalContext, null);
 	}
 
 	public boolean condition(String conditionExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
-		return (Boolean.TRUE.equals(getExpression(this.conditionCache, methodKey, conditionExpression).getValue(
+		return (Boolean.TRUE.equals(getValue(getExpression(this.conditionCache, methodKey, conditionExpression),
 				evalContext, Boolean.class)));
 	}
 
 	public boolean unless(String unlessExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
-		return (Boolean.TRUE.equals(getExpression(this.unlessCache, methodKey, unlessExpression).getValue(
+		return (Boolean.TRUE.equals(getValue(getExpression(this.unlessCache, methodKey, unlessExpression),
 				evalContext, Boolean.class)));
 	}
 
@@ -121,6 +121,7 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 		this.keyCache.clear();
 		this.conditionCache.clear();
 		this.unlessCache.clear();
+		clearParameterIndexCache();
 	}
 
 }
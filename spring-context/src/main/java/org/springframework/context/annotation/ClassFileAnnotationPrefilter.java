@@ -0,0 +1,164 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Cheap pre-check for class files during classpath scanning: walks the constant
+ * pool of a class file and detects whether it declares any annotation attributes
+ * at all, without building full ASM-based metadata for it.
+ *
+ * <p>The check is conservative: it only ever reports {@code false} for class files
+ * which definitely do not carry any (visible or invisible) annotations. Unknown
+ * constant pool entries or malformed content lead to {@code true}, leaving the
+ * actual decision to the regular metadata-based filters.
+ *
+ * <p>Class files which pass the check can be parsed from the content read here,
+ * via {@link org.springframework.core.type.classreading.SimpleMetadataReaderFactory#getMetadataReader(Resource, byte[])},
+ * so that their content is not read twice.
+ *
+ * @since 5.1.21
+ * @see ClassPathScanningCandidateComponentProvider#setScanExecutor
+ */
+final class ClassFileAnnotationPrefilter {
+
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS =
+			"RuntimeVisibleAnnotations".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] RUNTIME_INVISIBLE_ANNOTATIONS =
+			"RuntimeInvisibleAnnotations".getBytes(StandardCharsets.US_ASCII);
+
+
+	private ClassFileAnnotationPrefilter() {
+	}
+
+
+	/**
+	 * Determine whether the class file behind the given resource may declare
+	 * annotations, i.e. whether it needs to be introspected any further.
+	 * @param resource the class file resource
+	 * @return {@code false} if the class file does not carry any annotations,
+	 * {@code true} if it might
+	 * @throws IOException in case of I/O errors when reading the resource
+	 */
+	static boolean mayHaveAnnotations(Resource resource) throws IOException {
+		return mayHaveAnnotations(readContent(resource));
+	}
+
+	/**
+	 * Read the content of the given class file resource.
+	 * @param resource the class file resource
+	 * @return the class file content
+	 * @throws IOException in case of I/O errors when reading the resource
+	 */
+	static byte[] readContent(Resource resource) throws IOException {
+		try (InputStream is = resource.getInputStream()) {
+			return StreamUtils.copyToByteArray(is);
+		}
+	}
+
+	/**
+	 * Determine whether the given class file content may declare annotations.
+	 * @param content the class file content
+	 * @return {@code false} if the class file does not carry any annotations,
+	 * {@code true} if it might
+	 */
+	static boolean mayHaveAnnotations(byte[] content) {
+		if (content.length < 10 || readInt(content, 0) != MAGIC) {
+			return true;
+		}
+		int count = readUnsignedShort(content, 8);
+		int offset = 10;
+		try {
+			for (int i = 1; i < count; i++) {
+				int tag = content[offset] & 0xFF;
+				switch (tag) {
+					case 1:  // Utf8
+						int length = readUnsignedShort(content, offset + 1);
+						if (matches(content, offset + 3, length, RUNTIME_VISIBLE_ANNOTATIONS) ||
+								matches(content, offset + 3, length, RUNTIME_INVISIBLE_ANNOTATIONS)) {
+							return true;
+						}
+						offset += 3 + length;
+						break;
+					case 3:  // Integer
+					case 4:  // Float
+					case 9:  // Fieldref
+					case 10:  // Methodref
+					case 11:  // InterfaceMethodref
+					case 12:  // NameAndType
+					case 17:  // Dynamic
+					case 18:  // InvokeDynamic
+						offset += 5;
+						break;
+					case 5:  // Long
+					case 6:  // Double
+						offset += 9;
+						i++;
+						break;
+					case 7:  // Class
+					case 8:  // String
+					case 16:  // MethodType
+					case 19:  // Module
+					case 20:  // Package
+						offset += 3;
+						break;
+					case 15:  // MethodHandle
+						offset += 4;
+						break;
+					default:
+						return true;
+				}
+			}
+		}
+		catch (ArrayIndexOutOfBoundsException ex) {
+			return true;
+		}
+		return false;
+	}
+
+	private static boolean matches(byte[] content, int offset, int length, byte[] candidate) {
+		if (length != candidate.length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (content[offset + i] != candidate[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int readUnsignedShort(byte[] content, int offset) {
+		return ((content[offset] & 0xFF) << 8) | (content[offset + 1] & 0xFF);
+	}
+
+	private static int readInt(byte[] content, int offset) {
+		return ((content[offset] & 0xFF) << 24) | ((content[offset + 1] & 0xFF) << 16) |
+				((content[offset + 2] & 0xFF) << 8) | (content[offset + 3] & 0xFF);
+	}
+
+
+}
@@ -52,6 +52,8 @@ import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanNameGenerator;
 import org.springframework.context.annotation.ConfigurationCondition.ConfigurationPhase;
 import org.springframework.context.annotation.DeferredImportSelector.Group;
+import org.springframework.context.index.CandidateComponentsIndex;
+import org.springframework.context.index.CandidateComponentsIndexLoader;
 import org.springframework.core.NestedIOException;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.Ordered;
@@ -132,6 +134,9 @@ class ConfigurationClassParser {
 
 	private final ConditionEvaluator conditionEvaluator;
 
+	@Nullable
+	private final CandidateComponentsIndex componentsIndex;
+
 	private final Map<ConfigurationClass, ConfigurationClass> configurationClasses = new LinkedHashMap<>();
 
 	private final Map<String, ConfigurationClass> knownSuperclasses = new HashMap<>();
@@ -159,6 +164,7 @@ class ConfigurationClassParser {
 		this.componentScanParser = new ComponentScanAnnotationParser(
 				environment, resourceLoader, componentScanBeanNameGenerator, registry);
 		this.conditionEvaluator = new ConditionEvaluator(registry, environment, resourceLoader);
+		this.componentsIndex = CandidateComponentsIndexLoader.loadIndex(resourceLoader.getClassLoader());
 	}
 
 
@@ -394,27 +400,31 @@ class ConfigurationClassParser {
 		AnnotationMetadata original = sourceClass.getMetadata();
 		Set<MethodMetadata> beanMethods = original.getAnnotatedMethods(Bean.class.getName());
 		if (beanMethods.size() > 1 && original instanceof StandardAnnotationMetadata) {
-			// Try reading the class file via ASM for deterministic declaration order...
 			// Unfortunately, the JVM's standard reflection returns methods in arbitrary
 			// order, even between different runs of the same application on the same JVM.
+			// Check the declaration order recorded at build time first, if available...
+			if (this.componentsIndex != null) {
+				List<String> indexedMethodNames = this.componentsIndex.getBeanMethodNames(original.getClassName());
+				if (indexedMethodNames != null) {
+					Set<MethodMetadata> selectedMethods = sortBeanMethods(beanMethods, indexedMethodNames);
+					if (selectedMethods != null) {
+						return selectedMethods;
+					}
+				}
+			}
+			// Try reading the class file via ASM for deterministic declaration order...
 			try {
 				AnnotationMetadata asm =
 						this.metadataReaderFactory.getMetadataReader(original.getClassName()).getAnnotationMetadata();
 				Set<MethodMetadata> asmMethods = asm.getAnnotatedMethods(Bean.class.getName());
-				if (asmMethods.size() >= beanMethods.size()) {
-					Set<MethodMetadata> selectedMethods = new LinkedHashSet<>(asmMethods.size());
-					for (MethodMetadata asmMethod : asmMethods) {
-						for (MethodMetadata beanMethod : beanMethods) {
-							if (beanMethod.getMethodName().equals(asmMethod.getMethodName())) {
-								selectedMethods.add(beanMethod);
-								break;
-							}
-						}
-					}
-					if (selectedMethods.size() == beanMethods.size()) {
-						// All reflection-detected methods found in ASM method set -> proceed
-						beanMethods = selectedMethods;
-					}
+				List<String> asmMethodNames = new ArrayList<>(asmMethods.size());
+				for (MethodMetadata asmMethod : asmMethods) {
+					asmMethodNames.add(asmMethod.getMethodName());
+				}
+				Set<MethodMetadata> selectedMethods = sortBeanMethods(beanMethods, asmMethodNames);
+				if (selectedMethods != null) {
+					// All reflection-detected methods found in ASM method set -> proceed
+					beanMethods = selectedMethods;
 				}
 			}
 			catch (IOException ex) {
@@ -425,6 +435,29 @@ class ConfigurationClassParser {
 		return beanMethods;
 	}
 
+	/**
+	 * Sort the given reflection-detected {@code @Bean} methods according to the
+	 * given method names in declaration order.
+	 * @return the sorted methods, or {@code null} if not all methods could be
+	 * matched by name (e.g. for overloaded or outdated method declarations)
+	 */
+	@Nullable
+	private Set<MethodMetadata> sortBeanMethods(Set<MethodMetadata> beanMethods, List<String> orderedMethodNames) {
+		if (orderedMethodNames.size() < beanMethods.size()) {
+			return null;
+		}
+		Set<MethodMetadata> selectedMethods = new LinkedHashSet<>(orderedMethodNames.size());
+		for (String methodName : orderedMethodNames) {
+			for (MethodMetadata beanMethod : beanMethods) {
+				if (beanMethod.getMethodName().equals(methodName)) {
+					selectedMethods.add(beanMethod);
+					break;
+				}
+			}
+		}
+		return (selectedMethods.size() == beanMethods.size() ? selectedMethods : null);
+	}
+
 
 	/**
 	 * Process the given <code>@PropertySource</code> annotation metadata.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -62,9 +62,11 @@ import org.springframework.util.ObjectUtils;
 public abstract class AbstractApplicationEventMulticaster
 		implements ApplicationEventMulticaster, BeanClassLoaderAware, BeanFactoryAware {
 
-	private final ListenerRetriever defaultRetriever = new ListenerRetriever(false);
+	private final DefaultListenerRetriever defaultRetriever = new DefaultListenerRetriever();
 
-	final Map<ListenerCacheKey, ListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
+	final Map<ListenerCacheKey, CachedListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
+
+	private int retrieverCacheLimit = 0;
 
 	@Nullable
 	private ClassLoader beanClassLoader;
@@ -92,6 +94,29 @@ public abstract class AbstractApplicationEventMulticaster
 		}
 	}
 
+	/**
+	 * Specify the maximum number of event/source type combinations to cache
+	 * pre-filtered listeners for. Once the limit is reached, listeners for
+	 * further combinations get retrieved without caching until the next
+	 * listener registration change.
+	 * <p>Default is 0, indicating no limit. Consider a limit when publishing
+	 * a large number of distinct (e.g. generically typed) event types.
+	 * @since 5.1.21
+	 */
+	public void setRetrieverCacheLimit(int retrieverCacheLimit) {
+		Assert.isTrue(retrieverCacheLimit >= 0, "'retrieverCacheLimit' must not be negative");
+		this.retrieverCacheLimit = retrieverCacheLimit;
+	}
+
+	/**
+	 * Return the maximum number of cached event/source type combinations,
+	 * or 0 for no limit.
+	 * @since 5.1.21
+	 */
+	public int getRetrieverCacheLimit() {
+		return this.retrieverCacheLimit;
+	}
+
 	private BeanFactory getBeanFactory() {
 		if (this.beanFactory == null) {
 			throw new IllegalStateException("ApplicationEventMulticaster cannot retrieve listener beans " +
@@ -104,13 +129,15 @@ public abstract class AbstractApplicationEventMulticaster
 	@Override
 	public void addApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.retrievalMutex) {
+			Set<ApplicationListener<?>> listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
 			// Explicitly remove target for a proxy, if registered already,
 			// in order to avoid double invocations of the same listener.
 			Object singletonTarget = AopProxyUtils.getSingletonTarget(listener);
 			if (singletonTarget instanceof ApplicationListener) {
-				this.defaultRetriever.applicationListeners.remove(singletonTarget);
+				listeners.remove(singletonTarget);
 			}
-			this.defaultRetriever.applicationListeners.add(listener);
+			listeners.add(listener);
+			this.defaultRetriever.applicationListeners = listeners;
 			this.retrieverCache.clear();
 		}
 	}
@@ -118,7 +145,9 @@ public abstract class AbstractApplicationEventMulticaster
 	@Override
 	public void addApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
+			Set<String> listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
+			listenerBeans.add(listenerBeanName);
+			this.defaultRetriever.applicationListenerBeans = listenerBeans;
 			this.retrieverCache.clear();
 		}
 	}
@@ -126,7 +155,9 @@ public abstract class AbstractApplicationEventMulticaster
 	@Override
 	public void removeApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListeners.remove(listener);
+			Set<ApplicationListener<?>> listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
+			listeners.remove(listener);
+			this.defaultRetriever.applicationListeners = listeners;
 			this.retrieverCache.clear();
 		}
 	}
@@ -134,7 +165,9 @@ public abstract class AbstractApplicationEventMulticaster
 	@Override
 	public void removeApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
+			Set<String> listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
+			listenerBeans.remove(listenerBeanName);
+			this.defaultRetriever.applicationListenerBeans = listenerBeans;
 			this.retrieverCache.clear();
 		}
 	}
@@ -142,8 +175,8 @@ public abstract class AbstractApplicationEventMulticaster
 	@Override
 	public void removeAllListeners() {
 		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListeners.clear();
-			this.defaultRetriever.applicationListenerBeans.clear();
+			this.defaultRetriever.applicationListeners = new LinkedHashSet<>();
+			this.defaultRetriever.applicationListenerBeans = new LinkedHashSet<>();
 			this.retrieverCache.clear();
 		}
 	}
@@ -155,9 +188,7 @@ public abstract class AbstractApplicationEventMulticaster
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners() {
-		synchronized (this.retrievalMutex) {
-			return this.defaultRetriever.getApplicationListeners();
-		}
+		return this.defaultRetriever.getApplicationListeners();
 	}
 
 	/**
@@ -176,32 +207,35 @@ public abstract class AbstractApplicationEventMulticaster
 		Class<?> sourceType = (source != null ? source.getClass() : null);
 		ListenerCacheKey cacheKey = new ListenerCacheKey(eventType, sourceType);
 
-		// Quick check for existing entry on ConcurrentHashMap...
-		ListenerRetriever retriever = this.retrieverCache.get(cacheKey);
-		if (retriever != null) {
-			return retriever.getApplicationListeners();
-		}
-
-		if (this.beanClassLoader == null ||
-				(ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
-						(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)))) {
-			// Fully synchronized building and caching of a ListenerRetriever
-			synchronized (this.retrievalMutex) {
-				retriever = this.retrieverCache.get(cacheKey);
-				if (retriever != null) {
-					return retriever.getApplicationListeners();
+		// Potential new retriever to populate
+		CachedListenerRetriever newRetriever = null;
+
+		// Quick check for existing entry on ConcurrentHashMap
+		CachedListenerRetriever existingRetriever = this.retrieverCache.get(cacheKey);
+		if (existingRetriever == null && (this.retrieverCacheLimit == 0 ||
+				this.retrieverCache.size() < this.retrieverCacheLimit)) {
+			// Caching a new ListenerRetriever if possible
+			if (this.beanClassLoader == null ||
+					(ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
+							(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)))) {
+				newRetriever = new CachedListenerRetriever();
+				existingRetriever = this.retrieverCache.putIfAbsent(cacheKey, newRetriever);
+				if (existingRetriever != null) {
+					newRetriever = null;  // no need to populate it in retrieveApplicationListeners
 				}
-				retriever = new ListenerRetriever(true);
-				Collection<ApplicationListener<?>> listeners =
-						retrieveApplicationListeners(eventType, sourceType, retriever);
-				this.retrieverCache.put(cacheKey, retriever);
-				return listeners;
 			}
 		}
-		else {
-			// No ListenerRetriever caching -> no synchronization necessary
-			return retrieveApplicationListeners(eventType, sourceType, null);
+
+		if (existingRetriever != null) {
+			Collection<ApplicationListener<?>> result = existingRetriever.getApplicationListeners();
+			if (result != null) {
+				return result;
+			}
+			// If result is null, the existing retriever is not fully populated yet by another thread.
+			// Proceed like caching wasn't possible for this current local attempt.
 		}
+
+		return retrieveApplicationListeners(eventType, sourceType, newRetriever);
 	}
 
 	/**
@@ -212,19 +246,20 @@ public abstract class AbstractApplicationEventMulticaster
 	 * @return the pre-filtered list of application listeners for the given event and source type
 	 */
 	private Collection<ApplicationListener<?>> retrieveApplicationListeners(
-			ResolvableType eventType, @Nullable Class<?> sourceType, @Nullable ListenerRetriever retriever) {
+			ResolvableType eventType, @Nullable Class<?> sourceType, @Nullable CachedListenerRetriever retriever) {
 
 		List<ApplicationListener<?>> allListeners = new ArrayList<>();
-		Set<ApplicationListener<?>> listeners;
-		Set<String> listenerBeans;
-		synchronized (this.retrievalMutex) {
-			listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
-			listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
-		}
+		Set<ApplicationListener<?>> filteredListeners = (retriever != null ? new LinkedHashSet<>() : null);
+		Set<String> filteredListenerBeans = (retriever != null ? new LinkedHashSet<>() : null);
+
+		// Copy-on-write sets: safe to iterate without synchronization
+		Set<ApplicationListener<?>> listeners = this.defaultRetriever.applicationListeners;
+		Set<String> listenerBeans = this.defaultRetriever.applicationListenerBeans;
+
 		for (ApplicationListener<?> listener : listeners) {
 			if (supportsEvent(listener, eventType, sourceType)) {
 				if (retriever != null) {
-					retriever.applicationListeners.add(listener);
+					filteredListeners.add(listener);
 				}
 				allListeners.add(listener);
 			}
@@ -240,10 +275,10 @@ public abstract class AbstractApplicationEventMulticaster
 						if (!allListeners.contains(listener) && supportsEvent(listener, eventType, sourceType)) {
 							if (retriever != null) {
 								if (beanFactory.isSingleton(listenerBeanName)) {
-									retriever.applicationListeners.add(listener);
+									filteredListeners.add(listener);
 								}
 								else {
-									retriever.applicationListenerBeans.add(listenerBeanName);
+									filteredListenerBeans.add(listenerBeanName);
 								}
 							}
 							allListeners.add(listener);
@@ -257,9 +292,15 @@ public abstract class AbstractApplicationEventMulticaster
 			}
 		}
 		AnnotationAwareOrderComparator.sort(allListeners);
-		if (retriever != null && retriever.applicationListenerBeans.isEmpty()) {
-			retriever.applicationListeners.clear();
-			retriever.applicationListeners.addAll(allListeners);
+		if (retriever != null) {
+			if (filteredListenerBeans.isEmpty()) {
+				retriever.applicationListeners = new LinkedHashSet<>(allListeners);
+				retriever.applicationListenerBeans = filteredListenerBeans;
+			}
+			else {
+				retriever.applicationListeners = filteredListeners;
+				retriever.applicationListenerBeans = filteredListenerBeans;
+			}
 		}
 		return allListeners;
 	}
@@ -362,29 +403,70 @@ public abstract class AbstractApplicationEventMulticaster
 	 * Helper class that encapsulates a specific set of target listeners,
 	 * allowing for efficient retrieval of pre-filtered listeners.
 	 * <p>An instance of this helper gets cached per event type and source type.
+	 * It gets populated once by the thread that registered it in the cache;
+	 * other threads fall back to uncached retrieval until then.
 	 */
-	private class ListenerRetriever {
+	private class CachedListenerRetriever {
 
-		public final Set<ApplicationListener<?>> applicationListeners = new LinkedHashSet<>();
+		@Nullable
+		public volatile Set<ApplicationListener<?>> applicationListeners;
 
-		public final Set<String> applicationListenerBeans = new LinkedHashSet<>();
+		@Nullable
+		public volatile Set<String> applicationListenerBeans;
 
-		private final boolean preFiltered;
+		@Nullable
+		public Collection<ApplicationListener<?>> getApplicationListeners() {
+			Set<ApplicationListener<?>> applicationListeners = this.applicationListeners;
+			Set<String> applicationListenerBeans = this.applicationListenerBeans;
+			if (applicationListeners == null || applicationListenerBeans == null) {
+				// Not fully populated yet
+				return null;
+			}
 
-		public ListenerRetriever(boolean preFiltered) {
-			this.preFiltered = preFiltered;
+			List<ApplicationListener<?>> allListeners = new ArrayList<>(
+					applicationListeners.size() + applicationListenerBeans.size());
+			allListeners.addAll(applicationListeners);
+			if (!applicationListenerBeans.isEmpty()) {
+				BeanFactory beanFactory = getBeanFactory();
+				for (String listenerBeanName : applicationListenerBeans) {
+					try {
+						allListeners.add(beanFactory.getBean(listenerBeanName, ApplicationListener.class));
+					}
+					catch (NoSuchBeanDefinitionException ex) {
+						// Singleton listener instance (without backing bean definition) disappeared -
+						// probably in the middle of the destruction phase
+					}
+				}
+				AnnotationAwareOrderComparator.sort(allListeners);
+			}
+			return allListeners;
 		}
+	}
+
+
+	/**
+	 * Helper class that encapsulates a general set of target listeners.
+	 * <p>The listener sets are copy-on-write: they get replaced under the
+	 * retrieval mutex on registration changes, and read without any locking.
+	 */
+	private class DefaultListenerRetriever {
+
+		public volatile Set<ApplicationListener<?>> applicationListeners = new LinkedHashSet<>();
+
+		public volatile Set<String> applicationListenerBeans = new LinkedHashSet<>();
 
 		public Collection<ApplicationListener<?>> getApplicationListeners() {
+			Set<ApplicationListener<?>> applicationListeners = this.applicationListeners;
+			Set<String> applicationListenerBeans = this.applicationListenerBeans;
 			List<ApplicationListener<?>> allListeners = new ArrayList<>(
-					this.applicationListeners.size() + this.applicationListenerBeans.size());
-			allListeners.addAll(this.applicationListeners);
-			if (!this.applicationListenerBeans.isEmpty()) {
+					applicationListeners.size() + applicationListenerBeans.size());
+			allListeners.addAll(applicationListeners);
+			if (!applicationListenerBeans.isEmpty()) {
 				BeanFactory beanFactory = getBeanFactory();
-				for (String listenerBeanName : this.applicationListenerBeans) {
+				for (String listenerBeanName : applicationListenerBeans) {
 					try {
 						ApplicationListener<?> listener = beanFactory.getBean(listenerBeanName, ApplicationListener.class);
-						if (this.preFiltered || !allListeners.contains(listener)) {
+						if (!allListeners.contains(listener)) {
 							allListeners.add(listener);
 						}
 					}
@@ -394,9 +476,7 @@ public abstract class AbstractApplicationEventMulticaster
 					}
 				}
 			}
-			if (!this.preFiltered || !this.applicationListenerBeans.isEmpty()) {
-				AnnotationAwareOrderComparator.sort(allListeners);
-			}
+			AnnotationAwareOrderComparator.sort(allListeners);
 			return allListeners;
 		}
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -72,6 +72,8 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	private final List<ResolvableType> declaredEventTypes;
 
+	private final boolean batch;
+
 	@Nullable
 	private final String condition;
 
@@ -92,7 +94,9 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
 
 		EventListener ann = AnnotatedElementUtils.findMergedAnnotation(this.targetMethod, EventListener.class);
-		this.declaredEventTypes = resolveDeclaredEventTypes(method, ann);
+		this.batch = (ann != null && ann.batch());
+		this.declaredEventTypes = (this.batch ? resolveDeclaredBatchEventTypes(method, ann) :
+				resolveDeclaredEventTypes(method, ann));
 		this.condition = (ann != null ? ann.condition() : null);
 		this.order = resolveOrder(this.targetMethod);
 	}
@@ -122,6 +126,31 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		return Collections.singletonList(ResolvableType.forMethodParameter(method, 0));
 	}
 
+	private static List<ResolvableType> resolveDeclaredBatchEventTypes(Method method, EventListener ann) {
+		Class<?> parameterType = (method.getParameterCount() == 1 ? method.getParameterTypes()[0] : null);
+		if (parameterType == null || !Collection.class.isAssignableFrom(parameterType) ||
+				!parameterType.isAssignableFrom(List.class)) {
+			throw new IllegalStateException(
+					"Batch event listener method must declare a single List parameter: " + method);
+		}
+
+		Class<?>[] classes = ann.classes();
+		if (classes.length > 0) {
+			List<ResolvableType> types = new ArrayList<>(classes.length);
+			for (Class<?> eventType : classes) {
+				types.add(ResolvableType.forClass(eventType));
+			}
+			return types;
+		}
+
+		ResolvableType elementType = ResolvableType.forMethodParameter(method, 0).asCollection().getGeneric();
+		if (elementType.resolve() == null) {
+			throw new IllegalStateException(
+					"Unable to resolve List element type for batch event listener method: " + method);
+		}
+		return Collections.singletonList(elementType);
+	}
+
 	private static int resolveOrder(Method method) {
 		Order ann = AnnotatedElementUtils.findMergedAnnotation(method, Order.class);
 		return (ann != null ? ann.value() : 0);
@@ -168,12 +197,26 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		return this.order;
 	}
 
+	/**
+	 * Return whether the listener method accepts a batch of events at once.
+	 * @since 5.1.21
+	 * @see EventListener#batch()
+	 * @see #processEvents(List)
+	 */
+	public boolean isBatchListener() {
+		return this.batch;
+	}
+
 
 	/**
 	 * Process the specified {@link ApplicationEvent}, checking if the condition
 	 * match and handling non-null result, if any.
 	 */
 	public void processEvent(ApplicationEvent event) {
+		if (this.batch) {
+			processEvents(Collections.singletonList(event));
+			return;
+		}
 		Object[] args = resolveArguments(event);
 		if (shouldHandle(event, args)) {
 			Object result = doInvoke(args);
@@ -186,6 +229,40 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		}
 	}
 
+	/**
+	 * Process the given {@link ApplicationEvent ApplicationEvents} in order.
+	 * <p>For a {@linkplain #isBatchListener() batch listener}, the condition gets
+	 * checked for each event, and the listener method gets invoked once with a
+	 * List of all matching events (or their payloads). Otherwise, each event
+	 * gets processed individually.
+	 * @since 5.1.21
+	 * @see #processEvent(ApplicationEvent)
+	 */
+	public void processEvents(List<ApplicationEvent> events) {
+		if (!this.batch) {
+			for (ApplicationEvent event : events) {
+				processEvent(event);
+			}
+			return;
+		}
+		List<Object> batchArgs = new ArrayList<>(events.size());
+		for (ApplicationEvent event : events) {
+			Object[] args = resolveArguments(event);
+			if (shouldHandle(event, args)) {
+				batchArgs.add(args[0]);
+			}
+		}
+		if (!batchArgs.isEmpty()) {
+			Object result = doInvoke(new Object[] {batchArgs});
+			if (result != null) {
+				handleResult(result);
+			}
+			else {
+				logger.trace("No result object given - no result to handle");
+			}
+		}
+	}
+
 	/**
 	 * Resolve the method arguments to use for the specified {@link ApplicationEvent}.
 	 * <p>These arguments will be used to invoke the method handled by this instance.
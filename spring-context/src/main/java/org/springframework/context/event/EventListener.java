@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -102,4 +102,17 @@ public @interface EventListener {
 	 */
 	String condition() default "";
 
+	/**
+	 * Whether the annotated method accepts a batch of events at once.
+	 * <p>If {@code true}, the method must declare a single {@link java.util.List}
+	 * parameter whose element type reflects the event type to listen to.
+	 * A {@link QueuedApplicationEventMulticaster} delivers queued events to such
+	 * a listener in batches, whereas other multicasters deliver each event as a
+	 * singleton list.
+	 * <p>A {@link #condition} gets evaluated for each individual event, with the
+	 * event (or its payload) exposed as the method argument.
+	 * @since 5.1.21
+	 */
+	boolean batch() default false;
+
 }
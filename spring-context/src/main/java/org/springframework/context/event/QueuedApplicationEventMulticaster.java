@@ -0,0 +1,370 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * {@link SimpleApplicationEventMulticaster} variant which queues events per
+ * listener and delivers them asynchronously through the configured
+ * {@linkplain #setTaskExecutor task executor}.
+ *
+ * <p>Each listener has a bounded queue, drained by at most one executor task
+ * at any time. Events are therefore delivered to each individual listener in
+ * publication order, while different listeners process their events
+ * concurrently. Listener methods declared with
+ * {@link EventListener#batch() @EventListener(batch = true)} receive all events
+ * drained in one go (up to the {@linkplain #setMaxBatchSize max batch size})
+ * in a single invocation.
+ *
+ * <p>If a listener queue is full, the configured {@link BackpressurePolicy}
+ * applies. Without a task executor, this multicaster behaves exactly like
+ * its superclass, invoking all listeners in the calling thread.
+ *
+ * <p>Note that asynchronous delivery means that listeners do not participate
+ * in the publisher's thread context (e.g. its transaction), and that listener
+ * exceptions do not propagate to the publisher. Consider specifying an
+ * {@linkplain #setErrorHandler ErrorHandler} for listener exceptions.
+ *
+ * <p>Listener queues are kept per listener instance until the listener gets
+ * removed. This multicaster is therefore meant for singleton listeners, e.g.
+ * {@code @EventListener} methods, rather than listener beans of non-singleton
+ * scope which would get a new queue for every listener instance.
+ *
+ * @since 5.1.21
+ * @see EventListener#batch()
+ * @see ApplicationListenerMethodAdapter#processEvents(List)
+ */
+public class QueuedApplicationEventMulticaster extends SimpleApplicationEventMulticaster {
+
+	/**
+	 * The default capacity of each listener queue.
+	 */
+	public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+	/**
+	 * The default maximum number of events delivered in one batch.
+	 */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+
+	private static final Log logger = LogFactory.getLog(QueuedApplicationEventMulticaster.class);
+
+	private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+	private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+	private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+
+	private final Map<ApplicationListener<?>, ListenerQueue> listenerQueues = new ConcurrentHashMap<>(64);
+
+
+	/**
+	 * Create a new QueuedApplicationEventMulticaster.
+	 */
+	public QueuedApplicationEventMulticaster() {
+	}
+
+	/**
+	 * Create a new QueuedApplicationEventMulticaster for the given BeanFactory.
+	 */
+	public QueuedApplicationEventMulticaster(BeanFactory beanFactory) {
+		setBeanFactory(beanFactory);
+	}
+
+
+	/**
+	 * Set the capacity of the event queue for each listener.
+	 * <p>Default is {@value #DEFAULT_QUEUE_CAPACITY}. Applies to listener
+	 * queues created after this call.
+	 * @see #setBackpressurePolicy
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		Assert.isTrue(queueCapacity > 0, "'queueCapacity' must be positive");
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Return the capacity of the event queue for each listener.
+	 */
+	public int getQueueCapacity() {
+		return this.queueCapacity;
+	}
+
+	/**
+	 * Set the maximum number of events to deliver to a listener in one batch.
+	 * <p>Default is {@value #DEFAULT_MAX_BATCH_SIZE}. This also limits the
+	 * number of events a single executor task processes for regular listeners
+	 * before checking its queue again.
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		Assert.isTrue(maxBatchSize > 0, "'maxBatchSize' must be positive");
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Return the maximum number of events to deliver to a listener in one batch.
+	 */
+	public int getMaxBatchSize() {
+		return this.maxBatchSize;
+	}
+
+	/**
+	 * Set the policy to apply when a listener queue is full.
+	 * <p>Default is {@link BackpressurePolicy#BLOCK}.
+	 */
+	public void setBackpressurePolicy(BackpressurePolicy backpressurePolicy) {
+		Assert.notNull(backpressurePolicy, "BackpressurePolicy must not be null");
+		this.backpressurePolicy = backpressurePolicy;
+	}
+
+	/**
+	 * Return the policy to apply when a listener queue is full.
+	 */
+	public BackpressurePolicy getBackpressurePolicy() {
+		return this.backpressurePolicy;
+	}
+
+
+	@Override
+	public void removeApplicationListener(ApplicationListener<?> listener) {
+		super.removeApplicationListener(listener);
+		this.listenerQueues.remove(listener);
+	}
+
+	@Override
+	public void removeAllListeners() {
+		super.removeAllListeners();
+		this.listenerQueues.clear();
+	}
+
+	@Override
+	public void multicastEvent(ApplicationEvent event, @Nullable ResolvableType eventType) {
+		Executor executor = getTaskExecutor();
+		if (executor == null) {
+			super.multicastEvent(event, eventType);
+			return;
+		}
+		ResolvableType type = (eventType != null ? eventType : ResolvableType.forInstance(event));
+		for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+			ListenerQueue queue = this.listenerQueues.computeIfAbsent(
+					listener, key -> new ListenerQueue(key, this.queueCapacity, executor));
+			queue.enqueue(event);
+		}
+	}
+
+	/**
+	 * Invoke the given listener with the given batch of events, in order.
+	 * <p>Batch listener methods get invoked once for the entire batch;
+	 * any other listener gets invoked for each event individually.
+	 * @param listener the ApplicationListener to invoke
+	 * @param events the current batch of events to propagate
+	 * @see ApplicationListenerMethodAdapter#isBatchListener()
+	 */
+	protected void invokeListener(ApplicationListener<?> listener, List<ApplicationEvent> events) {
+		if (!isBatchListener(listener)) {
+			for (ApplicationEvent event : events) {
+				invokeListener(listener, event);
+			}
+			return;
+		}
+		ApplicationListenerMethodAdapter adapter = (ApplicationListenerMethodAdapter) listener;
+		ErrorHandler errorHandler = getErrorHandler();
+		if (errorHandler != null) {
+			try {
+				adapter.processEvents(events);
+			}
+			catch (Throwable err) {
+				errorHandler.handleError(err);
+			}
+		}
+		else {
+			adapter.processEvents(events);
+		}
+	}
+
+	private static boolean isBatchListener(ApplicationListener<?> listener) {
+		return (listener instanceof ApplicationListenerMethodAdapter &&
+				((ApplicationListenerMethodAdapter) listener).isBatchListener());
+	}
+
+
+	/**
+	 * Policy to apply when an event cannot be queued for a listener
+	 * because its queue is full.
+	 */
+	public enum BackpressurePolicy {
+
+		/**
+		 * Block the publishing thread until the listener queue has capacity.
+		 * <p>Note that a listener publishing events to itself may deadlock
+		 * under this policy once its queue is full.
+		 */
+		BLOCK,
+
+		/**
+		 * Invoke the listener directly in the publishing thread.
+		 * <p>Note that this gives up the ordering guarantee for the listener.
+		 */
+		CALLER_RUNS,
+
+		/**
+		 * Drop the event for the affected listener, logging a warning.
+		 */
+		DISCARD,
+
+		/**
+		 * Throw an {@link IllegalStateException} to the publisher.
+		 */
+		ABORT
+	}
+
+
+	/**
+	 * Event queue for a specific listener, with at most one executor task
+	 * draining it at any given time.
+	 */
+	private class ListenerQueue implements Runnable {
+
+		private final ApplicationListener<?> listener;
+
+		private final BlockingQueue<ApplicationEvent> events;
+
+		private final Executor executor;
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		// Only accessed by the currently scheduled task
+		private final Deque<ApplicationEvent> pending = new ArrayDeque<>();
+
+		public ListenerQueue(ApplicationListener<?> listener, int capacity, Executor executor) {
+			this.listener = listener;
+			this.events = new ArrayBlockingQueue<>(capacity);
+			this.executor = executor;
+		}
+
+		public void enqueue(ApplicationEvent event) {
+			if (!this.events.offer(event)) {
+				switch (getBackpressurePolicy()) {
+					case BLOCK:
+						try {
+							this.events.put(event);
+						}
+						catch (InterruptedException ex) {
+							Thread.currentThread().interrupt();
+							throw new IllegalStateException(
+									"Interrupted while waiting for event queue of listener [" + this.listener + "]", ex);
+						}
+						break;
+					case CALLER_RUNS:
+						invokeListener(this.listener, event);
+						return;
+					case DISCARD:
+						if (logger.isWarnEnabled()) {
+							logger.warn("Event queue full - discarding " + event + " for listener [" +
+									this.listener + "]");
+						}
+						return;
+					case ABORT:
+						throw new IllegalStateException("Event queue full for listener [" + this.listener +
+								"] - rejecting " + event);
+				}
+			}
+			schedule();
+		}
+
+		private void schedule() {
+			if (this.scheduled.compareAndSet(false, true)) {
+				try {
+					this.executor.execute(this);
+				}
+				catch (RuntimeException ex) {
+					this.scheduled.set(false);
+					throw ex;
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			boolean completed = false;
+			try {
+				drain();
+				completed = true;
+			}
+			finally {
+				if (!completed) {
+					// Listener exception without ErrorHandler: hand over to a new task
+					// for the remaining events, letting the exception propagate.
+					this.scheduled.set(false);
+					if (!this.pending.isEmpty() || !this.events.isEmpty()) {
+						schedule();
+					}
+				}
+			}
+		}
+
+		private void drain() {
+			boolean batchListener = isBatchListener(this.listener);
+			while (true) {
+				if (this.pending.isEmpty()) {
+					this.events.drainTo(this.pending, getMaxBatchSize());
+				}
+				if (this.pending.isEmpty()) {
+					this.scheduled.set(false);
+					// Re-check for events queued after the last drain attempt
+					if (this.events.isEmpty() || !this.scheduled.compareAndSet(false, true)) {
+						return;
+					}
+					continue;
+				}
+				if (batchListener) {
+					List<ApplicationEvent> batch = new ArrayList<>(this.pending);
+					this.pending.clear();
+					invokeListener(this.listener, batch);
+				}
+				else {
+					ApplicationEvent event;
+					while ((event = this.pending.poll()) != null) {
+						invokeListener(this.listener, event);
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,16 @@
 
 package org.springframework.context.expression;
 
+import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
@@ -39,6 +43,11 @@ public abstract class CachedExpressionEvaluator {
 
 	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+	private final Map<Method, MethodParameterIndex> parameterIndexCache = new ConcurrentHashMap<>(64);
+
+	@Nullable
+	private volatile SharedExpressionCache sharedExpressionCache;
+
 
 	/**
 	 * Create a new instance with the specified {@link SpelExpressionParser}.
@@ -71,6 +80,53 @@ public abstract class CachedExpressionEvaluator {
 		return this.parameterNameDiscoverer;
 	}
 
+	/**
+	 * Return the {@link MethodParameterIndex} for the given method, based on
+	 * the {@linkplain #getParameterNameDiscoverer() shared parameter name discoverer}
+	 * and computed once per method.
+	 * @since 5.1.21
+	 * @see MethodBasedEvaluationContext#MethodBasedEvaluationContext(Object, Method, Object[], MethodParameterIndex)
+	 */
+	protected MethodParameterIndex getParameterIndex(Method method) {
+		MethodParameterIndex parameterIndex = this.parameterIndexCache.get(method);
+		if (parameterIndex == null) {
+			parameterIndex = MethodParameterIndex.forMethod(method, getParameterNameDiscoverer());
+			this.parameterIndexCache.putIfAbsent(method, parameterIndex);
+		}
+		return parameterIndex;
+	}
+
+	/**
+	 * Clear the cached {@link MethodParameterIndex} instances, releasing
+	 * the {@link Method} references held for them.
+	 * <p>To be called by subclasses when clearing their own expression caches.
+	 * @since 5.1.21
+	 * @see #getParameterIndex(Method)
+	 */
+	protected void clearParameterIndexCache() {
+		this.parameterIndexCache.clear();
+	}
+
+
+	/**
+	 * Specify a {@link SharedExpressionCache} to obtain expressions from,
+	 * instead of parsing them with this evaluator's own parser and caching
+	 * them per annotated element.
+	 * @since 5.1.21
+	 */
+	public void setSharedExpressionCache(@Nullable SharedExpressionCache sharedExpressionCache) {
+		this.sharedExpressionCache = sharedExpressionCache;
+	}
+
+	/**
+	 * Return the {@link SharedExpressionCache} to obtain expressions from, if any.
+	 * @since 5.1.21
+	 */
+	@Nullable
+	public SharedExpressionCache getSharedExpressionCache() {
+		return this.sharedExpressionCache;
+	}
+
 
 	/**
 	 * Return the {@link Expression} for the specified SpEL value
@@ -78,10 +134,15 @@ public abstract class CachedExpressionEvaluator {
 	 * @param cache the cache to use
 	 * @param elementKey the element on which the expression is defined
 	 * @param expression the expression to parse
+	 * @see #setSharedExpressionCache
 	 */
 	protected Expression getExpression(Map<ExpressionKey, Expression> cache,
 			AnnotatedElementKey elementKey, String expression) {
 
+		SharedExpressionCache sharedCache = this.sharedExpressionCache;
+		if (sharedCache != null) {
+			return sharedCache.getExpression(expression);
+		}
 		ExpressionKey expressionKey = createKey(elementKey, expression);
 		Expression expr = cache.get(expressionKey);
 		if (expr == null) {
@@ -91,6 +152,22 @@ public abstract class CachedExpressionEvaluator {
 		return expr;
 	}
 
+	/**
+	 * Evaluate the given expression against the given context, through the
+	 * {@link SharedExpressionCache} if specified.
+	 * @param expression the expression to evaluate
+	 * @param context the evaluation context
+	 * @param expectedType the expected result type (or {@code null} for any)
+	 * @since 5.1.21
+	 * @see SharedExpressionCache#getValue
+	 */
+	@Nullable
+	protected <T> T getValue(Expression expression, EvaluationContext context, @Nullable Class<T> expectedType) {
+		SharedExpressionCache sharedCache = this.sharedExpressionCache;
+		return (sharedCache != null ? sharedCache.getValue(expression, context, expectedType) :
+				expression.getValue(context, expectedType));
+	}
+
 	private ExpressionKey createKey(AnnotatedElementKey elementKey, String expression) {
 		return new ExpressionKey(elementKey, expression);
 	}
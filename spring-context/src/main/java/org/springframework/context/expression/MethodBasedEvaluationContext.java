@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.Arrays;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
 /**
@@ -35,6 +36,9 @@ import org.springframework.util.ObjectUtils;
  * <li>the name of the parameter as discovered by a configurable {@link ParameterNameDiscoverer}</li>
  * </ol>
  *
+ * <p>Arguments are either registered as variables on first access, or resolved
+ * on demand through a {@link MethodParameterIndex} computed once per method.
+ *
  * @author Stephane Nicoll
  * @author Juergen Hoeller
  * @since 4.2
@@ -45,8 +49,12 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 
 	private final Object[] arguments;
 
+	@Nullable
 	private final ParameterNameDiscoverer parameterNameDiscoverer;
 
+	@Nullable
+	private final MethodParameterIndex parameterIndex;
+
 	private boolean argumentsLoaded = false;
 
 
@@ -57,6 +65,26 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 		this.method = method;
 		this.arguments = arguments;
 		this.parameterNameDiscoverer = parameterNameDiscoverer;
+		this.parameterIndex = null;
+	}
+
+	/**
+	 * Create a new context resolving arguments through the given precomputed
+	 * index, rather than registering them as variables on first access.
+	 * @param rootObject the root object
+	 * @param method the method being invoked
+	 * @param arguments the method arguments
+	 * @param parameterIndex the parameter index for the given method
+	 * @since 5.1.21
+	 */
+	public MethodBasedEvaluationContext(Object rootObject, Method method, Object[] arguments,
+			MethodParameterIndex parameterIndex) {
+
+		super(rootObject);
+		this.method = method;
+		this.arguments = arguments;
+		this.parameterNameDiscoverer = null;
+		this.parameterIndex = parameterIndex;
 	}
 
 
@@ -67,6 +95,9 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 		if (variable != null) {
 			return variable;
 		}
+		if (this.parameterIndex != null) {
+			return this.parameterIndex.resolveArgument(name, this.arguments);
+		}
 		if (!this.argumentsLoaded) {
 			lazyLoadArguments();
 			this.argumentsLoaded = true;
@@ -85,6 +116,7 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 		}
 
 		// Expose indexed variables as well as parameter names (if discoverable)
+		Assert.state(this.parameterNameDiscoverer != null, "No ParameterNameDiscoverer set");
 		String[] paramNames = this.parameterNameDiscoverer.getParameterNames(this.method);
 		int paramCount = (paramNames != null ? paramNames.length : this.method.getParameterCount());
 		int argsCount = this.arguments.length;
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.expression;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Precomputed mapping from the variable names under which
+ * {@link MethodBasedEvaluationContext} exposes method arguments
+ * ({@code pX}, {@code aX} and the discovered parameter names)
+ * to the index of the corresponding argument.
+ *
+ * <p>Meant to be computed once per method and shared by all evaluation
+ * contexts for that method, avoiding parameter name discovery and variable
+ * registration for every single evaluation.
+ *
+ * @since 5.1.21
+ * @see MethodBasedEvaluationContext#MethodBasedEvaluationContext(Object, Method, Object[], MethodParameterIndex)
+ * @see CachedExpressionEvaluator#getParameterIndex(Method)
+ */
+public final class MethodParameterIndex {
+
+	private final Method method;
+
+	private final int parameterCount;
+
+	private final Map<String, Integer> indexes;
+
+
+	private MethodParameterIndex(Method method, int parameterCount, Map<String, Integer> indexes) {
+		this.method = method;
+		this.parameterCount = parameterCount;
+		this.indexes = indexes;
+	}
+
+
+	/**
+	 * Return the method that this index has been computed for.
+	 */
+	public Method getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Return the number of parameters exposed as variables.
+	 */
+	public int getParameterCount() {
+		return this.parameterCount;
+	}
+
+	/**
+	 * Return the index of the argument exposed under the given variable name.
+	 * @param name the variable name
+	 * @return the argument index, or {@code -1} if the name does not refer
+	 * to an argument
+	 */
+	public int indexOf(String name) {
+		Integer index = this.indexes.get(name);
+		return (index != null ? index : -1);
+	}
+
+	/**
+	 * Resolve the value of the argument exposed under the given variable name,
+	 * collecting any remaining arguments into an array for the last parameter
+	 * (as in a varargs invocation).
+	 * @param name the variable name
+	 * @param arguments the actual method arguments
+	 * @return the argument value, or {@code null} if the name does not refer
+	 * to an argument or no corresponding argument has been specified
+	 */
+	@Nullable
+	public Object resolveArgument(String name, @Nullable Object[] arguments) {
+		int index = indexOf(name);
+		if (index < 0 || ObjectUtils.isEmpty(arguments)) {
+			return null;
+		}
+		int argsCount = arguments.length;
+		if (argsCount > this.parameterCount && index == this.parameterCount - 1) {
+			// Expose remaining arguments as vararg array for last parameter
+			return Arrays.copyOfRange(arguments, index, argsCount);
+		}
+		return (argsCount > index ? arguments[index] : null);
+	}
+
+
+	/**
+	 * Compute the index for the given method.
+	 * @param method the method to compute the index for
+	 * @param parameterNameDiscoverer the discoverer for actual parameter names
+	 * @return the corresponding index
+	 */
+	public static MethodParameterIndex forMethod(Method method, ParameterNameDiscoverer parameterNameDiscoverer) {
+		Assert.notNull(method, "Method must not be null");
+		Assert.notNull(parameterNameDiscoverer, "ParameterNameDiscoverer must not be null");
+		String[] paramNames = parameterNameDiscoverer.getParameterNames(method);
+		int paramCount = (paramNames != null ? paramNames.length : method.getParameterCount());
+		Map<String, Integer> indexes = new HashMap<>(paramCount * 4);
+		// Same registration order as MethodBasedEvaluationContext#lazyLoadArguments,
+		// with later parameters taking precedence in case of name clashes
+		for (int i = 0; i < paramCount; i++) {
+			indexes.put("a" + i, i);
+			indexes.put("p" + i, i);
+			if (paramNames != null && paramNames[i] != null) {
+				indexes.put(paramNames[i], i);
+			}
+		}
+		return new MethodParameterIndex(method, paramCount, indexes);
+	}
+
+}
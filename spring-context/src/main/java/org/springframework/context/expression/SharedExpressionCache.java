@@ -0,0 +1,197 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.expression;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelCompiler;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Bounded cache of parsed SpEL expressions, shared by all
+ * {@link CachedExpressionEvaluator CachedExpressionEvaluators} within an
+ * application context, e.g. for {@code @Cacheable} keys and conditions as
+ * well as {@code @EventListener} conditions.
+ *
+ * <p>Expressions are cached by their expression string, so identical
+ * expressions declared on different elements share a single parsed (and
+ * eventually compiled) expression. Unless the compiler is turned
+ * {@linkplain SpelCompilerMode#OFF off}, expressions get compiled eagerly
+ * as soon as their first interpreted evaluation has gathered the required
+ * type information, rather than after the regular warmup threshold of
+ * {@link SpelCompilerMode#MIXED} mode. Eager compilation is attempted once
+ * per expression: in mixed mode (the default), a compiled expression which
+ * fails for a different argument type reverts to interpretation and is only
+ * recompiled after the regular warmup threshold, so that expressions shared
+ * across differently typed arguments do not get recompiled on every switch.
+ *
+ * <p>Register an instance of this class as a bean in order to make cache
+ * and event listener processing pick it up.
+ *
+ * @since 5.1.21
+ * @see CachedExpressionEvaluator#setSharedExpressionCache
+ */
+public class SharedExpressionCache {
+
+	/**
+	 * The default maximum number of cached expressions.
+	 */
+	public static final int DEFAULT_CACHE_LIMIT = 256;
+
+
+	private final SpelExpressionParser parser;
+
+	private final boolean compilerEnabled;
+
+	private final ConcurrentLruCache<String, Expression> expressionCache;
+
+	/** Expressions that eager compilation has been attempted for. */
+	private final Set<SpelExpression> eagerlyCompiled = Collections.newSetFromMap(
+			new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.WEAK));
+
+	private final LongAdder interpretedEvaluations = new LongAdder();
+
+	private final LongAdder compiledEvaluations = new LongAdder();
+
+
+	/**
+	 * Create a new SharedExpressionCache with the {@linkplain #DEFAULT_CACHE_LIMIT
+	 * default cache limit}, compiling expressions in {@link SpelCompilerMode#MIXED} mode.
+	 */
+	public SharedExpressionCache() {
+		this(DEFAULT_CACHE_LIMIT);
+	}
+
+	/**
+	 * Create a new SharedExpressionCache with the given cache limit,
+	 * compiling expressions in {@link SpelCompilerMode#MIXED} mode.
+	 * @param cacheLimit the maximum number of cached expressions
+	 */
+	public SharedExpressionCache(int cacheLimit) {
+		this(new SpelParserConfiguration(SpelCompilerMode.MIXED, SharedExpressionCache.class.getClassLoader()),
+				cacheLimit);
+	}
+
+	/**
+	 * Create a new SharedExpressionCache with the given parser configuration
+	 * and cache limit.
+	 * @param configuration the SpEL parser configuration to use
+	 * @param cacheLimit the maximum number of cached expressions
+	 */
+	public SharedExpressionCache(SpelParserConfiguration configuration, int cacheLimit) {
+		Assert.notNull(configuration, "SpelParserConfiguration must not be null");
+		Assert.isTrue(cacheLimit > 0, "Cache limit must be positive");
+		this.parser = new SpelExpressionParser(configuration);
+		this.compilerEnabled = (configuration.getCompilerMode() != SpelCompilerMode.OFF);
+		this.expressionCache = new ConcurrentLruCache<>(cacheLimit, this.parser::parseExpression);
+	}
+
+
+	/**
+	 * Return the shared {@link Expression} for the given expression string,
+	 * parsing it if necessary.
+	 * @param expression the expression string
+	 * @return the corresponding expression
+	 * @throws org.springframework.expression.ParseException if parsing fails
+	 */
+	public Expression getExpression(String expression) {
+		return this.expressionCache.get(expression);
+	}
+
+	/**
+	 * Evaluate the given expression against the given context, compiling it
+	 * once its first interpreted evaluation has provided the necessary type
+	 * information.
+	 * @param expression the expression to evaluate
+	 * @param context the evaluation context
+	 * @param expectedType the expected result type (or {@code null} for any)
+	 * @return the evaluation result
+	 * @throws org.springframework.expression.EvaluationException if evaluation fails
+	 */
+	@Nullable
+	public <T> T getValue(Expression expression, EvaluationContext context, @Nullable Class<T> expectedType) {
+		if (!(expression instanceof SpelExpression) || !this.compilerEnabled) {
+			this.interpretedEvaluations.increment();
+			return expression.getValue(context, expectedType);
+		}
+		SpelExpression spelExpression = (SpelExpression) expression;
+		boolean compiledBefore = spelExpression.isCompiled();
+		T value = expression.getValue(context, expectedType);
+		if (compiledBefore && spelExpression.isCompiled()) {
+			this.compiledEvaluations.increment();
+		}
+		else {
+			// Interpreted, possibly after a failing compiled run: only compile eagerly
+			// after the very first interpreted run, leaving any recompilation to the
+			// regular threshold of the configured compiler mode.
+			this.interpretedEvaluations.increment();
+			if (!compiledBefore && this.eagerlyCompiled.add(spelExpression)) {
+				SpelCompiler.compile(spelExpression);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Return the number of expressions currently cached.
+	 */
+	public int getCacheSize() {
+		return this.expressionCache.size();
+	}
+
+	/**
+	 * Return the maximum number of cached expressions.
+	 */
+	public int getCacheLimit() {
+		return this.expressionCache.sizeLimit();
+	}
+
+	/**
+	 * Return the number of evaluations performed in interpreted mode,
+	 * including evaluations that fell back from a compiled expression.
+	 */
+	public long getInterpretedEvaluationCount() {
+		return this.interpretedEvaluations.sum();
+	}
+
+	/**
+	 * Return the number of evaluations performed through a compiled expression.
+	 */
+	public long getCompiledEvaluationCount() {
+		return this.compiledEvaluations.sum();
+	}
+
+	/**
+	 * Remove all cached expressions.
+	 */
+	public void clear() {
+		this.expressionCache.clear();
+		this.eagerlyCompiled.clear();
+	}
+
+}
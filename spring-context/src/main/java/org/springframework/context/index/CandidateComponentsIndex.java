@@ -16,12 +16,16 @@
 
 package org.springframework.context.index;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
@@ -43,6 +47,9 @@ import org.springframework.util.MultiValueMap;
  * not a rule. Similarly, the {@code stereotype} is usually the fully qualified name of
  * a target type but it can be any marker really.
  *
+ * <p>As of 5.1.21, the index also exposes the declaration order of the {@code @Bean}
+ * methods of the indexed types, as defined in {@code META-INF/spring.configurations}.
+ *
  * @author Stephane Nicoll
  * @since 5.0
  */
@@ -52,9 +59,16 @@ public class CandidateComponentsIndex {
 
 	private final MultiValueMap<String, Entry> index;
 
+	private final Map<String, List<String>> beanMethods;
+
 
 	CandidateComponentsIndex(List<Properties> content) {
+		this(content, Collections.emptyList());
+	}
+
+	CandidateComponentsIndex(List<Properties> content, List<Properties> configurations) {
 		this.index = parseIndex(content);
+		this.beanMethods = parseBeanMethods(configurations);
 	}
 
 	private static MultiValueMap<String, Entry> parseIndex(List<Properties> content) {
@@ -70,6 +84,15 @@ public class CandidateComponentsIndex {
 		return index;
 	}
 
+	private static Map<String, List<String>> parseBeanMethods(List<Properties> configurations) {
+		Map<String, List<String>> beanMethods = new HashMap<>();
+		for (Properties entry : configurations) {
+			entry.forEach((type, values) -> beanMethods.put((String) type,
+					Collections.unmodifiableList(Arrays.asList(((String) values).split(",")))));
+		}
+		return beanMethods;
+	}
+
 
 	/**
 	 * Return the candidate types that are associated with the specified stereotype.
@@ -89,6 +112,18 @@ public class CandidateComponentsIndex {
 		return Collections.emptySet();
 	}
 
+	/**
+	 * Return the names of the {@code @Bean} methods declared by the specified type,
+	 * in declaration order, as recorded at build time.
+	 * @param type the fully qualified name of the type
+	 * @return the method names, or {@code null} if the type has not been indexed
+	 * @since 5.1.21
+	 */
+	@Nullable
+	public List<String> getBeanMethodNames(String type) {
+		return this.beanMethods.get(type);
+	}
+
 
 	private static class Entry {
 
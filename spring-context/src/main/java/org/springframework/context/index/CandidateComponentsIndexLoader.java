@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,6 +47,13 @@ public final class CandidateComponentsIndexLoader {
 	 */
 	public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
 
+	/**
+	 * The location to look for the declaration order of {@code @Bean} methods.
+	 * <p>Can be present in multiple JAR files.
+	 * @since 5.1.21
+	 */
+	public static final String CONFIGURATIONS_RESOURCE_LOCATION = "META-INF/spring.configurations";
+
 	/**
 	 * System property that instructs Spring to ignore the index, i.e.
 	 * to always return {@code null} from {@link #loadIndex(ClassLoader)}.
@@ -100,17 +107,16 @@ public final class CandidateComponentsIndexLoader {
 			if (!urls.hasMoreElements()) {
 				return null;
 			}
-			List<Properties> result = new ArrayList<>();
-			while (urls.hasMoreElements()) {
-				URL url = urls.nextElement();
-				Properties properties = PropertiesLoaderUtils.loadProperties(new UrlResource(url));
-				result.add(properties);
-			}
+			List<Properties> result = loadProperties(urls);
 			if (logger.isDebugEnabled()) {
 				logger.debug("Loaded " + result.size() + "] index(es)");
 			}
 			int totalCount = result.stream().mapToInt(Properties::size).sum();
-			return (totalCount > 0 ? new CandidateComponentsIndex(result) : null);
+			if (totalCount == 0) {
+				return null;
+			}
+			List<Properties> configurations = loadProperties(classLoader.getResources(CONFIGURATIONS_RESOURCE_LOCATION));
+			return new CandidateComponentsIndex(result, configurations);
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException("Unable to load indexes from location [" +
@@ -118,4 +124,13 @@ public final class CandidateComponentsIndexLoader {
 		}
 	}
 
+	private static List<Properties> loadProperties(Enumeration<URL> urls) throws IOException {
+		List<Properties> result = new ArrayList<>();
+		while (urls.hasMoreElements()) {
+			URL url = urls.nextElement();
+			result.add(PropertiesLoaderUtils.loadProperties(new UrlResource(url)));
+		}
+		return result;
+	}
+
 }
@@ -198,6 +198,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	/** ResourcePatternResolver used by this context. */
 	private ResourcePatternResolver resourcePatternResolver;
 
+	/** Whether jar entry caching has been turned on for the current refresh. */
+	private boolean cacheJarEntriesForRefresh;
+
 	/** LifecycleProcessor for managing the lifecycle of beans within this context. */
 	@Nullable
 	private LifecycleProcessor lifecycleProcessor;
@@ -613,6 +616,12 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				// Reset common introspection caches in Spring's core, since we
 				// might not ever need metadata for singleton beans anymore...
 				resetCommonCaches();
+
+				// Stop caching jar file entries beyond this refresh.
+				if (this.cacheJarEntriesForRefresh) {
+					((PathMatchingResourcePatternResolver) this.resourcePatternResolver).setCacheJarEntries(false);
+					this.cacheJarEntriesForRefresh = false;
+				}
 			}
 		}
 	}
@@ -630,6 +639,16 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		this.closed.set(false);
 		this.active.set(true);
 
+		// Let classpath scans within this refresh share their jar file entries.
+		if (this.resourcePatternResolver instanceof PathMatchingResourcePatternResolver) {
+			PathMatchingResourcePatternResolver resolver =
+					(PathMatchingResourcePatternResolver) this.resourcePatternResolver;
+			if (!resolver.isCacheJarEntries()) {
+				resolver.setCacheJarEntries(true);
+				this.cacheJarEntriesForRefresh = true;
+			}
+		}
+
 		if (logger.isDebugEnabled()) {
 			if (logger.isTraceEnabled()) {
 				logger.trace("Refreshing " + this);
@@ -1415,6 +1434,21 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		return this.resourcePatternResolver.getResources(locationPattern);
 	}
 
+	/**
+	 * Clear all resource caches in this context, including the jar entry
+	 * cache of a {@link PathMatchingResourcePatternResolver} (which is only
+	 * populated during a refresh, unless turned on explicitly).
+	 * @since 5.1.21
+	 * @see PathMatchingResourcePatternResolver#clearCache()
+	 */
+	@Override
+	public void clearResourceCaches() {
+		super.clearResourceCaches();
+		if (this.resourcePatternResolver instanceof PathMatchingResourcePatternResolver) {
+			((PathMatchingResourcePatternResolver) this.resourcePatternResolver).clearCache();
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of Lifecycle interface
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,8 +24,11 @@ import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.PlaceholderConfigurerSupport;
 import org.springframework.context.EnvironmentAware;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.env.AbstractEnvironment;
 import org.springframework.core.env.ConfigurablePropertyResolver;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.IndexedPropertySourcesPropertyResolver;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertiesPropertySource;
 import org.springframework.core.env.PropertySource;
@@ -154,10 +157,23 @@ public class PropertySourcesPlaceholderConfigurer extends PlaceholderConfigurerS
 			}
 		}
 
-		processProperties(beanFactory, new PropertySourcesPropertyResolver(this.propertySources));
+		processProperties(beanFactory, createPropertyResolver(this.propertySources));
 		this.appliedPropertySources = this.propertySources;
 	}
 
+	/**
+	 * Create the resolver for the given property sources: an
+	 * {@link IndexedPropertySourcesPropertyResolver} if
+	 * {@link AbstractEnvironment#INDEXED_PROPERTY_RESOLUTION_PROPERTY_NAME} is set,
+	 * a plain {@link PropertySourcesPropertyResolver} otherwise.
+	 * @since 5.1.21
+	 */
+	protected ConfigurablePropertyResolver createPropertyResolver(MutablePropertySources propertySources) {
+		return (SpringProperties.getFlag(AbstractEnvironment.INDEXED_PROPERTY_RESOLUTION_PROPERTY_NAME) ?
+				new IndexedPropertySourcesPropertyResolver(propertySources) :
+				new PropertySourcesPropertyResolver(propertySources));
+	}
+
 	/**
 	 * Visit each bean definition in the given bean factory and attempt to replace ${...} property
 	 * placeholders with values from the given properties.
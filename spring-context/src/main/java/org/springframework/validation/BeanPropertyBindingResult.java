@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.springframework.validation;
 import java.io.Serializable;
 
 import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.ConfigurablePropertyAccessor;
 import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.lang.Nullable;
@@ -50,6 +51,8 @@ public class BeanPropertyBindingResult extends AbstractPropertyBindingResult imp
 
 	private final int autoGrowCollectionLimit;
 
+	private boolean fastPropertyAccess = false;
+
 	@Nullable
 	private transient BeanWrapper beanWrapper;
 
@@ -86,6 +89,17 @@ public class BeanPropertyBindingResult extends AbstractPropertyBindingResult imp
 		return this.target;
 	}
 
+	/**
+	 * Set whether the underlying {@link BeanWrapper} should invoke property
+	 * accessor methods through generated classes instead of through reflection.
+	 * <p>Needs to be called before the property accessor has been initialized.
+	 * @since 5.1.21
+	 * @see BeanWrapperImpl#setFastPropertyAccess
+	 */
+	public void setFastPropertyAccess(boolean fastPropertyAccess) {
+		this.fastPropertyAccess = fastPropertyAccess;
+	}
+
 	/**
 	 * Returns the {@link BeanWrapper} that this instance uses.
 	 * Creates a new one if none existed before.
@@ -98,6 +112,9 @@ public class BeanPropertyBindingResult extends AbstractPropertyBindingResult imp
 			this.beanWrapper.setExtractOldValueForEditor(true);
 			this.beanWrapper.setAutoGrowNestedPaths(this.autoGrowNestedPaths);
 			this.beanWrapper.setAutoGrowCollectionLimit(this.autoGrowCollectionLimit);
+			if (this.fastPropertyAccess && this.beanWrapper instanceof BeanWrapperImpl) {
+				((BeanWrapperImpl) this.beanWrapper).setFastPropertyAccess(true);
+			}
 		}
 		return this.beanWrapper;
 	}
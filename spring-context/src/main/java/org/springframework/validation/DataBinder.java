@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -140,6 +140,8 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 
 	private int autoGrowCollectionLimit = DEFAULT_AUTO_GROW_COLLECTION_LIMIT;
 
+	private boolean fastPropertyAccess = false;
+
 	@Nullable
 	private String[] allowedFields;
 
@@ -240,6 +242,30 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 		return this.autoGrowCollectionLimit;
 	}
 
+	/**
+	 * Set whether bean property access should invoke property accessor methods
+	 * through generated classes instead of through reflection.
+	 * <p>Default is "false". Worth switching on for frequent binding onto
+	 * the same (large) command object classes, e.g. in web applications.
+	 * Does not apply to {@link #initDirectFieldAccess() direct field access}.
+	 * @since 5.1.21
+	 * @see #initBeanPropertyAccess()
+	 * @see org.springframework.beans.BeanWrapperImpl#setFastPropertyAccess
+	 */
+	public void setFastPropertyAccess(boolean fastPropertyAccess) {
+		Assert.state(this.bindingResult == null,
+				"DataBinder is already initialized - call setFastPropertyAccess before other configuration methods");
+		this.fastPropertyAccess = fastPropertyAccess;
+	}
+
+	/**
+	 * Return whether bean property access uses generated accessor classes.
+	 * @since 5.1.21
+	 */
+	public boolean isFastPropertyAccess() {
+		return this.fastPropertyAccess;
+	}
+
 	/**
 	 * Initialize standard JavaBean property access for this DataBinder.
 	 * <p>This is the default; an explicit call just leads to eager initialization.
@@ -261,6 +287,9 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 		BeanPropertyBindingResult result = new BeanPropertyBindingResult(getTarget(),
 				getObjectName(), isAutoGrowNestedPaths(), getAutoGrowCollectionLimit());
 
+		if (this.fastPropertyAccess) {
+			result.setFastPropertyAccess(true);
+		}
 		if (this.conversionService != null) {
 			result.initConversion(this.conversionService);
 		}
@@ -18,7 +18,11 @@ package org.springframework.context.annotation;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 
 import example.profilescan.DevComponent;
@@ -40,6 +44,7 @@ import example.scannable.sub.BarComponent;
 import org.aspectj.lang.annotation.Aspect;
 import org.junit.Test;
 
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.componentscan.gh24375.MyComponent;
 import org.springframework.context.index.CandidateComponentsTestClassLoader;
@@ -47,6 +52,8 @@ import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.core.type.filter.RegexPatternTypeFilter;
@@ -90,6 +97,90 @@ public class ClassPathScanningCandidateComponentProviderTests {
 		testDefault(provider);
 	}
 
+	@Test
+	public void defaultsWithParallelScan() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+			provider.setResourceLoader(new DefaultResourceLoader(
+					CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+			provider.setScanExecutor(executor);
+			testDefault(provider);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void parallelScanPreservesSerialOrder() throws Exception {
+		ClassPathScanningCandidateComponentProvider serialProvider = new ClassPathScanningCandidateComponentProvider(true);
+		serialProvider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		List<String> serialClassNames = beanClassNames(serialProvider.findCandidateComponents(TEST_BASE_PACKAGE));
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+			provider.setResourceLoader(new DefaultResourceLoader(
+					CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+			provider.setScanExecutor(executor);
+			assertEquals(serialClassNames, beanClassNames(provider.findCandidateComponents(TEST_BASE_PACKAGE)));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void customAssignableTypeIncludeFilterWithParallelScan() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
+			provider.setResourceLoader(new DefaultResourceLoader(
+					CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+			provider.setScanExecutor(executor);
+			testCustomAssignableTypeIncludeFilter(provider);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void classFileAnnotationPrefilter() throws Exception {
+		assertTrue(ClassFileAnnotationPrefilter.mayHaveAnnotations(
+				new ClassPathResource("NamedComponent.class", NamedComponent.class)));
+		assertFalse(ClassFileAnnotationPrefilter.mayHaveAnnotations(
+				new ClassPathResource("ClassPathScanningCandidateComponentProviderTests$PlainClass.class", getClass())));
+		assertTrue(ClassFileAnnotationPrefilter.mayHaveAnnotations(new byte[] {1, 2, 3}));
+	}
+
+	@Test
+	public void parallelScanCachesMetadataForOriginalResource() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			DefaultResourceLoader resourceLoader = new DefaultResourceLoader(
+					CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader()));
+			CachingMetadataReaderFactory metadataReaderFactory = new CachingMetadataReaderFactory(resourceLoader);
+			ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+			provider.setResourceLoader(resourceLoader);
+			provider.setMetadataReaderFactory(metadataReaderFactory);
+			provider.setScanExecutor(executor);
+			Set<BeanDefinition> candidates = provider.findCandidateComponents(TEST_BASE_PACKAGE);
+			assertEquals(7, candidates.size());
+			for (BeanDefinition candidate : candidates) {
+				Resource resource = (Resource) candidate.getSource();
+				assertSame(((AnnotatedBeanDefinition) candidate).getMetadata(),
+						metadataReaderFactory.getMetadataReader(resource).getAnnotationMetadata());
+				assertSame(resource, metadataReaderFactory.getMetadataReader(resource).getResource());
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
 	private void testDefault(ClassPathScanningCandidateComponentProvider provider) {
 		Set<BeanDefinition> candidates = provider.findCandidateComponents(TEST_BASE_PACKAGE);
 		assertTrue(containsBeanClass(candidates, DefaultNamedComponent.class));
@@ -519,6 +610,14 @@ public class ClassPathScanningCandidateComponentProviderTests {
 		});
 	}
 
+	private List<String> beanClassNames(Set<BeanDefinition> candidates) {
+		List<String> classNames = new ArrayList<>(candidates.size());
+		for (BeanDefinition candidate : candidates) {
+			classNames.add(candidate.getBeanClassName());
+		}
+		return classNames;
+	}
+
 
 	@Profile(TEST_DEFAULT_PROFILE_NAME)
 	@Component(DefaultProfileAnnotatedComponent.BEAN_NAME)
@@ -548,4 +647,8 @@ public class ClassPathScanningCandidateComponentProviderTests {
 	public @interface DevProfile {
 	}
 
+
+	private static class PlainClass {
+	}
+
 }
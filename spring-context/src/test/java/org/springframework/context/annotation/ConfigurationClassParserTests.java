@@ -0,0 +1,173 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.annotation.AnnotatedGenericBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.parsing.FailFastProblemReporter;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.index.CandidateComponentsTestClassLoader;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConfigurationClassParser}, in particular the order of
+ * {@code @Bean} methods as recorded in the {@code spring.configurations} index.
+ */
+public class ConfigurationClassParserTests {
+
+	private final ResourceLoader resourceLoader = new DefaultResourceLoader(
+			CandidateComponentsTestClassLoader.indexWithConfigurations(getClass().getClassLoader(),
+					new ClassPathResource("ConfigurationClassParserTests-spring.components", getClass()),
+					new ClassPathResource("ConfigurationClassParserTests-spring.configurations", getClass())));
+
+	private final RecordingMetadataReaderFactory metadataReaderFactory =
+			new RecordingMetadataReaderFactory(this.resourceLoader);
+
+
+	@Test
+	public void beanMethodOrderFromIndex() {
+		ConfigurationClass configClass = parse(IndexedConfig.class);
+		assertEquals(Arrays.asList("charlie", "alpha", "bravo"), getBeanMethodNames(configClass));
+		assertFalse(this.metadataReaderFactory.readClassNames.contains(IndexedConfig.class.getName()));
+	}
+
+	@Test
+	public void beanMethodOrderFromClassFileWithStaleIndex() {
+		ConfigurationClass configClass = parse(StaleIndexedConfig.class);
+		assertEquals(Arrays.asList("alpha", "bravo", "charlie"), getBeanMethodNames(configClass));
+		assertTrue(this.metadataReaderFactory.readClassNames.contains(StaleIndexedConfig.class.getName()));
+	}
+
+	@Test
+	public void beanMethodOrderFromClassFileWithoutIndexEntry() {
+		ConfigurationClass configClass = parse(UnindexedConfig.class);
+		assertEquals(Arrays.asList("alpha", "bravo", "charlie"), getBeanMethodNames(configClass));
+		assertTrue(this.metadataReaderFactory.readClassNames.contains(UnindexedConfig.class.getName()));
+	}
+
+
+	private ConfigurationClass parse(Class<?> configClass) {
+		DefaultListableBeanFactory registry = new DefaultListableBeanFactory();
+		ConfigurationClassParser parser = new ConfigurationClassParser(this.metadataReaderFactory,
+				new FailFastProblemReporter(), new StandardEnvironment(), this.resourceLoader,
+				new AnnotationBeanNameGenerator(), registry);
+		parser.parse(Collections.singleton(
+				new BeanDefinitionHolder(new AnnotatedGenericBeanDefinition(configClass), "config")));
+		assertEquals(1, parser.getConfigurationClasses().size());
+		return parser.getConfigurationClasses().iterator().next();
+	}
+
+	private static List<String> getBeanMethodNames(ConfigurationClass configClass) {
+		List<String> methodNames = new ArrayList<>();
+		for (BeanMethod beanMethod : configClass.getBeanMethods()) {
+			methodNames.add(beanMethod.getMetadata().getMethodName());
+		}
+		return methodNames;
+	}
+
+
+	private static class RecordingMetadataReaderFactory extends SimpleMetadataReaderFactory {
+
+		private final List<String> readClassNames = new ArrayList<>();
+
+		RecordingMetadataReaderFactory(ResourceLoader resourceLoader) {
+			super(resourceLoader);
+		}
+
+		@Override
+		public MetadataReader getMetadataReader(String className) throws IOException {
+			this.readClassNames.add(className);
+			return super.getMetadataReader(className);
+		}
+	}
+
+
+	@Configuration
+	static class IndexedConfig {
+
+		@Bean
+		public String alpha() {
+			return "a";
+		}
+
+		@Bean
+		public String bravo() {
+			return "b";
+		}
+
+		@Bean
+		public String charlie() {
+			return "c";
+		}
+	}
+
+
+	@Configuration
+	static class StaleIndexedConfig {
+
+		@Bean
+		public String alpha() {
+			return "a";
+		}
+
+		@Bean
+		public String bravo() {
+			return "b";
+		}
+
+		@Bean
+		public String charlie() {
+			return "c";
+		}
+	}
+
+
+	@Configuration
+	static class UnindexedConfig {
+
+		@Bean
+		public String alpha() {
+			return "a";
+		}
+
+		@Bean
+		public String bravo() {
+			return "b";
+		}
+
+		@Bean
+		public String charlie() {
+			return "c";
+		}
+	}
+
+}
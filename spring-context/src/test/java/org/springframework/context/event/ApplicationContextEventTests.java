@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -192,6 +192,25 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertEquals(2, listener1.seenEvents.size());
 	}
 
+	@Test
+	public void listenersWithRetrieverCacheLimit() {
+		MyOrderedListener1 listener = new MyOrderedListener1();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setRetrieverCacheLimit(1);
+		smc.addApplicationListener(listener);
+
+		smc.multicastEvent(new MyEvent(this));
+		smc.multicastEvent(new MyOtherEvent(this));
+		smc.multicastEvent(new MyOtherEvent(this));
+		assertEquals(3, listener.seenEvents.size());
+		assertEquals(1, smc.retrieverCache.size());
+
+		smc.removeApplicationListener(listener);
+		assertEquals(0, smc.retrieverCache.size());
+		smc.multicastEvent(new MyEvent(this));
+		assertEquals(3, listener.seenEvents.size());
+	}
+
 	@Test
 	public void orderedListenersWithAnnotation() {
 		MyOrderedListener3 listener1 = new MyOrderedListener3();
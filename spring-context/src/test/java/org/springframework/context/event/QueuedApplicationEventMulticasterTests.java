@@ -0,0 +1,270 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.util.ReflectionUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link QueuedApplicationEventMulticaster}.
+ *
+ * @since 5.1.21
+ */
+public class QueuedApplicationEventMulticasterTests {
+
+	private final List<Runnable> tasks = new ArrayList<>();
+
+	private final QueuedApplicationEventMulticaster multicaster = new QueuedApplicationEventMulticaster();
+
+
+	@Test
+	public void noTaskExecutorInvokesListenersInline() {
+		List<Object> received = new ArrayList<>();
+		this.multicaster.addApplicationListener(payloadListener(received));
+
+		publish("a", "b");
+		assertEquals(Arrays.asList("a", "b"), received);
+	}
+
+	@Test
+	public void queuedEventsAreDeliveredInOrder() {
+		this.multicaster.setTaskExecutor(this.tasks::add);
+		List<Object> received = new ArrayList<>();
+		this.multicaster.addApplicationListener(payloadListener(received));
+
+		publish("a", "b", "c");
+		assertTrue(received.isEmpty());
+		assertEquals(1, this.tasks.size());
+
+		runTasks();
+		assertEquals(Arrays.asList("a", "b", "c"), received);
+	}
+
+	@Test
+	public void batchListenerReceivesQueuedEventsAtOnce() {
+		this.multicaster.setTaskExecutor(this.tasks::add);
+		this.multicaster.setMaxBatchSize(2);
+		BatchEvents target = new BatchEvents();
+		this.multicaster.addApplicationListener(batchListener(target));
+
+		publish("a", "b", "c");
+		runTasks();
+		assertEquals(Arrays.asList(Arrays.asList("a", "b"), Collections.singletonList("c")), target.batches);
+	}
+
+	@Test
+	public void batchListenerWithoutQueueingReceivesSingletonLists() {
+		BatchEvents target = new BatchEvents();
+		this.multicaster.addApplicationListener(batchListener(target));
+
+		publish("a", "b");
+		assertEquals(Arrays.asList(Collections.singletonList("a"), Collections.singletonList("b")), target.batches);
+	}
+
+	@Test
+	public void batchListenerOnlySupportsElementType() {
+		ApplicationListenerMethodAdapter adapter = batchListener(new BatchEvents());
+		assertTrue(adapter.isBatchListener());
+		assertTrue(adapter.supportsEventType(
+				org.springframework.core.ResolvableType.forClassWithGenerics(PayloadApplicationEvent.class, String.class)));
+		assertFalse(adapter.supportsEventType(
+				org.springframework.core.ResolvableType.forClassWithGenerics(PayloadApplicationEvent.class, Integer.class)));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void batchListenerRequiresListParameter() {
+		Method method = ReflectionUtils.findMethod(BatchEvents.class, "invalidBatch", String.class);
+		new ApplicationListenerMethodAdapter("batchEvents", BatchEvents.class, method);
+	}
+
+	@Test
+	public void abortWhenQueueIsFull() {
+		this.multicaster.setTaskExecutor(this.tasks::add);
+		this.multicaster.setQueueCapacity(2);
+		this.multicaster.setBackpressurePolicy(QueuedApplicationEventMulticaster.BackpressurePolicy.ABORT);
+		List<Object> received = new ArrayList<>();
+		this.multicaster.addApplicationListener(payloadListener(received));
+
+		publish("a", "b");
+		try {
+			publish("c");
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+		runTasks();
+		assertEquals(Arrays.asList("a", "b"), received);
+	}
+
+	@Test
+	public void discardWhenQueueIsFull() {
+		this.multicaster.setTaskExecutor(this.tasks::add);
+		this.multicaster.setQueueCapacity(2);
+		this.multicaster.setBackpressurePolicy(QueuedApplicationEventMulticaster.BackpressurePolicy.DISCARD);
+		List<Object> received = new ArrayList<>();
+		this.multicaster.addApplicationListener(payloadListener(received));
+
+		publish("a", "b", "c");
+		runTasks();
+		assertEquals(Arrays.asList("a", "b"), received);
+	}
+
+	@Test
+	public void callerRunsWhenQueueIsFull() {
+		this.multicaster.setTaskExecutor(this.tasks::add);
+		this.multicaster.setQueueCapacity(2);
+		this.multicaster.setBackpressurePolicy(QueuedApplicationEventMulticaster.BackpressurePolicy.CALLER_RUNS);
+		List<Object> received = new ArrayList<>();
+		this.multicaster.addApplicationListener(payloadListener(received));
+
+		publish("a", "b", "c");
+		assertEquals(Collections.singletonList("c"), received);
+		runTasks();
+		assertEquals(Arrays.asList("c", "a", "b"), received);
+	}
+
+	@Test
+	public void listenerExceptionDoesNotStallQueue() {
+		this.multicaster.setTaskExecutor(this.tasks::add);
+		List<Object> received = new ArrayList<>();
+		this.multicaster.addApplicationListener((ApplicationListener<PayloadApplicationEvent<String>>) event -> {
+			if ("b".equals(event.getPayload())) {
+				throw new IllegalStateException("b");
+			}
+			received.add(event.getPayload());
+		});
+
+		publish("a", "b", "c");
+		try {
+			runTasks();
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			assertEquals("b", ex.getMessage());
+		}
+		runTasks();
+		assertEquals(Arrays.asList("a", "c"), received);
+	}
+
+	@Test
+	public void concurrentPublishersKeepPerListenerOrder() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			this.multicaster.setTaskExecutor(executor);
+			this.multicaster.setMaxBatchSize(7);
+			List<Object> received = Collections.synchronizedList(new ArrayList<>());
+			this.multicaster.addApplicationListener(payloadListener(received));
+			BatchEvents target = new BatchEvents();
+			this.multicaster.addApplicationListener(batchListener(target));
+
+			List<Object> expected = new ArrayList<>();
+			for (int i = 0; i < 1000; i++) {
+				String payload = String.valueOf(i);
+				expected.add(payload);
+				publish(payload);
+			}
+			for (int i = 0; i < 500 && (received.size() < 1000 || target.received().size() < 1000); i++) {
+				Thread.sleep(10);
+			}
+			assertEquals(expected, received);
+			assertEquals(expected, target.received());
+		}
+		finally {
+			executor.shutdown();
+			executor.awaitTermination(5, TimeUnit.SECONDS);
+		}
+	}
+
+
+	private void publish(String... payloads) {
+		for (String payload : payloads) {
+			this.multicaster.multicastEvent(new PayloadApplicationEvent<>(this, payload));
+		}
+	}
+
+	private void runTasks() {
+		while (!this.tasks.isEmpty()) {
+			this.tasks.remove(0).run();
+		}
+	}
+
+	private static ApplicationListener<PayloadApplicationEvent<String>> payloadListener(List<Object> received) {
+		return event -> received.add(event.getPayload());
+	}
+
+	private static ApplicationListenerMethodAdapter batchListener(BatchEvents target) {
+		Method method = ReflectionUtils.findMethod(BatchEvents.class, "onBatch", List.class);
+		return new StaticApplicationListenerMethodAdapter(method, target);
+	}
+
+
+	private static class StaticApplicationListenerMethodAdapter extends ApplicationListenerMethodAdapter {
+
+		private final Object targetBean;
+
+		public StaticApplicationListenerMethodAdapter(Method method, Object targetBean) {
+			super("unused", targetBean.getClass(), method);
+			this.targetBean = targetBean;
+		}
+
+		@Override
+		public Object getTargetBean() {
+			return this.targetBean;
+		}
+	}
+
+
+	static class BatchEvents {
+
+		final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+		@EventListener(batch = true)
+		public void onBatch(List<String> payloads) {
+			this.batches.add(new ArrayList<>(payloads));
+		}
+
+		@EventListener(batch = true)
+		public void invalidBatch(String payload) {
+		}
+
+		List<Object> received() {
+			List<Object> received = new ArrayList<>();
+			synchronized (this.batches) {
+				for (List<String> batch : this.batches) {
+					received.addAll(batch);
+				}
+			}
+			return received;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -64,6 +64,16 @@ public class CachedExpressionEvaluatorTests {
 		assertEquals("Cached expression should be based on type", 2, expressionEvaluator.testCache.size());
 	}
 
+	@Test
+	public void clearParameterIndexCache() {
+		Method method = ReflectionUtils.findMethod(getClass(), "equals", Object.class);
+		MethodParameterIndex parameterIndex = expressionEvaluator.getParameterIndex(method);
+		assertSame(parameterIndex, expressionEvaluator.getParameterIndex(method));
+
+		expressionEvaluator.clearParameterIndexCache();
+		assertNotSame(parameterIndex, expressionEvaluator.getParameterIndex(method));
+	}
+
 	private void hasParsedExpression(String expression) {
 		verify(expressionEvaluator.getParser(), times(1)).parseExpression(expression);
 	}
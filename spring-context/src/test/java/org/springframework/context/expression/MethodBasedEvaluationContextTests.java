@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -125,10 +125,72 @@ public class MethodBasedEvaluationContextTests {
 		assertArrayEquals(new Object[] {"hello", "hi"}, (Object[]) context.lookupVariable("vararg"));
 	}
 
+	@Test
+	public void indexedArguments() {
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", String.class, Boolean.class);
+		MethodBasedEvaluationContext context = createIndexedEvaluationContext(method, "test", true);
+
+		assertEquals("test", context.lookupVariable("a0"));
+		assertEquals("test", context.lookupVariable("p0"));
+		assertEquals("test", context.lookupVariable("foo"));
+
+		assertEquals(true, context.lookupVariable("a1"));
+		assertEquals(true, context.lookupVariable("p1"));
+		assertEquals(true, context.lookupVariable("flag"));
+
+		assertNull(context.lookupVariable("a2"));
+		assertNull(context.lookupVariable("p2"));
+	}
+
+	@Test
+	public void indexedArgumentsWithExplicitVariable() {
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", String.class, Boolean.class);
+		MethodBasedEvaluationContext context = createIndexedEvaluationContext(method, "test", true);
+		context.setVariable("foo", "bar");
+
+		assertEquals("bar", context.lookupVariable("foo"));
+		assertEquals("test", context.lookupVariable("p0"));
+	}
+
+	@Test
+	public void indexedVarArgs() {
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", Boolean.class, String[].class);
+		MethodBasedEvaluationContext context = createIndexedEvaluationContext(method, null, "hello");
+		assertNull(context.lookupVariable("flag"));
+		assertEquals("hello", context.lookupVariable("vararg"));
+
+		context = createIndexedEvaluationContext(method, null, "hello", "hi");
+		assertNull(context.lookupVariable("p0"));
+		assertArrayEquals(new Object[] {"hello", "hi"}, (Object[]) context.lookupVariable("a1"));
+		assertArrayEquals(new Object[] {"hello", "hi"}, (Object[]) context.lookupVariable("vararg"));
+
+		context = createIndexedEvaluationContext(method, new Object[] {null});
+		assertNull(context.lookupVariable("a1"));
+		assertNull(context.lookupVariable("vararg"));
+	}
+
+	@Test
+	public void parameterIndex() {
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", String.class, Boolean.class);
+		MethodParameterIndex parameterIndex = MethodParameterIndex.forMethod(method, this.paramDiscover);
+
+		assertSame(method, parameterIndex.getMethod());
+		assertEquals(2, parameterIndex.getParameterCount());
+		assertEquals(0, parameterIndex.indexOf("foo"));
+		assertEquals(1, parameterIndex.indexOf("p1"));
+		assertEquals(-1, parameterIndex.indexOf("p2"));
+		assertEquals(-1, parameterIndex.indexOf("bar"));
+	}
+
 	private MethodBasedEvaluationContext createEvaluationContext(Method method, Object... args) {
 		return new MethodBasedEvaluationContext(this, method, args, this.paramDiscover);
 	}
 
+	private MethodBasedEvaluationContext createIndexedEvaluationContext(Method method, Object... args) {
+		return new MethodBasedEvaluationContext(this, method, args,
+				MethodParameterIndex.forMethod(method, this.paramDiscover));
+	}
+
 
 	@SuppressWarnings("unused")
 	private static class SampleMethods {
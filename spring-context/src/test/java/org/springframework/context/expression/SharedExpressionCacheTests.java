@@ -0,0 +1,163 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.expression;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.ReflectionUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SharedExpressionCache}.
+ *
+ * @since 5.1.21
+ */
+public class SharedExpressionCacheTests {
+
+	private final SharedExpressionCache sharedCache = new SharedExpressionCache(2);
+
+
+	@Test
+	public void identicalExpressionsAreShared() {
+		Expression expression = this.sharedCache.getExpression("#a + 1");
+		assertSame(expression, this.sharedCache.getExpression("#a + 1"));
+		assertNotSame(expression, this.sharedCache.getExpression("#a + 2"));
+		assertEquals(2, this.sharedCache.getCacheSize());
+	}
+
+	@Test
+	public void cacheIsBounded() {
+		Expression expression = this.sharedCache.getExpression("1");
+		this.sharedCache.getExpression("2");
+		this.sharedCache.getExpression("3");
+		assertEquals(2, this.sharedCache.getCacheSize());
+		assertEquals(2, this.sharedCache.getCacheLimit());
+		assertNotSame(expression, this.sharedCache.getExpression("1"));
+	}
+
+	@Test
+	public void expressionIsCompiledAfterFirstEvaluation() {
+		Expression expression = this.sharedCache.getExpression("#a + 1");
+		EvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("a", 1);
+
+		assertEquals(Integer.valueOf(2), this.sharedCache.getValue(expression, context, Integer.class));
+		assertEquals(1, this.sharedCache.getInterpretedEvaluationCount());
+		assertEquals(0, this.sharedCache.getCompiledEvaluationCount());
+
+		context.setVariable("a", 2);
+		assertEquals(Integer.valueOf(3), this.sharedCache.getValue(expression, context, Integer.class));
+		assertEquals(Integer.valueOf(3), this.sharedCache.getValue(expression, context, Integer.class));
+		assertEquals(1, this.sharedCache.getInterpretedEvaluationCount());
+		assertEquals(2, this.sharedCache.getCompiledEvaluationCount());
+	}
+
+	@Test
+	public void compiledExpressionFallsBackForDifferentTypes() {
+		Expression expression = this.sharedCache.getExpression("#a.length()");
+		EvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("a", "abc");
+		assertEquals(Integer.valueOf(3), this.sharedCache.getValue(expression, context, Integer.class));
+		assertEquals(Integer.valueOf(3), this.sharedCache.getValue(expression, context, Integer.class));
+
+		assertEquals(1, this.sharedCache.getInterpretedEvaluationCount());
+		assertEquals(1, this.sharedCache.getCompiledEvaluationCount());
+
+		context.setVariable("a", new StringBuilder("abcd"));
+		assertEquals(Integer.valueOf(4), this.sharedCache.getValue(expression, context, Integer.class));
+		assertEquals(2, this.sharedCache.getInterpretedEvaluationCount());
+		assertEquals(1, this.sharedCache.getCompiledEvaluationCount());
+		assertFalse(((SpelExpression) expression).isCompiled());
+	}
+
+	@Test
+	public void compiledExpressionIsNotRecompiledAfterFallback() {
+		Expression expression = this.sharedCache.getExpression("#a.length()");
+		EvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("a", "abc");
+		this.sharedCache.getValue(expression, context, Integer.class);
+		this.sharedCache.getValue(expression, context, Integer.class);
+		for (int i = 0; i < 48; i++) {
+			context.setVariable("a", (i % 2 == 0 ? new StringBuilder("abc") : "abc"));
+			assertEquals(Integer.valueOf(3), this.sharedCache.getValue(expression, context, Integer.class));
+		}
+		// Compiled once for String after the first run, falling back for StringBuilder,
+		// then left to the regular MIXED mode threshold instead of recompiling
+		assertFalse(((SpelExpression) expression).isCompiled());
+		assertEquals(49, this.sharedCache.getInterpretedEvaluationCount());
+		assertEquals(1, this.sharedCache.getCompiledEvaluationCount());
+	}
+
+	@Test
+	public void compilerOff() {
+		SharedExpressionCache sharedCache = new SharedExpressionCache(
+				new SpelParserConfiguration(SpelCompilerMode.OFF, null), 10);
+		Expression expression = sharedCache.getExpression("1 + 1");
+		EvaluationContext context = new StandardEvaluationContext();
+		assertEquals(Integer.valueOf(2), sharedCache.getValue(expression, context, Integer.class));
+		assertEquals(Integer.valueOf(2), sharedCache.getValue(expression, context, Integer.class));
+		assertEquals(2, sharedCache.getInterpretedEvaluationCount());
+		assertEquals(0, sharedCache.getCompiledEvaluationCount());
+	}
+
+	@Test
+	public void cachedExpressionEvaluatorUsesSharedCache() {
+		TestExpressionEvaluator evaluator = new TestExpressionEvaluator();
+		Method toString = ReflectionUtils.findMethod(getClass(), "toString");
+		Method hashCode = ReflectionUtils.findMethod(getClass(), "hashCode");
+
+		Expression expression = evaluator.getTestExpression("true", toString);
+		assertNotSame(expression, evaluator.getTestExpression("true", hashCode));
+		assertEquals(2, evaluator.testCache.size());
+
+		evaluator.testCache.clear();
+		evaluator.setSharedExpressionCache(this.sharedCache);
+		expression = evaluator.getTestExpression("true", toString);
+		assertSame(expression, evaluator.getTestExpression("true", hashCode));
+		assertTrue(evaluator.testCache.isEmpty());
+		assertEquals(Boolean.TRUE, evaluator.evaluate(expression));
+		assertEquals(Boolean.TRUE, evaluator.evaluate(expression));
+		assertEquals(1, this.sharedCache.getInterpretedEvaluationCount());
+		assertEquals(1, this.sharedCache.getCompiledEvaluationCount());
+	}
+
+
+	private class TestExpressionEvaluator extends CachedExpressionEvaluator {
+
+		private final Map<ExpressionKey, Expression> testCache = new ConcurrentHashMap<>();
+
+		public Expression getTestExpression(String expression, Method method) {
+			return getExpression(this.testCache, new AnnotatedElementKey(method, getClass()), expression);
+		}
+
+		public Object evaluate(Expression expression) {
+			return getValue(expression, new StandardEvaluationContext(), Object.class);
+		}
+	}
+
+}
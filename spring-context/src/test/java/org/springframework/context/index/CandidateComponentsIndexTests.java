@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -77,6 +77,22 @@ public class CandidateComponentsIndexTests {
 				contains("com.example.Foo"));
 	}
 
+	@Test
+	public void getBeanMethodNames() {
+		CandidateComponentsIndex index = new CandidateComponentsIndex(
+				Collections.singletonList(createSampleProperties()),
+				Collections.singletonList(createProperties("com.example.AppConfig", "zebra,alpha,middle")));
+		assertThat(index.getBeanMethodNames("com.example.AppConfig"), contains("zebra", "alpha", "middle"));
+		assertThat(index.getBeanMethodNames("com.example.OtherConfig"), nullValue());
+	}
+
+	@Test
+	public void getBeanMethodNamesWithoutConfigurations() {
+		CandidateComponentsIndex index = new CandidateComponentsIndex(
+				Collections.singletonList(createSampleProperties()));
+		assertThat(index.getBeanMethodNames("com.example.service.One"), nullValue());
+	}
+
 	private static Properties createProperties(String key, String stereotypes) {
 		Properties properties = new Properties();
 		properties.put(key, String.join(",", stereotypes));
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -65,20 +65,55 @@ public class CandidateComponentsTestClassLoader extends ClassLoader {
 				}).collect(Collectors.toList())));
 	}
 
+	/**
+	 * Create a test {@link ClassLoader} that creates an index with the
+	 * specified {@code spring.components} and {@code spring.configurations}
+	 * {@link Resource} instances.
+	 * @param classLoader the classloader to use for all other operations
+	 * @param components the resource to use for the candidate components
+	 * @param configurations the resource to use for the {@code @Bean} methods
+	 * of configuration classes
+	 * @return a test {@link ClassLoader} with an index built based on the
+	 * specified resources.
+	 * @see CandidateComponentsIndexLoader#CONFIGURATIONS_RESOURCE_LOCATION
+	 */
+	public static ClassLoader indexWithConfigurations(ClassLoader classLoader,
+			Resource components, Resource configurations) {
+
+		try {
+			return new CandidateComponentsTestClassLoader(classLoader,
+					Collections.enumeration(Collections.singletonList(components.getURL())),
+					Collections.enumeration(Collections.singletonList(configurations.getURL())));
+		}
+		catch (IOException ex) {
+			throw new IllegalArgumentException("Invalid resources " + components + ", " + configurations, ex);
+		}
+	}
+
 
 	private final Enumeration<URL> resourceUrls;
 
+	private final Enumeration<URL> configurationUrls;
+
 	private final IOException cause;
 
 	public CandidateComponentsTestClassLoader(ClassLoader classLoader, Enumeration<URL> resourceUrls) {
+		this(classLoader, resourceUrls, null);
+	}
+
+	public CandidateComponentsTestClassLoader(ClassLoader classLoader, Enumeration<URL> resourceUrls,
+			Enumeration<URL> configurationUrls) {
+
 		super(classLoader);
 		this.resourceUrls = resourceUrls;
+		this.configurationUrls = configurationUrls;
 		this.cause = null;
 	}
 
 	public CandidateComponentsTestClassLoader(ClassLoader parent, IOException cause) {
 		super(parent);
 		this.resourceUrls = null;
+		this.configurationUrls = null;
 		this.cause = cause;
 	}
 
@@ -90,6 +125,10 @@ public class CandidateComponentsTestClassLoader extends ClassLoader {
 			}
 			throw this.cause;
 		}
+		if (CandidateComponentsIndexLoader.CONFIGURATIONS_RESOURCE_LOCATION.equals(name) &&
+				this.configurationUrls != null) {
+			return this.configurationUrls;
+		}
 		return super.getResources(name);
 	}
 
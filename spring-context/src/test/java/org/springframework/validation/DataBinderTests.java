@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,6 +41,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.InvalidPropertyException;
 import org.springframework.beans.MethodInvocationException;
 import org.springframework.beans.MutablePropertyValues;
@@ -83,6 +84,31 @@ public class DataBinderTests {
 	public final ExpectedException expectedException = ExpectedException.none();
 
 
+	@Test
+	public void testBindingWithFastPropertyAccess() throws BindException {
+		TestBean rod = new TestBean();
+		rod.setSpouse(new TestBean());
+		DataBinder binder = new DataBinder(rod, "person");
+		binder.setFastPropertyAccess(true);
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.add("name", "Rod");
+		pvs.add("age", "032");
+		pvs.add("spouse.name", "Kerry");
+		pvs.add("touchy", "m.y");
+
+		binder.bind(pvs);
+		assertEquals("Rod", rod.getName());
+		assertEquals(32, rod.getAge());
+		assertEquals("Kerry", rod.getSpouse().getName());
+		assertEquals("Rod", binder.getBindingResult().getFieldValue("name"));
+		assertTrue(((BeanWrapperImpl) ((BeanPropertyBindingResult) binder.getBindingResult())
+				.getPropertyAccessor()).isFastPropertyAccess());
+
+		BindingResult result = binder.getBindingResult();
+		assertEquals(1, result.getErrorCount());
+		assertEquals("methodInvocation", result.getFieldError("touchy").getCode());
+	}
+
 	@Test
 	public void testBindingNoErrors() throws BindException {
 		TestBean rod = new TestBean();
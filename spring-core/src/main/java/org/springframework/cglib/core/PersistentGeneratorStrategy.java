@@ -0,0 +1,215 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cglib.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.SpringVersion;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link GeneratorStrategy} decorator which persists the bytecode of classes
+ * generated by an {@link Enhancer} in a directory, reading it from there
+ * instead of running the bytecode generation again on subsequent runs.
+ *
+ * <p>Classes are identified by the {@linkplain Enhancer#getStableKey() stable key}
+ * of their Enhancer, which reflects the effective proxy configuration as well as
+ * the structure of the proxied superclass and interfaces. Changes to any of those
+ * lead to a different key and therefore to regular bytecode generation. Within a
+ * single JVM, CGLIB's own class cache keeps sharing generated classes for
+ * identical configurations across application contexts.
+ *
+ * <p>Typically activated through the {@value #CACHE_DIRECTORY_PROPERTY_NAME}
+ * system property (or {@link SpringProperties} entry), e.g. for test suites which
+ * create the same proxy classes in many JVM runs. Note that any class file in the
+ * cache directory gets defined as-is: the directory must not be writable for
+ * untrusted parties.
+ *
+ * @since 5.1.21
+ * @see #configure(Enhancer)
+ */
+public class PersistentGeneratorStrategy implements GeneratorStrategy {
+
+	/**
+	 * System property that specifies the directory for persisting generated
+	 * CGLIB classes: {@code "spring.cglib.cacheDirectory"}.
+	 * <p>Not set by default, i.e. generated classes are not persisted.
+	 */
+	public static final String CACHE_DIRECTORY_PROPERTY_NAME = "spring.cglib.cacheDirectory";
+
+	private static final String CLASS_FILE_SUFFIX = ".class";
+
+	private static final Log logger = LogFactory.getLog(PersistentGeneratorStrategy.class);
+
+
+	private final GeneratorStrategy delegate;
+
+	private final File cacheDirectory;
+
+
+	/**
+	 * Create a new PersistentGeneratorStrategy.
+	 * @param delegate the strategy to generate bytecode with if no persisted
+	 * class is available
+	 * @param cacheDirectory the directory for persisted classes
+	 */
+	public PersistentGeneratorStrategy(GeneratorStrategy delegate, File cacheDirectory) {
+		Assert.notNull(delegate, "Delegate GeneratorStrategy must not be null");
+		Assert.notNull(cacheDirectory, "Cache directory must not be null");
+		this.delegate = delegate;
+		this.cacheDirectory = cacheDirectory;
+	}
+
+
+	/**
+	 * Return the directory for persisted classes.
+	 */
+	public File getCacheDirectory() {
+		return this.cacheDirectory;
+	}
+
+	@Override
+	public byte[] generate(ClassGenerator cg) throws Exception {
+		if (!(cg instanceof Enhancer)) {
+			return this.delegate.generate(cg);
+		}
+		Enhancer enhancer = (Enhancer) cg;
+		Path classFile = this.cacheDirectory.toPath().resolve(getClassFileName(enhancer));
+		if (Files.isRegularFile(classFile)) {
+			try {
+				return Files.readAllBytes(classFile);
+			}
+			catch (IOException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Failed to read persisted class file " + classFile + " - regenerating", ex);
+				}
+			}
+		}
+		byte[] bytes = this.delegate.generate(cg);
+		persist(classFile, bytes);
+		return bytes;
+	}
+
+	/**
+	 * Determine the file name for the class generated by the given Enhancer,
+	 * combining its class name (itself derived from the stable key if the Enhancer
+	 * has been {@linkplain #configure configured}) with a digest of the stable key,
+	 * the Spring version and the delegate strategy.
+	 */
+	private String getClassFileName(Enhancer enhancer) {
+		String key = SpringVersion.getVersion() + ';' + this.delegate.getClass().getName() + ';' +
+				enhancer.getStableKey();
+		String digest = DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+		return enhancer.getClassName() + '-' + digest + CLASS_FILE_SUFFIX;
+	}
+
+	private void persist(Path classFile, byte[] bytes) {
+		try {
+			Files.createDirectories(classFile.getParent());
+			Path tempFile = Files.createTempFile(classFile.getParent(), "cglib", ".tmp");
+			try {
+				Files.write(tempFile, bytes);
+				Files.move(tempFile, classFile, StandardCopyOption.ATOMIC_MOVE);
+			}
+			finally {
+				Files.deleteIfExists(tempFile);
+			}
+		}
+		catch (IOException | UnsupportedOperationException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to persist generated class file " + classFile, ex);
+			}
+		}
+	}
+
+
+	/**
+	 * Configure the given Enhancer for persisting its generated class if a
+	 * {@linkplain #getDefaultCacheDirectory() default cache directory} has been
+	 * specified, wrapping its current strategy and naming policy. Does nothing
+	 * otherwise.
+	 * <p>To be called after the Enhancer's own strategy and naming policy have
+	 * been set.
+	 * @param enhancer the Enhancer to configure
+	 * @see StableNamingPolicy
+	 */
+	public static void configure(Enhancer enhancer) {
+		File cacheDirectory = getDefaultCacheDirectory();
+		if (cacheDirectory != null) {
+			enhancer.setStrategy(new PersistentGeneratorStrategy(enhancer.getStrategy(), cacheDirectory));
+			enhancer.setNamingPolicy(new StableNamingPolicy(enhancer.getNamingPolicy()));
+		}
+	}
+
+	/**
+	 * Return the cache directory specified through the
+	 * {@value #CACHE_DIRECTORY_PROPERTY_NAME} property, if any.
+	 */
+	@Nullable
+	public static File getDefaultCacheDirectory() {
+		String cacheDirectory = SpringProperties.getProperty(CACHE_DIRECTORY_PROPERTY_NAME);
+		return (StringUtils.hasText(cacheDirectory) ? new File(cacheDirectory.trim()) : null);
+	}
+
+
+	/**
+	 * {@link NamingPolicy} decorator which derives the generated class name from
+	 * the {@linkplain Enhancer#getStableKey() stable key} instead of the regular
+	 * cache key, so that the same class gets the same name in every JVM run.
+	 */
+	public static class StableNamingPolicy implements NamingPolicy {
+
+		private final NamingPolicy delegate;
+
+		public StableNamingPolicy(NamingPolicy delegate) {
+			Assert.notNull(delegate, "Delegate NamingPolicy must not be null");
+			this.delegate = delegate;
+		}
+
+		@Override
+		public String getClassName(String prefix, String source, Object key, Predicate names) {
+			AbstractClassGenerator<?> generator = AbstractClassGenerator.getCurrent();
+			Object keyToUse = (generator instanceof Enhancer ? ((Enhancer) generator).getStableKey() : key);
+			return this.delegate.getClassName(prefix, source, keyToUse, names);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return (this == other || (other instanceof StableNamingPolicy &&
+					this.delegate.equals(((StableNamingPolicy) other).delegate)));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.delegate.hashCode();
+		}
+	}
+
+}
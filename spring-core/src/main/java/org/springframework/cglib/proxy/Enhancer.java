@@ -24,6 +24,7 @@ import java.lang.reflect.Method;
 import java.security.ProtectionDomain;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -196,6 +197,12 @@ public class Enhancer extends AbstractClassGenerator {
 
 	private Object currentKey;
 
+	// SPRING PATCH BEGIN
+	private Object stableKeySource;
+
+	private String stableKey;
+	// SPRING PATCH END
+
 
 	/**
 	 * Internal interface, only public due to ClassLoader issues.
@@ -427,6 +434,58 @@ public class Enhancer extends AbstractClassGenerator {
 		serialVersionUID = sUID;
 	}
 
+	// SPRING PATCH BEGIN
+	/**
+	 * Return a key for the class to be generated which, unlike the regular cache key,
+	 * remains the same across JVM runs: derived from the names of the superclass,
+	 * interfaces and callback types, the signatures of all superclass constructors,
+	 * and the callback index chosen by the callback filter for each intercepted method.
+	 * Only meaningful during class generation.
+	 * @see org.springframework.cglib.core.PersistentGeneratorStrategy
+	 */
+	public String getStableKey() {
+		if (stableKey == null || stableKeySource != currentKey) {
+			stableKey = buildStableKey();
+			stableKeySource = currentKey;
+		}
+		return stableKey;
+	}
+
+	private String buildStableKey() {
+		Class sc = (superclass == null) ? Object.class : superclass;
+		StringBuilder sb = new StringBuilder(sc.getName());
+		if (interfaces != null) {
+			for (Class ifc : interfaces) {
+				sb.append(',').append(ifc.getName());
+			}
+		}
+		sb.append(';');
+		if (callbackTypes != null) {
+			for (Type callbackType : callbackTypes) {
+				sb.append(callbackType.getDescriptor());
+			}
+		}
+		sb.append(';').append(useFactory).append(',').append(interceptDuringConstruction)
+				.append(',').append(serialVersionUID);
+		List<String> members = new ArrayList<String>();
+		for (Constructor constructor : sc.getDeclaredConstructors()) {
+			members.add(constructor.toString());
+		}
+		List methods = new ArrayList();
+		getMethods(sc, interfaces, methods);
+		CallbackFilter callbackFilter = (filter != null) ? filter : ALL_ZERO;
+		for (Object method : methods) {
+			members.add(method + "=" + callbackFilter.accept((Method) method));
+		}
+		// Reflection does not guarantee any particular order
+		Collections.sort(members);
+		for (String member : members) {
+			sb.append('\n').append(member);
+		}
+		return sb.toString();
+	}
+	// SPRING PATCH END
+
 	private void preValidate() {
 		if (callbackTypes == null) {
 			callbackTypes = CallbackInfo.determineTypes(callbacks, false);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.SerializableTypeWrapper.FieldTypeProvider;
 import org.springframework.core.SerializableTypeWrapper.MethodParameterTypeProvider;
@@ -93,6 +94,9 @@ public class ResolvableType implements Serializable {
 	private static final ConcurrentReferenceHashMap<ResolvableType, ResolvableType> cache =
 			new ConcurrentReferenceHashMap<>(256);
 
+	private static final ConcurrentReferenceHashMap<Class<?>, ResolvableType> classCache =
+			new ConcurrentReferenceHashMap<>(256);
+
 
 	/**
 	 * The underlying Java type being managed.
@@ -132,6 +136,13 @@ public class ResolvableType implements Serializable {
 	@Nullable
 	private volatile ResolvableType[] generics;
 
+	/**
+	 * Results of {@link #as(Class)} for plain {@link Class} types, which are
+	 * typically shared through {@link #forClass(Class)} and asked repeatedly.
+	 */
+	@Nullable
+	private transient volatile Map<Class<?>, ResolvableType> asTypes;
+
 
 	/**
 	 * Private constructor used to create a new {@link ResolvableType} for cache key purposes,
@@ -446,6 +457,24 @@ public class ResolvableType implements Serializable {
 		if (resolved == null || resolved == type) {
 			return this;
 		}
+		if (this.type != resolved || this.typeProvider != null || this.variableResolver != null ||
+				this.componentType != null) {
+			return searchAs(type);
+		}
+		Map<Class<?>, ResolvableType> asTypes = this.asTypes;
+		if (asTypes == null) {
+			asTypes = new ConcurrentHashMap<>(4);
+			this.asTypes = asTypes;
+		}
+		ResolvableType asType = asTypes.get(type);
+		if (asType == null) {
+			asType = searchAs(type);
+			asTypes.put(type, asType);
+		}
+		return asType;
+	}
+
+	private ResolvableType searchAs(Class<?> type) {
 		for (ResolvableType interfaceType : getInterfaces()) {
 			ResolvableType interfaceAsType = interfaceType.as(type);
 			if (interfaceAsType != NONE) {
@@ -987,6 +1016,9 @@ public class ResolvableType implements Serializable {
 	 * Return a {@link ResolvableType} for the specified {@link Class},
 	 * using the full generic type information for assignability checks.
 	 * For example: {@code ResolvableType.forClass(MyArrayList.class)}.
+	 * <p>As of 5.1.21, the returned instance is shared for repeated calls with
+	 * the same class, retaining its lazily resolved supertype, interface and
+	 * generic information across lookups.
 	 * @param clazz the class to introspect ({@code null} is semantically
 	 * equivalent to {@code Object.class} for typical use cases here)
 	 * @return a {@link ResolvableType} for the specified class
@@ -994,7 +1026,18 @@ public class ResolvableType implements Serializable {
 	 * @see #forClassWithGenerics(Class, Class...)
 	 */
 	public static ResolvableType forClass(@Nullable Class<?> clazz) {
-		return new ResolvableType(clazz);
+		if (clazz == null) {
+			clazz = Object.class;
+		}
+		ResolvableType type = classCache.get(clazz);
+		if (type == null) {
+			type = new ResolvableType(clazz);
+			ResolvableType existing = classCache.putIfAbsent(clazz, type);
+			if (existing != null) {
+				type = existing;
+			}
+		}
+		return type;
 	}
 
 	/**
@@ -1413,6 +1456,9 @@ public class ResolvableType implements Serializable {
 		// For simple Class references, build the wrapper right away -
 		// no expensive resolution necessary, so not worth caching...
 		if (type instanceof Class) {
+			if (typeProvider == null && variableResolver == null) {
+				return forClass((Class<?>) type);
+			}
 			return new ResolvableType(type, typeProvider, variableResolver, (ResolvableType) null);
 		}
 
@@ -1436,6 +1482,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static void clearCache() {
 		cache.clear();
+		classCache.clear();
 		SerializableTypeWrapper.cache.clear();
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.core.annotation;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -30,8 +31,10 @@ import java.util.Map;
 import java.util.Set;
 
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.annotation.AnnotationUtils.AnnotationCacheKey;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
@@ -107,6 +110,17 @@ public abstract class AnnotatedElementUtils {
 
 	private static final Processor<Boolean> alwaysTrueAnnotationProcessor = new AlwaysTrueBooleanAnnotationProcessor();
 
+	/**
+	 * Marker for the absence of a merged annotation in the caches below.
+	 */
+	private static final Object NO_MERGED_ANNOTATION = new Object();
+
+	private static final Map<AnnotationCacheKey, Object> getMergedAnnotationCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+	private static final Map<AnnotationCacheKey, Object> findMergedAnnotationCache =
+			new ConcurrentReferenceHashMap<>(256);
+
 
 	/**
 	 * Build an adapted {@link AnnotatedElement} for the given annotations,
@@ -386,6 +400,21 @@ public abstract class AnnotatedElementUtils {
 	 */
 	@Nullable
 	public static <A extends Annotation> A getMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
+		if (!isCacheable(element)) {
+			return doGetMergedAnnotation(element, annotationType);
+		}
+		AnnotationCacheKey cacheKey = new AnnotationCacheKey(element, annotationType);
+		Object result = getMergedAnnotationCache.get(cacheKey);
+		if (result == null) {
+			A annotation = doGetMergedAnnotation(element, annotationType);
+			result = (annotation != null ? annotation : NO_MERGED_ANNOTATION);
+			getMergedAnnotationCache.put(cacheKey, result);
+		}
+		return castMergedAnnotation(result);
+	}
+
+	@Nullable
+	private static <A extends Annotation> A doGetMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		// Shortcut: directly present on the element, with no merging needed?
 		A annotation = element.getDeclaredAnnotation(annotationType);
 		if (annotation != null) {
@@ -696,6 +725,21 @@ public abstract class AnnotatedElementUtils {
 	 */
 	@Nullable
 	public static <A extends Annotation> A findMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
+		if (!isCacheable(element)) {
+			return doFindMergedAnnotation(element, annotationType);
+		}
+		AnnotationCacheKey cacheKey = new AnnotationCacheKey(element, annotationType);
+		Object result = findMergedAnnotationCache.get(cacheKey);
+		if (result == null) {
+			A annotation = doFindMergedAnnotation(element, annotationType);
+			result = (annotation != null ? annotation : NO_MERGED_ANNOTATION);
+			findMergedAnnotationCache.put(cacheKey, result);
+		}
+		return castMergedAnnotation(result);
+	}
+
+	@Nullable
+	private static <A extends Annotation> A doFindMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		// Shortcut: directly present on the element, with no merging needed?
 		A annotation = element.getDeclaredAnnotation(annotationType);
 		if (annotation != null) {
@@ -1359,6 +1403,30 @@ public abstract class AnnotatedElementUtils {
 		return annotations;
 	}
 
+	/**
+	 * Determine whether merged annotations for the given element may be cached:
+	 * only applicable to classes and class members which come with a stable
+	 * {@code equals} implementation, as opposed to ad-hoc adapted elements.
+	 */
+	private static boolean isCacheable(AnnotatedElement element) {
+		return (element instanceof Class || element instanceof Member);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private static <A extends Annotation> A castMergedAnnotation(Object cachedResult) {
+		return (cachedResult != NO_MERGED_ANNOTATION ? (A) cachedResult : null);
+	}
+
+	/**
+	 * Clear the internal merged annotation caches.
+	 * @see AnnotationUtils#clearCache()
+	 */
+	static void clearCache() {
+		getMergedAnnotationCache.clear();
+		findMergedAnnotationCache.clear();
+	}
+
 
 	/**
 	 * Callback interface that is used to process annotations during a search.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -1988,13 +1988,14 @@ public abstract class AnnotationUtils {
 		attributeAliasesCache.clear();
 		attributeMethodsCache.clear();
 		aliasDescriptorCache.clear();
+		AnnotatedElementUtils.clearCache();
 	}
 
 
 	/**
 	 * Cache key for the AnnotatedElement cache.
 	 */
-	private static final class AnnotationCacheKey implements Comparable<AnnotationCacheKey> {
+	static final class AnnotationCacheKey implements Comparable<AnnotationCacheKey> {
 
 		private final AnnotatedElement element;
 
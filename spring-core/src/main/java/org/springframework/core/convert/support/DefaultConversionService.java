@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,19 @@
 
 package org.springframework.core.convert.support;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Currency;
+import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.converter.ConverterRegistry;
+import org.springframework.core.convert.converter.GenericConverter.ConvertiblePair;
 import org.springframework.lang.Nullable;
 
 /**
@@ -40,6 +46,25 @@ import org.springframework.lang.Nullable;
  */
 public class DefaultConversionService extends GenericConversionService {
 
+	/**
+	 * Frequently used conversions between plain types (String to numbers and
+	 * other scalar values, and back), resolved upfront on construction.
+	 */
+	private static final List<ConvertiblePair> COMMON_CONVERTIBLE_PAIRS;
+
+	static {
+		Class<?>[] scalarTypes = {Byte.class, byte.class, Short.class, short.class, Integer.class, int.class,
+				Long.class, long.class, Float.class, float.class, Double.class, double.class,
+				BigInteger.class, BigDecimal.class, Boolean.class, boolean.class, Character.class, char.class,
+				Locale.class, Charset.class, Currency.class, UUID.class};
+		List<ConvertiblePair> pairs = new ArrayList<>(scalarTypes.length * 2);
+		for (Class<?> scalarType : scalarTypes) {
+			pairs.add(new ConvertiblePair(String.class, scalarType));
+			pairs.add(new ConvertiblePair(scalarType, String.class));
+		}
+		COMMON_CONVERTIBLE_PAIRS = Collections.unmodifiableList(pairs);
+	}
+
 	@Nullable
 	private static volatile DefaultConversionService sharedInstance;
 
@@ -50,6 +75,10 @@ public class DefaultConversionService extends GenericConversionService {
 	 */
 	public DefaultConversionService() {
 		addDefaultConverters(this);
+		if (getClass() == DefaultConversionService.class) {
+			// Not for subclasses: their lookup overrides may not be ready to be called yet.
+			precomputeConverters(COMMON_CONVERTIBLE_PAIRS);
+		}
 	}
 
 
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.DecoratingProxy;
 import org.springframework.core.ResolvableType;
@@ -78,6 +79,15 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	private final Map<ConverterCacheKey, GenericConverter> converterCache = new ConcurrentReferenceHashMap<>(64);
 
+	/**
+	 * Fast path for plain {@code Class}-based type descriptors: source type to
+	 * target type to converter, avoiding key allocation and reference handling
+	 * on lookup. Only holds cache-safe types, i.e. types visible to the
+	 * ClassLoader of this class, such as {@code java.lang} types.
+	 */
+	private final Map<Class<?>, Map<Class<?>, GenericConverter>> simpleConverterCache =
+			new ConcurrentHashMap<>(64);
+
 
 	// ConverterRegistry implementation
 
@@ -251,24 +261,35 @@ public class GenericConversionService implements ConfigurableConversionService {
 	 */
 	@Nullable
 	protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
-		ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
-		GenericConverter converter = this.converterCache.get(key);
-		if (converter != null) {
-			return (converter != NO_MATCH ? converter : null);
+		boolean simple = (isSimpleType(sourceType) && isSimpleType(targetType));
+		if (simple) {
+			Map<Class<?>, GenericConverter> convertersForSource = this.simpleConverterCache.get(sourceType.getType());
+			if (convertersForSource != null) {
+				GenericConverter converter = convertersForSource.get(targetType.getType());
+				if (converter != null) {
+					return (converter != NO_MATCH ? converter : null);
+				}
+			}
 		}
 
-		converter = this.converters.find(sourceType, targetType);
+		ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
+		GenericConverter converter = this.converterCache.get(key);
 		if (converter == null) {
-			converter = getDefaultConverter(sourceType, targetType);
-		}
-
-		if (converter != null) {
+			converter = this.converters.find(sourceType, targetType);
+			if (converter == null) {
+				converter = getDefaultConverter(sourceType, targetType);
+			}
+			if (converter == null) {
+				converter = NO_MATCH;
+			}
 			this.converterCache.put(key, converter);
-			return converter;
 		}
 
-		this.converterCache.put(key, NO_MATCH);
-		return null;
+		if (simple && isCacheSafe(sourceType.getType()) && isCacheSafe(targetType.getType())) {
+			this.simpleConverterCache.computeIfAbsent(sourceType.getType(),
+					type -> new ConcurrentHashMap<>(16)).put(targetType.getType(), converter);
+		}
+		return (converter != NO_MATCH ? converter : null);
 	}
 
 	/**
@@ -302,8 +323,46 @@ public class GenericConversionService implements ConfigurableConversionService {
 		return generics;
 	}
 
+	/**
+	 * Eagerly resolve and cache the converters for the given pairs of plain
+	 * source and target types, so that the first conversion between them
+	 * takes the fast path right away.
+	 * @param convertiblePairs the source/target pairs to resolve
+	 * @since 5.1.21
+	 */
+	void precomputeConverters(Iterable<ConvertiblePair> convertiblePairs) {
+		for (ConvertiblePair pair : convertiblePairs) {
+			getConverter(TypeDescriptor.valueOf(pair.getSourceType()), TypeDescriptor.valueOf(pair.getTargetType()));
+		}
+	}
+
+	/**
+	 * Determine whether the given type descriptor is fully described by its
+	 * {@code Class}, as created through {@link TypeDescriptor#valueOf} or
+	 * {@link TypeDescriptor#forObject}: no annotations and a plain
+	 * {@link ResolvableType#forClass class type}, i.e. without type provider,
+	 * variable resolver or component type. Descriptors for the same class are
+	 * all equal then, allowing for a {@code Class}-keyed cache.
+	 * <p>Descriptors derived through {@link TypeDescriptor#narrow} or
+	 * {@link TypeDescriptor#array} are not simple in that sense, even if their
+	 * {@code ResolvableType} exposes the plain class as its source.
+	 */
+	private static boolean isSimpleType(TypeDescriptor typeDescriptor) {
+		return (typeDescriptor.getAnnotations().length == 0 &&
+				typeDescriptor.getResolvableType().equals(ResolvableType.forClass(typeDescriptor.getType())));
+	}
+
+	/**
+	 * Determine whether the given type may be strongly held by this
+	 * conversion service without risking a ClassLoader leak.
+	 */
+	private static boolean isCacheSafe(Class<?> type) {
+		return ClassUtils.isCacheSafe(type, GenericConversionService.class.getClassLoader());
+	}
+
 	private void invalidateCache() {
 		this.converterCache.clear();
+		this.simpleConverterCache.clear();
 	}
 
 	@Nullable
@@ -503,6 +562,8 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 		private final Map<ConvertiblePair, ConvertersForPair> converters = new LinkedHashMap<>(256);
 
+		private final Map<Class<?>, List<Class<?>>> classHierarchyCache = new ConcurrentReferenceHashMap<>(64);
+
 		public void add(GenericConverter converter) {
 			Set<ConvertiblePair> convertibleTypes = converter.getConvertibleTypes();
 			if (convertibleTypes == null) {
@@ -582,6 +643,15 @@ public class GenericConversionService implements ConfigurableConversionService {
 		 * @return an ordered list of all classes that the given type extends or implements
 		 */
 		private List<Class<?>> getClassHierarchy(Class<?> type) {
+			List<Class<?>> hierarchy = this.classHierarchyCache.get(type);
+			if (hierarchy == null) {
+				hierarchy = Collections.unmodifiableList(buildClassHierarchy(type));
+				this.classHierarchyCache.put(type, hierarchy);
+			}
+			return hierarchy;
+		}
+
+		private List<Class<?>> buildClassHierarchy(Class<?> type) {
 			List<Class<?>> hierarchy = new ArrayList<>(20);
 			Set<Class<?>> visited = new HashSet<>(20);
 			addToClassHierarchy(0, ClassUtils.resolvePrimitiveIfNecessary(type), false, hierarchy, visited);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -66,6 +66,17 @@ public abstract class AbstractEnvironment implements ConfigurableEnvironment {
 	 */
 	public static final String IGNORE_GETENV_PROPERTY_NAME = "spring.getenv.ignore";
 
+	/**
+	 * System property that instructs Spring to resolve environment properties through
+	 * an {@link IndexedPropertySourcesPropertyResolver}, memoizing lookups until the
+	 * {@link MutablePropertySources} change.
+	 * <p>The default is "false", searching all property sources on every lookup.
+	 * Consider switching this flag to "true" if properties are looked up frequently
+	 * and the content of the individual property sources does not change at runtime.
+	 * @since 5.1.21
+	 */
+	public static final String INDEXED_PROPERTY_RESOLUTION_PROPERTY_NAME = "spring.env.indexed";
+
 	/**
 	 * Name of property to set to specify active profiles: {@value}. Value may be comma
 	 * delimited.
@@ -110,7 +121,9 @@ public abstract class AbstractEnvironment implements ConfigurableEnvironment {
 	private final MutablePropertySources propertySources = new MutablePropertySources();
 
 	private final ConfigurablePropertyResolver propertyResolver =
-			new PropertySourcesPropertyResolver(this.propertySources);
+			(SpringProperties.getFlag(INDEXED_PROPERTY_RESOLUTION_PROPERTY_NAME) ?
+					new IndexedPropertySourcesPropertyResolver(this.propertySources) :
+					new PropertySourcesPropertyResolver(this.propertySources));
 
 
 	/**
@@ -479,6 +492,37 @@ public abstract class AbstractEnvironment implements ConfigurableEnvironment {
 	}
 
 
+	/**
+	 * Discard all property lookups memoized by this environment, e.g. after the
+	 * content of a property source has been modified in place.
+	 * <p>Only applies when indexed property resolution is enabled; a no-op otherwise.
+	 * @since 5.1.21
+	 * @see #INDEXED_PROPERTY_RESOLUTION_PROPERTY_NAME
+	 * @see IndexedPropertySourcesPropertyResolver#clearCache()
+	 */
+	public void clearPropertyCache() {
+		if (this.propertyResolver instanceof IndexedPropertySourcesPropertyResolver) {
+			((IndexedPropertySourcesPropertyResolver) this.propertyResolver).clearCache();
+		}
+	}
+
+	/**
+	 * Return the number of property lookups answered by each property source
+	 * so far, keyed by property source name.
+	 * <p>Only tracked when indexed property resolution is enabled; an empty
+	 * Map is returned otherwise.
+	 * @since 5.1.21
+	 * @see #INDEXED_PROPERTY_RESOLUTION_PROPERTY_NAME
+	 * @see IndexedPropertySourcesPropertyResolver#getLookupCounts()
+	 */
+	public Map<String, Long> getPropertyLookupCounts() {
+		if (this.propertyResolver instanceof IndexedPropertySourcesPropertyResolver) {
+			return ((IndexedPropertySourcesPropertyResolver) this.propertyResolver).getLookupCounts();
+		}
+		return Collections.emptyMap();
+	}
+
+
 	//---------------------------------------------------------------------
 	// Implementation of ConfigurablePropertyResolver interface
 	//---------------------------------------------------------------------
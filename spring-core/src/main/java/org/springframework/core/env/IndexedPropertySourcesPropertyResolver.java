@@ -0,0 +1,294 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.env;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link PropertySourcesPropertyResolver} variant that memoizes lookups in a
+ * snapshot instead of walking all property sources, resolving nested placeholders
+ * and converting the value on every call.
+ *
+ * <p>The snapshot is a merged key&rarr;value index filled on first access of each
+ * key; it also holds the placeholder-resolved form of each value and typed
+ * conversions to immutable target types (primitives and their wrappers, enums).
+ * It is discarded whenever the underlying {@link MutablePropertySources} are
+ * structurally modified, and whenever placeholder or conversion settings change.
+ * Changes <i>within</i> an existing property source (e.g. a system property
+ * set at runtime) are not detected; call {@link #clearCache()} in such a case.
+ *
+ * <p>Additionally keeps track of the number of lookups answered by each property
+ * source, see {@link #getLookupCounts()}.
+ *
+ * @since 5.1.21
+ * @see AbstractEnvironment#INDEXED_PROPERTY_RESOLUTION_PROPERTY_NAME
+ */
+public class IndexedPropertySourcesPropertyResolver extends PropertySourcesPropertyResolver {
+
+	private static final PropertyEntry NOT_FOUND = new PropertyEntry(null, null);
+
+
+	@Nullable
+	private final PropertySources propertySources;
+
+	@Nullable
+	private volatile Snapshot snapshot;
+
+	private final Map<String, LongAdder> lookupCounts = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Create a new resolver against the given property sources.
+	 * @param propertySources the set of {@link PropertySource} objects to use
+	 */
+	public IndexedPropertySourcesPropertyResolver(@Nullable PropertySources propertySources) {
+		super(propertySources);
+		this.propertySources = propertySources;
+	}
+
+
+	@Override
+	public void setConversionService(ConfigurableConversionService conversionService) {
+		super.setConversionService(conversionService);
+		clearCache();
+	}
+
+	@Override
+	public void setPlaceholderPrefix(String placeholderPrefix) {
+		super.setPlaceholderPrefix(placeholderPrefix);
+		clearCache();
+	}
+
+	@Override
+	public void setPlaceholderSuffix(String placeholderSuffix) {
+		super.setPlaceholderSuffix(placeholderSuffix);
+		clearCache();
+	}
+
+	@Override
+	public void setValueSeparator(@Nullable String valueSeparator) {
+		super.setValueSeparator(valueSeparator);
+		clearCache();
+	}
+
+	@Override
+	public void setIgnoreUnresolvableNestedPlaceholders(boolean ignoreUnresolvableNestedPlaceholders) {
+		super.setIgnoreUnresolvableNestedPlaceholders(ignoreUnresolvableNestedPlaceholders);
+		clearCache();
+	}
+
+	/**
+	 * Discard all memoized lookups, e.g. after the content of a
+	 * property source has been modified in place.
+	 */
+	public void clearCache() {
+		this.snapshot = null;
+	}
+
+	/**
+	 * Return the number of lookups answered by each property source so far,
+	 * keyed by property source name.
+	 */
+	public Map<String, Long> getLookupCounts() {
+		Map<String, Long> counts = new LinkedHashMap<>();
+		this.lookupCounts.forEach((name, count) -> counts.put(name, count.sum()));
+		return counts;
+	}
+
+
+	@Override
+	public boolean containsProperty(String key) {
+		return (obtainSnapshot().getEntry(key) != NOT_FOUND);
+	}
+
+	@Override
+	@Nullable
+	protected <T> T getProperty(String key, Class<T> targetValueType, boolean resolveNestedPlaceholders) {
+		Snapshot snapshot = obtainSnapshot();
+		PropertyEntry entry = snapshot.getEntry(key);
+		PropertySource<?> propertySource = entry.propertySource;
+		if (propertySource == null) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Could not find key '" + key + "' in any property source");
+			}
+			return null;
+		}
+		LongAdder lookupCount = this.lookupCounts.get(propertySource.getName());
+		if (lookupCount == null) {
+			lookupCount = this.lookupCounts.computeIfAbsent(propertySource.getName(), name -> new LongAdder());
+		}
+		lookupCount.increment();
+
+		Object value = entry.value;
+		if (resolveNestedPlaceholders && value instanceof String) {
+			String resolved = snapshot.resolvedValues.get(key);
+			if (resolved == null) {
+				// Not via computeIfAbsent: placeholder resolution recursively looks up other keys.
+				resolved = resolveNestedPlaceholders((String) value);
+				snapshot.resolvedValues.putIfAbsent(key, resolved);
+			}
+			value = resolved;
+		}
+		logKeyFound(key, propertySource, value);
+
+		if (!isCacheableConversion(targetValueType) || ClassUtils.isAssignableValue(targetValueType, value)) {
+			return convertValueIfNecessary(value, targetValueType);
+		}
+		ConversionKey conversionKey = new ConversionKey(key, targetValueType, resolveNestedPlaceholders);
+		Object converted = snapshot.convertedValues.get(conversionKey);
+		if (converted == null) {
+			converted = convertValueIfNecessary(value, targetValueType);
+			if (converted != null) {
+				snapshot.convertedValues.putIfAbsent(conversionKey, converted);
+			}
+		}
+		@SuppressWarnings("unchecked")
+		T result = (T) converted;
+		return result;
+	}
+
+	private Snapshot obtainSnapshot() {
+		int version = (this.propertySources instanceof MutablePropertySources ?
+				((MutablePropertySources) this.propertySources).getModificationCount() : 0);
+		Snapshot snapshot = this.snapshot;
+		if (snapshot == null || snapshot.version != version) {
+			snapshot = new Snapshot(version);
+			this.snapshot = snapshot;
+		}
+		return snapshot;
+	}
+
+	private PropertyEntry findEntry(String key) {
+		if (this.propertySources != null) {
+			for (PropertySource<?> propertySource : this.propertySources) {
+				if (logger.isTraceEnabled()) {
+					logger.trace("Searching for key '" + key + "' in PropertySource '" +
+							propertySource.getName() + "'");
+				}
+				Object value = propertySource.getProperty(key);
+				if (value != null) {
+					return new PropertyEntry(value, propertySource);
+				}
+			}
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Only cache conversions to immutable types, so that callers
+	 * cannot observe modifications made to a shared result.
+	 */
+	private static boolean isCacheableConversion(@Nullable Class<?> targetType) {
+		return (targetType != null && (ClassUtils.isPrimitiveOrWrapper(targetType) || targetType.isEnum()));
+	}
+
+
+	/**
+	 * Memoized lookups for a given version of the property sources.
+	 */
+	private final class Snapshot {
+
+		final int version;
+
+		final Map<String, PropertyEntry> entries = new ConcurrentHashMap<>();
+
+		final Map<String, String> resolvedValues = new ConcurrentHashMap<>();
+
+		final Map<ConversionKey, Object> convertedValues = new ConcurrentHashMap<>();
+
+		Snapshot(int version) {
+			this.version = version;
+		}
+
+		PropertyEntry getEntry(String key) {
+			PropertyEntry entry = this.entries.get(key);
+			if (entry == null) {
+				entry = findEntry(key);
+				this.entries.putIfAbsent(key, entry);
+			}
+			return entry;
+		}
+	}
+
+
+	/**
+	 * A raw property value along with the property source it was found in.
+	 */
+	private static final class PropertyEntry {
+
+		@Nullable
+		final Object value;
+
+		@Nullable
+		final PropertySource<?> propertySource;
+
+		PropertyEntry(@Nullable Object value, @Nullable PropertySource<?> propertySource) {
+			this.value = value;
+			this.propertySource = propertySource;
+		}
+	}
+
+
+	/**
+	 * Cache key for a typed conversion of a property value.
+	 */
+	private static final class ConversionKey {
+
+		private final String key;
+
+		private final Class<?> targetType;
+
+		private final boolean resolved;
+
+		ConversionKey(String key, Class<?> targetType, boolean resolved) {
+			this.key = key;
+			this.targetType = targetType;
+			this.resolved = resolved;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ConversionKey)) {
+				return false;
+			}
+			ConversionKey otherKey = (ConversionKey) other;
+			return (this.key.equals(otherKey.key) && this.targetType == otherKey.targetType &&
+					this.resolved == otherKey.resolved);
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.key.hashCode() * 31 + this.targetType.hashCode()) * 31 + (this.resolved ? 1 : 0);
+		}
+
+		@Override
+		public String toString() {
+			return this.key + " -> " + this.targetType.getName();
+		}
+	}
+
+}
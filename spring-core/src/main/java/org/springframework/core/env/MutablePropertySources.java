@@ -43,6 +43,9 @@ public class MutablePropertySources implements PropertySources {
 
 	private final List<PropertySource<?>> propertySourceList = new CopyOnWriteArrayList<>();
 
+	/** Incremented on every structural change, see {@link #getModificationCount()}. */
+	private volatile int modificationCount;
+
 
 	/**
 	 * Create a new {@link MutablePropertySources} object.
@@ -106,6 +109,7 @@ public class MutablePropertySources implements PropertySources {
 		synchronized (this.propertySourceList) {
 			removeIfPresent(propertySource);
 			this.propertySourceList.add(0, propertySource);
+			this.modificationCount++;
 		}
 	}
 
@@ -116,6 +120,7 @@ public class MutablePropertySources implements PropertySources {
 		synchronized (this.propertySourceList) {
 			removeIfPresent(propertySource);
 			this.propertySourceList.add(propertySource);
+			this.modificationCount++;
 		}
 	}
 
@@ -129,6 +134,7 @@ public class MutablePropertySources implements PropertySources {
 			removeIfPresent(propertySource);
 			int index = assertPresentAndGetIndex(relativePropertySourceName);
 			addAtIndex(index, propertySource);
+			this.modificationCount++;
 		}
 	}
 
@@ -142,6 +148,7 @@ public class MutablePropertySources implements PropertySources {
 			removeIfPresent(propertySource);
 			int index = assertPresentAndGetIndex(relativePropertySourceName);
 			addAtIndex(index + 1, propertySource);
+			this.modificationCount++;
 		}
 	}
 
@@ -160,7 +167,12 @@ public class MutablePropertySources implements PropertySources {
 	public PropertySource<?> remove(String name) {
 		synchronized (this.propertySourceList) {
 			int index = this.propertySourceList.indexOf(PropertySource.named(name));
-			return (index != -1 ? this.propertySourceList.remove(index) : null);
+			if (index == -1) {
+				return null;
+			}
+			PropertySource<?> removed = this.propertySourceList.remove(index);
+			this.modificationCount++;
+			return removed;
 		}
 	}
 
@@ -175,6 +187,7 @@ public class MutablePropertySources implements PropertySources {
 		synchronized (this.propertySourceList) {
 			int index = assertPresentAndGetIndex(name);
 			this.propertySourceList.set(index, propertySource);
+			this.modificationCount++;
 		}
 	}
 
@@ -185,6 +198,17 @@ public class MutablePropertySources implements PropertySources {
 		return this.propertySourceList.size();
 	}
 
+	/**
+	 * Return a counter that changes whenever property sources are added,
+	 * removed or replaced, allowing callers to detect structural changes
+	 * without comparing the property sources themselves.
+	 * @since 5.1.21
+	 * @see IndexedPropertySourcesPropertyResolver
+	 */
+	int getModificationCount() {
+		return this.modificationCount;
+	}
+
 	@Override
 	public String toString() {
 		return this.propertySourceList.toString();
@@ -32,7 +32,11 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.zip.ZipException;
@@ -205,6 +209,12 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	private boolean defaultPathMatcher = true;
+
+	private volatile boolean cacheJarEntries = false;
+
+	private final Map<String, NavigableSet<String>> jarEntriesCache = new ConcurrentHashMap<>();
+
 
 	/**
 	 * Create a new PathMatchingResourcePatternResolver with a DefaultResourceLoader.
@@ -259,6 +269,7 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 	public void setPathMatcher(PathMatcher pathMatcher) {
 		Assert.notNull(pathMatcher, "PathMatcher must not be null");
 		this.pathMatcher = pathMatcher;
+		this.defaultPathMatcher = false;
 	}
 
 	/**
@@ -268,6 +279,46 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Specify whether to cache the entries of each jar file on first access,
+	 * so that several {@code classpath*:} patterns against the same jar file
+	 * (e.g. for multiple base packages in the same context refresh) share a
+	 * single iteration over the archive.
+	 * <p>Default is "false". Note that cached entries are kept until
+	 * {@link #clearCache()} is called, so changes to jar files go unnoticed
+	 * in the meantime, and that matching resources within a jar file are
+	 * returned in alphabetical order of their entry names rather than in
+	 * the order of the entries in the jar file. Turning this flag off clears
+	 * the cache.
+	 * <p>{@link org.springframework.context.support.AbstractApplicationContext}
+	 * turns this flag on for the duration of each refresh only.
+	 * @since 5.1.21
+	 */
+	public void setCacheJarEntries(boolean cacheJarEntries) {
+		this.cacheJarEntries = cacheJarEntries;
+		if (!cacheJarEntries) {
+			clearCache();
+		}
+	}
+
+	/**
+	 * Return whether this resolver caches the entries of each jar file.
+	 * @since 5.1.21
+	 */
+	public boolean isCacheJarEntries() {
+		return this.cacheJarEntries;
+	}
+
+	/**
+	 * Clear the local cache of jar file entries, forcing a fresh pass over
+	 * each jar file on the next pattern resolution.
+	 * @since 5.1.21
+	 * @see #setCacheJarEntries
+	 */
+	public void clearCache() {
+		this.jarEntriesCache.clear();
+	}
+
 
 	@Override
 	public Resource getResource(String location) {
@@ -647,14 +698,27 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 				// The Sun JRE does not return a slash here, but BEA JRockit does.
 				rootEntryPath = rootEntryPath + "/";
 			}
+			// Only visit entries below the static part of the pattern (if any).
+			String entryPrefix = rootEntryPath + determineStaticPrefix(subPattern);
 			Set<Resource> result = new LinkedHashSet<>(8);
-			for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
-				JarEntry entry = entries.nextElement();
-				String entryPath = entry.getName();
-				if (entryPath.startsWith(rootEntryPath)) {
-					String relativePath = entryPath.substring(rootEntryPath.length());
-					if (getPathMatcher().match(subPattern, relativePath)) {
-						result.add(rootDirResource.createRelative(relativePath));
+			if (this.cacheJarEntries) {
+				NavigableSet<String> entryPaths = this.jarEntriesCache.get(jarFileUrl);
+				if (entryPaths == null) {
+					entryPaths = readJarEntryPaths(jarFile);
+					this.jarEntriesCache.put(jarFileUrl, entryPaths);
+				}
+				for (String entryPath : entryPaths.tailSet(entryPrefix, true)) {
+					if (!entryPath.startsWith(entryPrefix)) {
+						break;
+					}
+					addIfMatching(result, rootDirResource, rootEntryPath, entryPath, subPattern);
+				}
+			}
+			else {
+				for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+					String entryPath = entries.nextElement().getName();
+					if (entryPath.startsWith(entryPrefix)) {
+						addIfMatching(result, rootDirResource, rootEntryPath, entryPath, subPattern);
 					}
 				}
 			}
@@ -667,6 +731,48 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		}
 	}
 
+	private void addIfMatching(Set<Resource> result, Resource rootDirResource, String rootEntryPath,
+			String entryPath, String subPattern) throws IOException {
+
+		String relativePath = entryPath.substring(rootEntryPath.length());
+		if (getPathMatcher().match(subPattern, relativePath)) {
+			result.add(rootDirResource.createRelative(relativePath));
+		}
+	}
+
+	/**
+	 * Read the names of all entries in the given jar file, in sorted order.
+	 */
+	private NavigableSet<String> readJarEntryPaths(JarFile jarFile) {
+		NavigableSet<String> entryPaths = new TreeSet<>();
+		for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+			entryPaths.add(entries.nextElement().getName());
+		}
+		return Collections.unmodifiableNavigableSet(entryPaths);
+	}
+
+	/**
+	 * Determine the leading directory part of the given sub pattern that does
+	 * not contain any wildcards, for pruning jar entries before matching.
+	 * <p>Only applied to the default {@link AntPathMatcher}; custom PathMatchers
+	 * may interpret the pattern differently (e.g. case-insensitively).
+	 */
+	private String determineStaticPrefix(String subPattern) {
+		if (!this.defaultPathMatcher) {
+			return "";
+		}
+		int wildcardIndex = subPattern.length();
+		for (int i = 0; i < subPattern.length(); i++) {
+			char c = subPattern.charAt(i);
+			if (c == '*' || c == '?' || c == '{') {
+				wildcardIndex = i;
+				break;
+			}
+		}
+		int separatorIndex = subPattern.lastIndexOf('/', wildcardIndex - 1);
+		return (separatorIndex != -1 ? subPattern.substring(0, separatorIndex + 1) : "");
+	}
+
 	/**
 	 * Resolve the given jar file URL into a JarFile object.
 	 */
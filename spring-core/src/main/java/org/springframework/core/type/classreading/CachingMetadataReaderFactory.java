@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -116,30 +116,54 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 
 	@Override
 	public MetadataReader getMetadataReader(Resource resource) throws IOException {
+		return getCachedMetadataReader(resource, null);
+	}
+
+	/**
+	 * This implementation caches the resulting MetadataReader for the given
+	 * resource, just like {@link #getMetadataReader(Resource)} does.
+	 */
+	@Override
+	public MetadataReader getMetadataReader(Resource resource, byte[] content) throws IOException {
+		return getCachedMetadataReader(resource, content);
+	}
+
+	private MetadataReader getCachedMetadataReader(Resource resource, @Nullable byte[] content) throws IOException {
 		if (this.metadataReaderCache instanceof ConcurrentMap) {
 			// No synchronization necessary...
 			MetadataReader metadataReader = this.metadataReaderCache.get(resource);
 			if (metadataReader == null) {
-				metadataReader = super.getMetadataReader(resource);
+				metadataReader = readMetadata(resource, content);
 				this.metadataReaderCache.put(resource, metadataReader);
 			}
 			return metadataReader;
 		}
 		else if (this.metadataReaderCache != null) {
+			MetadataReader metadataReader;
 			synchronized (this.metadataReaderCache) {
-				MetadataReader metadataReader = this.metadataReaderCache.get(resource);
-				if (metadataReader == null) {
-					metadataReader = super.getMetadataReader(resource);
-					this.metadataReaderCache.put(resource, metadataReader);
+				metadataReader = this.metadataReaderCache.get(resource);
+			}
+			if (metadataReader == null) {
+				// Parse outside of the lock, allowing for concurrent readers...
+				metadataReader = readMetadata(resource, content);
+				synchronized (this.metadataReaderCache) {
+					MetadataReader existing = this.metadataReaderCache.putIfAbsent(resource, metadataReader);
+					if (existing != null) {
+						metadataReader = existing;
+					}
 				}
-				return metadataReader;
 			}
+			return metadataReader;
 		}
 		else {
-			return super.getMetadataReader(resource);
+			return readMetadata(resource, content);
 		}
 	}
 
+	private MetadataReader readMetadata(Resource resource, @Nullable byte[] content) throws IOException {
+		return (content != null ? super.getMetadataReader(resource, content) : super.getMetadataReader(resource));
+	}
+
 	/**
 	 * Clear the local MetadataReader cache, if any, removing all cached class metadata.
 	 */
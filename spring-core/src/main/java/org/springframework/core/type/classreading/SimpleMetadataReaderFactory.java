@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -103,4 +103,19 @@ public class SimpleMetadataReaderFactory implements MetadataReaderFactory {
 		return new SimpleMetadataReader(resource, this.resourceLoader.getClassLoader());
 	}
 
+	/**
+	 * Obtain a MetadataReader for the given resource, building on class file
+	 * content that the caller has already read from it.
+	 * <p>The content is parsed right away and not retained; the returned
+	 * reader is associated with the given resource.
+	 * @param resource the resource (pointing to a ".class" file)
+	 * @param content the content of the class file behind the resource
+	 * @return a holder for the ClassReader instance (never {@code null})
+	 * @throws IOException in case of parse failure
+	 * @since 5.1.21
+	 */
+	public MetadataReader getMetadataReader(Resource resource, byte[] content) throws IOException {
+		return new SimpleMetadataReader(resource, content, this.resourceLoader.getClassLoader());
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -53,6 +53,25 @@ public abstract class AbstractTypeHierarchyTraversingFilter implements TypeFilte
 	}
 
 
+	/**
+	 * Return whether this filter also considers the superclass hierarchy
+	 * of the introspected class.
+	 * @since 5.1.21
+	 */
+	public final boolean isConsiderInherited() {
+		return this.considerInherited;
+	}
+
+	/**
+	 * Return whether this filter also considers the interfaces implemented
+	 * by the introspected class.
+	 * @since 5.1.21
+	 */
+	public final boolean isConsiderInterfaces() {
+		return this.considerInterfaces;
+	}
+
+
 	@Override
 	public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory)
 			throws IOException {
@@ -155,6 +155,9 @@ public abstract class MimeTypeUtils {
 	public static final String TEXT_XML_VALUE = "text/xml";
 
 
+	private static final ConcurrentLruCache<String, MimeType> cachedMimeTypes =
+			new ConcurrentLruCache<>(64, MimeTypeUtils::parseMimeTypeInternal);
+
 	@Nullable
 	private static volatile Random random;
 
@@ -182,7 +185,14 @@ public abstract class MimeTypeUtils {
 		if (!StringUtils.hasLength(mimeType)) {
 			throw new InvalidMimeTypeException(mimeType, "'mimeType' must not be empty");
 		}
+		// do not cache multipart mime types with random boundaries
+		if (mimeType.startsWith("multipart")) {
+			return parseMimeTypeInternal(mimeType);
+		}
+		return cachedMimeTypes.get(mimeType);
+	}
 
+	private static MimeType parseMimeTypeInternal(String mimeType) {
 		int index = mimeType.indexOf(';');
 		String fullType = (index >= 0 ? mimeType.substring(0, index) : mimeType).trim();
 		if (fullType.isEmpty()) {
@@ -261,6 +271,7 @@ public abstract class MimeTypeUtils {
 		}
 		return tokenize(mimeTypes).stream()
 				.filter(StringUtils::hasText)
+				.map(String::trim)
 				.map(MimeTypeUtils::parseMimeType)
 				.collect(Collectors.toList());
 	}
@@ -352,6 +363,25 @@ public abstract class MimeTypeUtils {
 	}
 
 
+	/**
+	 * Return the number of {@link #parseMimeType} calls that were served
+	 * from the internal cache of recently parsed mime types.
+	 * @since 5.1.21
+	 */
+	public static long getCacheHitCount() {
+		return cachedMimeTypes.hitCount();
+	}
+
+	/**
+	 * Return the number of {@link #parseMimeType} calls that actually had
+	 * to parse the given String, i.e. were not served from the cache.
+	 * @since 5.1.21
+	 */
+	public static long getCacheMissCount() {
+		return cachedMimeTypes.missCount();
+	}
+
+
 	/**
 	 * Lazily initialize the {@link SecureRandom} for {@link #generateMultipartBoundary()}.
 	 */
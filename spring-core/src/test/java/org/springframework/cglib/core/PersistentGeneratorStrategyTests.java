@@ -0,0 +1,138 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cglib.core;
+
+import java.io.File;
+import java.io.Serializable;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.NoOp;
+import org.springframework.core.SpringProperties;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PersistentGeneratorStrategy}.
+ *
+ * @since 5.1.21
+ */
+public class PersistentGeneratorStrategyTests {
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final CountingGeneratorStrategy generatorStrategy = new CountingGeneratorStrategy();
+
+
+	@Test
+	public void generatedClassIsPersistedAndReused() throws Exception {
+		File cacheDirectory = this.temporaryFolder.newFolder();
+		Class<?> generatedClass = createClass(cacheDirectory, newClassLoader());
+		assertEquals(1, this.generatorStrategy.count);
+		File[] files = cacheDirectory.listFiles();
+		assertEquals(1, files.length);
+		assertTrue(files[0].getName().startsWith(generatedClass.getName() + "-"));
+
+		Class<?> loadedClass = createClass(cacheDirectory, newClassLoader());
+		assertEquals(1, this.generatorStrategy.count);
+		assertNotSame(generatedClass, loadedClass);
+		assertEquals(generatedClass.getName(), loadedClass.getName());
+
+		Enhancer.registerCallbacks(loadedClass, new Callback[] {NoOp.INSTANCE});
+		Greeter greeter = (Greeter) loadedClass.newInstance();
+		assertEquals("Hello", greeter.greet());
+	}
+
+	@Test
+	public void differentConfigurationIsGeneratedSeparately() throws Exception {
+		File cacheDirectory = this.temporaryFolder.newFolder();
+		createClass(cacheDirectory, newClassLoader());
+		Enhancer enhancer = newEnhancer(cacheDirectory, newClassLoader());
+		enhancer.setInterfaces(new Class<?>[] {Serializable.class});
+		enhancer.createClass();
+		assertEquals(2, this.generatorStrategy.count);
+		assertEquals(2, cacheDirectory.listFiles().length);
+	}
+
+	@Test
+	public void configureWithCacheDirectoryProperty() throws Exception {
+		Enhancer enhancer = new Enhancer();
+		PersistentGeneratorStrategy.configure(enhancer);
+		assertSame(DefaultGeneratorStrategy.INSTANCE, enhancer.getStrategy());
+
+		File cacheDirectory = this.temporaryFolder.newFolder();
+		SpringProperties.setProperty(PersistentGeneratorStrategy.CACHE_DIRECTORY_PROPERTY_NAME,
+				cacheDirectory.getAbsolutePath());
+		try {
+			PersistentGeneratorStrategy.configure(enhancer);
+			assertTrue(enhancer.getStrategy() instanceof PersistentGeneratorStrategy);
+			assertEquals(cacheDirectory, ((PersistentGeneratorStrategy) enhancer.getStrategy()).getCacheDirectory());
+			assertTrue(enhancer.getNamingPolicy() instanceof PersistentGeneratorStrategy.StableNamingPolicy);
+		}
+		finally {
+			SpringProperties.setProperty(PersistentGeneratorStrategy.CACHE_DIRECTORY_PROPERTY_NAME, null);
+		}
+	}
+
+
+	private Class<?> createClass(File cacheDirectory, ClassLoader classLoader) {
+		return newEnhancer(cacheDirectory, classLoader).createClass();
+	}
+
+	private Enhancer newEnhancer(File cacheDirectory, ClassLoader classLoader) {
+		Enhancer enhancer = new Enhancer();
+		enhancer.setSuperclass(Greeter.class);
+		enhancer.setClassLoader(classLoader);
+		enhancer.setCallbackType(NoOp.class);
+		enhancer.setNamingPolicy(new PersistentGeneratorStrategy.StableNamingPolicy(SpringNamingPolicy.INSTANCE));
+		enhancer.setStrategy(new PersistentGeneratorStrategy(this.generatorStrategy, cacheDirectory));
+		return enhancer;
+	}
+
+	private ClassLoader newClassLoader() {
+		// A fresh ClassLoader per generation, bypassing CGLIB's in-memory class cache
+		return new URLClassLoader(new URL[0], getClass().getClassLoader());
+	}
+
+
+	private static class CountingGeneratorStrategy extends DefaultGeneratorStrategy {
+
+		int count;
+
+		@Override
+		public byte[] generate(ClassGenerator cg) throws Exception {
+			this.count++;
+			return super.generate(cg);
+		}
+	}
+
+
+	public static class Greeter {
+
+		public String greet() {
+			return "Hello";
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -117,6 +117,33 @@ public class ResolvableTypeTests {
 		assertTrue(type.isAssignableFrom(String.class));
 	}
 
+	@Test
+	public void forClassReturnsSharedInstance() throws Exception {
+		ResolvableType type = ResolvableType.forClass(ExtendsList.class);
+		assertThat(ResolvableType.forClass(ExtendsList.class), sameInstance(type));
+		assertThat(ResolvableType.forType(ExtendsList.class), sameInstance(type));
+		assertThat(ResolvableType.forClass(null), sameInstance(ResolvableType.forClass(Object.class)));
+	}
+
+	@Test
+	public void forClassAfterClearCache() throws Exception {
+		ResolvableType type = ResolvableType.forClass(ExtendsList.class);
+		ResolvableType.clearCache();
+		ResolvableType other = ResolvableType.forClass(ExtendsList.class);
+		assertThat(other, not(sameInstance(type)));
+		assertThat(other, equalTo(type));
+	}
+
+	@Test
+	public void forClassAsIsStable() throws Exception {
+		ResolvableType type = ResolvableType.forClass(ExtendsList.class);
+		ResolvableType listType = type.as(List.class);
+		assertThat(listType.toString(), equalTo("java.util.List<java.lang.CharSequence>"));
+		assertThat(type.as(List.class), sameInstance(listType));
+		assertThat(type.as(Map.class), sameInstance(ResolvableType.NONE));
+		assertThat(type.as(Map.class), sameInstance(ResolvableType.NONE));
+	}
+
 	@Test
 	public void forRawClass() throws Exception {
 		ResolvableType type = ResolvableType.forRawClass(ExtendsList.class);
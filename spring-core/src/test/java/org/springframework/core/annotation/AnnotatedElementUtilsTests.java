@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -695,6 +695,30 @@ public class AnnotatedElementUtilsTests {
 		assertEquals("TX qualifier via synthesized annotation.", "aliasForQualifier", annotation.qualifier());
 	}
 
+	@Test
+	public void findMergedAnnotationIsCached() {
+		Class<?> element = AliasedTransactionalComponentClass.class;
+		AliasedTransactional annotation = findMergedAnnotation(element, AliasedTransactional.class);
+		assertSame(annotation, findMergedAnnotation(element, AliasedTransactional.class));
+		assertNull(findMergedAnnotation(element, Order.class));
+		assertNull(findMergedAnnotation(element, Order.class));
+
+		AnnotationUtils.clearCache();
+		AliasedTransactional recreated = findMergedAnnotation(element, AliasedTransactional.class);
+		assertNotSame(annotation, recreated);
+		assertEquals(annotation, recreated);
+	}
+
+	@Test
+	public void getMergedAnnotationIsCached() {
+		Class<?> element = AliasedTransactionalComponentClass.class;
+		AliasedTransactional annotation = getMergedAnnotation(element, AliasedTransactional.class);
+		assertNotNull(annotation);
+		assertEquals("aliasForQualifier", annotation.value());
+		assertSame(annotation, getMergedAnnotation(element, AliasedTransactional.class));
+		assertNotSame(annotation, findMergedAnnotation(element, AliasedTransactional.class));
+	}
+
 	@Test
 	public void findMergedAnnotationForMultipleMetaAnnotationsWithClashingAttributeNames() {
 		String[] xmlLocations = asArray("test.xml");
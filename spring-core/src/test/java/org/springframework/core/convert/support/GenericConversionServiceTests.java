@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,6 +38,7 @@ import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConverterNotFoundException;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.ConditionalConverter;
+import org.springframework.core.convert.converter.ConditionalGenericConverter;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
 import org.springframework.core.convert.converter.GenericConverter;
@@ -490,6 +491,57 @@ public class GenericConversionServiceTests {
 				new TypeDescriptor(getClass().getField("inactiveColor"))));
 	}
 
+	@Test
+	public void conditionalConverterNotBypassedByCachedPlainTypeConversion() throws Exception {
+		conversionService.addConverter(new ColorConverter());
+		conversionService.addConverter(new MyConditionalColorConverter());
+
+		assertEquals(Color.BLACK, conversionService.convert(" #000000 ", Color.class));
+		assertEquals(Color.BLACK, conversionService.convert("000000xxxx",
+				new TypeDescriptor(getClass().getField("activeColor"))));
+		assertEquals(Color.BLACK, conversionService.convert(" #000000 ", Color.class));
+	}
+
+	@Test
+	public void plainTypeConverterCacheInvalidatedOnRegistryChange() {
+		assertFalse(conversionService.canConvert(String.class, Integer.class));
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		assertEquals(Integer.valueOf(3), conversionService.convert("3", Integer.class));
+		conversionService.removeConvertible(String.class, Number.class);
+		assertFalse(conversionService.canConvert(String.class, Integer.class));
+	}
+
+	@Test
+	public void plainTypeConverterCacheNotUsedForArrayWithGenericComponentType() {
+		conversionService.addConverter(new StringArrayToIntegerListArrayConverter());
+		TypeDescriptor sourceType = TypeDescriptor.valueOf(String[].class);
+		TypeDescriptor targetType = TypeDescriptor.array(
+				TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Integer.class)));
+
+		assertFalse(conversionService.canConvert(sourceType, TypeDescriptor.valueOf(List[].class)));
+		assertTrue(conversionService.canConvert(sourceType, targetType));
+		List<?>[] result = (List<?>[]) conversionService.convert(new String[] {"1", "2"}, sourceType, targetType);
+		assertEquals(Collections.singletonList(1), result[0]);
+		assertEquals(Collections.singletonList(2), result[1]);
+		assertFalse(conversionService.canConvert(sourceType, TypeDescriptor.valueOf(List[].class)));
+	}
+
+	@Test
+	public void plainTypeConverterCacheNotUsedForNarrowedCollectionElements() {
+		conversionService.addConverter(new CollectionToObjectConverter(conversionService));
+		conversionService.addConverter(new StringListToIntegerConverter());
+		TypeDescriptor sourceType = TypeDescriptor.collection(List.class,
+				TypeDescriptor.collection(ArrayList.class, TypeDescriptor.valueOf(String.class)));
+		TypeDescriptor targetType = TypeDescriptor.valueOf(Integer.class);
+		List<ArrayList<String>> source = Collections.singletonList(new ArrayList<>(Arrays.asList("1", "2")));
+
+		// Raw ArrayList -> Integer resolves to the CollectionToObjectConverter...
+		assertTrue(conversionService.canConvert(ArrayList.class, Integer.class));
+		// ...whereas the narrowed ArrayList<String> elements match the specific converter
+		assertEquals(3, conversionService.convert(source, sourceType, targetType));
+		assertEquals(3, conversionService.convert(source, sourceType, targetType));
+	}
+
 	@Test
 	public void shouldNotSupportNullConvertibleTypesFromNonConditionalGenericConverter() {
 		GenericConverter converter = new NonConditionalGenericConverter();
@@ -794,6 +846,57 @@ public class GenericConversionServiceTests {
 	}
 
 
+	private static class StringArrayToIntegerListArrayConverter implements ConditionalGenericConverter {
+
+		@Override
+		public Set<ConvertiblePair> getConvertibleTypes() {
+			return Collections.singleton(new ConvertiblePair(String[].class, List[].class));
+		}
+
+		@Override
+		public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
+			TypeDescriptor elementType = targetType.getElementTypeDescriptor();
+			return (elementType != null && elementType.getResolvableType().resolveGeneric(0) == Integer.class);
+		}
+
+		@Override
+		@Nullable
+		public Object convert(@Nullable Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+			String[] strings = (String[]) source;
+			List<?>[] result = new List<?>[strings.length];
+			for (int i = 0; i < strings.length; i++) {
+				result[i] = Collections.singletonList(Integer.valueOf(strings[i]));
+			}
+			return result;
+		}
+	}
+
+
+	private static class StringListToIntegerConverter implements ConditionalGenericConverter {
+
+		@Override
+		public Set<ConvertiblePair> getConvertibleTypes() {
+			return Collections.singleton(new ConvertiblePair(ArrayList.class, Integer.class));
+		}
+
+		@Override
+		public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
+			TypeDescriptor elementType = sourceType.getElementTypeDescriptor();
+			return (elementType != null && elementType.getType() == String.class);
+		}
+
+		@Override
+		@Nullable
+		public Object convert(@Nullable Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+			int sum = 0;
+			for (Object element : (List<?>) source) {
+				sum += Integer.parseInt((String) element);
+			}
+			return sum;
+		}
+	}
+
+
 	private static class MyConditionalConverterFactory implements ConverterFactory<String, Color>, ConditionalConverter {
 
 		private MyConditionalConverter converter = new MyConditionalConverter();
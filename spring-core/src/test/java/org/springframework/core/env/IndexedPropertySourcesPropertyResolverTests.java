@@ -0,0 +1,153 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.env;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.mock.env.MockPropertySource;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IndexedPropertySourcesPropertyResolver}.
+ */
+public class IndexedPropertySourcesPropertyResolverTests {
+
+	private MutablePropertySources propertySources;
+
+	private MockPropertySource highPrecedence;
+
+	private MockPropertySource lowPrecedence;
+
+	private IndexedPropertySourcesPropertyResolver propertyResolver;
+
+
+	@Before
+	public void setUp() {
+		this.propertySources = new MutablePropertySources();
+		this.highPrecedence = new MockPropertySource("high");
+		this.lowPrecedence = new MockPropertySource("low");
+		this.propertySources.addLast(this.highPrecedence);
+		this.propertySources.addLast(this.lowPrecedence);
+		this.propertyResolver = new IndexedPropertySourcesPropertyResolver(this.propertySources);
+	}
+
+
+	@Test
+	public void resolvesByPrecedence() {
+		this.highPrecedence.setProperty("name", "high");
+		this.lowPrecedence.setProperty("name", "low");
+		this.lowPrecedence.setProperty("other", "value");
+		assertEquals("high", this.propertyResolver.getProperty("name"));
+		assertEquals("value", this.propertyResolver.getProperty("other"));
+		assertNull(this.propertyResolver.getProperty("missing"));
+		assertFalse(this.propertyResolver.containsProperty("missing"));
+	}
+
+	@Test
+	public void cachesLookupsUntilPropertySourcesChange() {
+		this.lowPrecedence.setProperty("name", "low");
+		assertEquals("low", this.propertyResolver.getProperty("name"));
+
+		// In-place modification is not detected...
+		this.highPrecedence.setProperty("name", "high");
+		assertEquals("low", this.propertyResolver.getProperty("name"));
+
+		// ...but a structural change is.
+		this.propertySources.addFirst(new MockPropertySource("top").withProperty("other", "value"));
+		assertEquals("high", this.propertyResolver.getProperty("name"));
+		assertEquals("value", this.propertyResolver.getProperty("other"));
+
+		this.propertySources.remove("top");
+		assertNull(this.propertyResolver.getProperty("other"));
+	}
+
+	@Test
+	public void clearCache() {
+		assertNull(this.propertyResolver.getProperty("name"));
+		this.highPrecedence.setProperty("name", "high");
+		assertNull(this.propertyResolver.getProperty("name"));
+		this.propertyResolver.clearCache();
+		assertEquals("high", this.propertyResolver.getProperty("name"));
+	}
+
+	@Test
+	public void resolvesNestedPlaceholders() {
+		this.highPrecedence.setProperty("greeting", "Hello ${name}");
+		this.lowPrecedence.setProperty("name", "World");
+		assertEquals("Hello World", this.propertyResolver.getProperty("greeting"));
+		assertEquals("Hello World", this.propertyResolver.getProperty("greeting"));
+		assertEquals("Hello World!", this.propertyResolver.resolvePlaceholders("${greeting}!"));
+	}
+
+	@Test
+	public void unresolvableNestedPlaceholderIsNotCached() {
+		this.highPrecedence.setProperty("greeting", "Hello ${name}");
+		try {
+			this.propertyResolver.getProperty("greeting");
+			fail("Should have thrown IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex) {
+			// expected
+		}
+		this.propertyResolver.setIgnoreUnresolvableNestedPlaceholders(true);
+		assertEquals("Hello ${name}", this.propertyResolver.getProperty("greeting"));
+	}
+
+	@Test
+	public void convertsValues() {
+		this.highPrecedence.setProperty("port", "8080");
+		this.highPrecedence.setProperty("names", "a,b");
+		assertEquals(Integer.valueOf(8080), this.propertyResolver.getProperty("port", Integer.class));
+		assertEquals(Integer.valueOf(8080), this.propertyResolver.getProperty("port", Integer.class));
+		assertEquals(Long.valueOf(8080), this.propertyResolver.getProperty("port", Long.class));
+
+		String[] names = this.propertyResolver.getProperty("names", String[].class);
+		assertArrayEquals(new String[] {"a", "b"}, names);
+		assertNotSame(names, this.propertyResolver.getProperty("names", String[].class));
+	}
+
+	@Test
+	public void conversionServiceChangeDiscardsCachedConversions() {
+		this.highPrecedence.setProperty("flag", "on");
+		assertEquals(Boolean.TRUE, this.propertyResolver.getProperty("flag", Boolean.class));
+		DefaultConversionService conversionService = new DefaultConversionService();
+		conversionService.addConverter(String.class, Boolean.class, source -> Boolean.FALSE);
+		this.propertyResolver.setConversionService(conversionService);
+		assertEquals(Boolean.FALSE, this.propertyResolver.getProperty("flag", Boolean.class));
+	}
+
+	@Test
+	public void lookupCounts() {
+		this.highPrecedence.setProperty("a", "1");
+		this.lowPrecedence.setProperty("b", "2");
+		this.propertyResolver.getProperty("a");
+		this.propertyResolver.getProperty("a");
+		this.propertyResolver.getProperty("b");
+		this.propertyResolver.getProperty("c");
+
+		Map<String, Long> counts = this.propertyResolver.getLookupCounts();
+		assertEquals(2, counts.size());
+		assertEquals(Long.valueOf(2), counts.get("high"));
+		assertEquals(Long.valueOf(1), counts.get("low"));
+	}
+
+}
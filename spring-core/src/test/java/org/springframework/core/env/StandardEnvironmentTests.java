@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -382,6 +382,40 @@ public class StandardEnvironmentTests {
 		SpringProperties.setProperty("spring.getenv.ignore", null);
 	}
 
+	@Test
+	public void indexedPropertyResolutionThroughSpringFlag() {
+		SpringProperties.setFlag(INDEXED_PROPERTY_RESOLUTION_PROPERTY_NAME);
+		StandardEnvironment environment;
+		try {
+			environment = new StandardEnvironment();
+		}
+		finally {
+			SpringProperties.setProperty(INDEXED_PROPERTY_RESOLUTION_PROPERTY_NAME, null);
+		}
+		MockPropertySource propertySource = new MockPropertySource("test").withProperty("name", "value1");
+		environment.getPropertySources().addFirst(propertySource);
+		assertEquals("value1", environment.getProperty("name"));
+
+		propertySource.setProperty("name", "value2");
+		assertEquals("value1", environment.getProperty("name"));
+		environment.clearPropertyCache();
+		assertEquals("value2", environment.getProperty("name"));
+		assertEquals(Long.valueOf(3), environment.getPropertyLookupCounts().get("test"));
+	}
+
+	@Test
+	public void propertyCacheWithoutIndexedPropertyResolution() {
+		StandardEnvironment environment = new StandardEnvironment();
+		MockPropertySource propertySource = new MockPropertySource("test").withProperty("name", "value1");
+		environment.getPropertySources().addFirst(propertySource);
+		assertEquals("value1", environment.getProperty("name"));
+
+		propertySource.setProperty("name", "value2");
+		assertEquals("value2", environment.getProperty("name"));
+		environment.clearPropertyCache();
+		assertTrue(environment.getPropertyLookupCounts().isEmpty());
+	}
+
 	@Test
 	public void getSystemProperties_withAndWithoutSecurityManager() {
 		System.setProperty(ALLOWED_PROPERTY_NAME, ALLOWED_PROPERTY_VALUE);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,17 @@
 
 package org.springframework.core.io.support;
 
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -118,6 +124,115 @@ public class PathMatchingResourcePatternResolverTests {
 		assertTrue("Could not find aspectj_1_5_0.dtd in the root of the aspectjweaver jar", found);
 	}
 
+	@Test
+	public void multiplePatternsAgainstCachedJarEntries() throws IOException {
+		resolver.setCacheJarEntries(true);
+		File jarFile = createJarFile("com/example/a/A.class", "com/example/a/A.txt",
+				"com/example/b/B.class", "com/example/b/sub/C.class", "org/other/D.class");
+		try {
+			String jarUrl = "jar:" + jarFile.toURI().toURL() + "!/";
+			assertProtocolAndFilenames(resolver.getResources(jarUrl + "com/example/a/*.class"),
+					"jar", "A.class");
+			assertProtocolAndFilenames(resolver.getResources(jarUrl + "com/example/**/*.class"),
+					"jar", "A.class", "B.class", "C.class");
+			assertProtocolAndFilenames(resolver.getResources(jarUrl + "com/*/b/**/*.class"),
+					"jar", "B.class", "C.class");
+			assertProtocolAndFilenames(resolver.getResources(jarUrl + "**/D.class"),
+					"jar", "D.class");
+			assertProtocolAndFilenames(resolver.getResources(jarUrl + "com/example/a/A.t?t"),
+					"jar", "A.txt");
+		}
+		finally {
+			jarFile.delete();
+		}
+	}
+
+	@Test
+	public void clearCacheRereadsJarEntries() throws IOException {
+		resolver.setCacheJarEntries(true);
+		File jarFile = createJarFile("com/example/A.class");
+		try {
+			String pattern = "jar:" + jarFile.toURI().toURL() + "!/com/example/*.class";
+			assertEquals(1, resolver.getResources(pattern).length);
+
+			writeJarFile(jarFile, "com/example/A.class", "com/example/B.class");
+			assertEquals(1, resolver.getResources(pattern).length);
+
+			resolver.clearCache();
+			assertEquals(2, resolver.getResources(pattern).length);
+		}
+		finally {
+			jarFile.delete();
+		}
+	}
+
+	@Test
+	public void jarEntriesNotCachedByDefault() throws IOException {
+		assertFalse(resolver.isCacheJarEntries());
+		File jarFile = createJarFile("com/example/A.class");
+		try {
+			String pattern = "jar:" + jarFile.toURI().toURL() + "!/com/example/*.class";
+			assertEquals(1, resolver.getResources(pattern).length);
+
+			writeJarFile(jarFile, "com/example/A.class", "com/example/B.class");
+			assertEquals(2, resolver.getResources(pattern).length);
+		}
+		finally {
+			jarFile.delete();
+		}
+	}
+
+	@Test
+	public void jarEntryOrderDependsOnCaching() throws IOException {
+		File jarFile = File.createTempFile("resources", ".jar");
+		try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(jarFile))) {
+			for (String entryName : new String[] {"com/", "com/B.class", "com/A.class"}) {
+				jos.putNextEntry(new JarEntry(entryName));
+				jos.closeEntry();
+			}
+		}
+		try {
+			String pattern = "jar:" + jarFile.toURI().toURL() + "!/com/*.class";
+			assertFilenamesInOrder(resolver.getResources(pattern), "B.class", "A.class");
+
+			resolver.setCacheJarEntries(true);
+			assertFilenamesInOrder(resolver.getResources(pattern), "A.class", "B.class");
+		}
+		finally {
+			jarFile.delete();
+		}
+	}
+
+
+	private void assertFilenamesInOrder(Resource[] resources, String... filenames) {
+		assertEquals(filenames.length, resources.length);
+		for (int i = 0; i < filenames.length; i++) {
+			assertEquals(filenames[i], resources[i].getFilename());
+		}
+	}
+
+	private File createJarFile(String... entryNames) throws IOException {
+		File jarFile = File.createTempFile("resources", ".jar");
+		writeJarFile(jarFile, entryNames);
+		return jarFile;
+	}
+
+	private void writeJarFile(File jarFile, String... entryNames) throws IOException {
+		Set<String> allEntryNames = new TreeSet<>();
+		for (String entryName : entryNames) {
+			for (int i = entryName.indexOf('/'); i != -1; i = entryName.indexOf('/', i + 1)) {
+				allEntryNames.add(entryName.substring(0, i + 1));
+			}
+			allEntryNames.add(entryName);
+		}
+		try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(jarFile))) {
+			for (String entryName : allEntryNames) {
+				jos.putNextEntry(new JarEntry(entryName));
+				jos.closeEntry();
+			}
+		}
+	}
+
 
 	private void assertProtocolAndFilenames(Resource[] resources, String protocol, String... filenames)
 			throws IOException {
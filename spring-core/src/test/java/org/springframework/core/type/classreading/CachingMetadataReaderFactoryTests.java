@@ -0,0 +1,66 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.InputStream;
+
+import org.junit.Test;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link CachingMetadataReaderFactory}.
+ */
+public class CachingMetadataReaderFactoryTests {
+
+	@Test
+	public void metadataReaderFromContentCachedForResource() throws Exception {
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory(getClass().getClassLoader());
+		Resource resource = new ClassPathResource("CachingMetadataReaderFactoryTests.class", getClass());
+		byte[] content;
+		try (InputStream is = resource.getInputStream()) {
+			content = StreamUtils.copyToByteArray(is);
+		}
+
+		MetadataReader metadataReader = factory.getMetadataReader(resource, content);
+		assertSame(resource, metadataReader.getResource());
+		assertEquals(getClass().getName(), metadataReader.getClassMetadata().getClassName());
+		assertSame(metadataReader, factory.getMetadataReader(resource));
+		assertSame(metadataReader,
+				factory.getMetadataReader(new ClassPathResource("CachingMetadataReaderFactoryTests.class", getClass())));
+	}
+
+	@Test
+	public void metadataReaderFromContentWithoutCache() throws Exception {
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory(getClass().getClassLoader());
+		factory.setCacheLimit(0);
+		Resource resource = new ClassPathResource("CachingMetadataReaderFactoryTests.class", getClass());
+		byte[] content;
+		try (InputStream is = resource.getInputStream()) {
+			content = StreamUtils.copyToByteArray(is);
+		}
+
+		MetadataReader metadataReader = factory.getMetadataReader(resource, content);
+		assertEquals(getClass().getName(), metadataReader.getClassMetadata().getClassName());
+		assertNotSame(metadataReader, factory.getMetadataReader(resource));
+	}
+
+}
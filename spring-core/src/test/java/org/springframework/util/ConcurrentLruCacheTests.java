@@ -0,0 +1,171 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link ConcurrentLruCache}.
+ */
+public class ConcurrentLruCacheTests {
+
+	private final ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2, key -> key + "value");
+
+
+	@Test
+	public void zeroCapacity() {
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(0, key -> key + "value");
+
+		assertEquals(0, cache.sizeLimit());
+		assertEquals(0, cache.size());
+
+		assertEquals("k1value", cache.get("k1"));
+		assertEquals(0, cache.size());
+		assertFalse(cache.contains("k1"));
+		assertEquals(0, cache.hitCount());
+		assertEquals(1, cache.missCount());
+	}
+
+	@Test
+	public void getAndSize() {
+		assertEquals(2, this.cache.sizeLimit());
+		assertEquals(0, this.cache.size());
+		assertEquals("k1value", this.cache.get("k1"));
+		assertEquals(1, this.cache.size());
+		assertTrue(this.cache.contains("k1"));
+		assertEquals("k2value", this.cache.get("k2"));
+		assertEquals(2, this.cache.size());
+		assertTrue(this.cache.contains("k2"));
+		assertEquals("k3value", this.cache.get("k3"));
+		assertEquals(2, this.cache.size());
+		assertFalse(this.cache.contains("k1"));
+		assertTrue(this.cache.contains("k2"));
+		assertTrue(this.cache.contains("k3"));
+	}
+
+	@Test
+	public void removeAndSize() {
+		assertEquals("k1value", this.cache.get("k1"));
+		assertEquals("k2value", this.cache.get("k2"));
+		assertEquals(2, this.cache.size());
+		assertTrue(this.cache.contains("k1"));
+		assertTrue(this.cache.contains("k2"));
+		this.cache.remove("k2");
+		assertEquals(1, this.cache.size());
+		assertTrue(this.cache.contains("k1"));
+		assertFalse(this.cache.contains("k2"));
+		assertEquals("k3value", this.cache.get("k3"));
+		assertEquals(2, this.cache.size());
+		assertTrue(this.cache.contains("k1"));
+		assertTrue(this.cache.contains("k3"));
+	}
+
+	@Test
+	public void leastRecentlyUsedEntryGetsEvicted() {
+		this.cache.get("k1");
+		this.cache.get("k2");
+		this.cache.get("k1");
+		this.cache.get("k3");
+		assertTrue(this.cache.contains("k1"));
+		assertFalse(this.cache.contains("k2"));
+		assertTrue(this.cache.contains("k3"));
+	}
+
+	@Test
+	public void removeIfAndClear() {
+		this.cache.get("a1");
+		this.cache.get("b1");
+		assertTrue(this.cache.removeIf(key -> key.startsWith("a")));
+		assertFalse(this.cache.removeIf(key -> key.startsWith("a")));
+		assertEquals(1, this.cache.size());
+		assertTrue(this.cache.contains("b1"));
+		this.cache.clear();
+		assertEquals(0, this.cache.size());
+		assertFalse(this.cache.contains("b1"));
+	}
+
+	@Test
+	public void generationDoesNotBlockOtherKeys() throws Exception {
+		CountDownLatch generating = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2, key -> {
+			if (key.equals("slow")) {
+				generating.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return key + "value";
+		});
+
+		CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> cache.get("slow"));
+		try {
+			assertTrue(generating.await(10, TimeUnit.SECONDS));
+			assertEquals("fastvalue", CompletableFuture.supplyAsync(() -> cache.get("fast")).get(5, TimeUnit.SECONDS));
+		}
+		finally {
+			release.countDown();
+		}
+		assertEquals("slowvalue", slow.get(10, TimeUnit.SECONDS));
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void concurrentGenerationKeepsFirstValue() {
+		AtomicReference<ConcurrentLruCache<String, String>> cacheRef = new AtomicReference<>();
+		AtomicReference<String> firstValue = new AtomicReference<>();
+		cacheRef.set(new ConcurrentLruCache<>(2, key -> {
+			if (firstValue.get() == null) {
+				firstValue.set("");
+				// Simulate a concurrent generation for the same key completing first
+				firstValue.set(cacheRef.get().get(key));
+			}
+			return new String(key + "value");
+		}));
+		ConcurrentLruCache<String, String> cache = cacheRef.get();
+
+		String value = cache.get("k1");
+		assertSame(firstValue.get(), value);
+		assertSame(value, cache.get("k1"));
+		assertEquals(1, cache.size());
+		assertEquals(2, cache.missCount());
+		assertEquals(1, cache.hitCount());
+	}
+
+	@Test
+	public void statistics() {
+		this.cache.get("k1");
+		this.cache.get("k1");
+		this.cache.get("k2");
+		this.cache.get("k3");
+		this.cache.get("k3");
+		assertEquals(2, this.cache.hitCount());
+		assertEquals(3, this.cache.missCount());
+		assertEquals(1, this.cache.evictionCount());
+	}
+
+}
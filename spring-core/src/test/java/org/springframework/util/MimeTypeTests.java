@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -181,6 +181,25 @@ public class MimeTypeTests {
 		assertEquals("Invalid subtype", "*", mimeType.getSubtype());
 	}
 
+	@Test
+	public void parseMimeTypeIsCached() {
+		String s = "text/x-cached-mime-type;charset=UTF-8";
+		long missCount = MimeTypeUtils.getCacheMissCount();
+		long hitCount = MimeTypeUtils.getCacheHitCount();
+		MimeType mimeType = MimeTypeUtils.parseMimeType(s);
+		assertSame(mimeType, MimeTypeUtils.parseMimeType(s));
+		assertEquals(missCount + 1, MimeTypeUtils.getCacheMissCount());
+		assertTrue(MimeTypeUtils.getCacheHitCount() > hitCount);
+	}
+
+	@Test
+	public void parseMultipartMimeTypeIsNotCached() {
+		String s = "multipart/form-data;boundary=abc";
+		MimeType mimeType = MimeTypeUtils.parseMimeType(s);
+		assertNotSame(mimeType, MimeTypeUtils.parseMimeType(s));
+		assertEquals(mimeType, MimeTypeUtils.parseMimeType(s));
+	}
+
 	@Test(expected = InvalidMimeTypeException.class)
 	public void parseMimeTypeNoSubtype() {
 		MimeTypeUtils.parseMimeType("audio");
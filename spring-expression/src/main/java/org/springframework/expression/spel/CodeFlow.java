@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -60,6 +60,13 @@ public class CodeFlow implements Opcodes {
 	 */
 	private final Deque<List<String>> compilationScopes;
 
+	/**
+	 * Local variables holding the active context objects, e.g. the current element
+	 * while generating code for a collection selection or projection. The target
+	 * passed to the compiled expression (variable 1) is the default.
+	 */
+	private final Deque<Integer> activeContextVariables = new ArrayDeque<>();
+
 	/**
 	 * As SpEL ast nodes are called to generate code for the main evaluation method
 	 * they can register to add a field to this class. Any registered FieldAdders
@@ -85,9 +92,10 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the evaluation context).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
 
 
 	/**
@@ -105,11 +113,35 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the active context object
+	 * registered through {@link #pushActiveContextObject} if any.
 	 * @param mv the visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer variable = this.activeContextVariables.peek();
+		mv.visitVarInsn(ALOAD, (variable != null ? variable : 1));
+	}
+
+	/**
+	 * Register the local variable holding the active context object, to be loaded
+	 * by {@link #loadTarget} until the corresponding {@link #popActiveContextObject}.
+	 * <p>Used for nested evaluation against a different context object, e.g. the
+	 * current element in a collection selection or projection.
+	 * @param variable the index of the local variable holding the context object
+	 * @since 5.1.21
+	 * @see #nextFreeVariableId()
+	 */
+	public void pushActiveContextObject(int variable) {
+		this.activeContextVariables.push(variable);
+	}
+
+	/**
+	 * Unregister the most recently {@linkplain #pushActiveContextObject pushed}
+	 * active context object.
+	 * @since 5.1.21
+	 */
+	public void popActiveContextObject() {
+		this.activeContextVariables.pop();
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -131,11 +131,24 @@ public class InlineList extends SpelNodeImpl {
 
 	@Override
 	public boolean isCompilable() {
-		return isConstant();
+		if (isConstant()) {
+			return true;
+		}
+		for (SpelNodeImpl child : this.children) {
+			if (!child.isCompilable() || "V".equals(child.exitTypeDescriptor)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow codeflow) {
+		if (!isConstant()) {
+			generateListCode(mv, codeflow);
+			return;
+		}
+
 		final String constantFieldName = "inlineList$" + codeflow.nextFieldId();
 		final String className = codeflow.getClassName();
 
@@ -149,6 +162,26 @@ public class InlineList extends SpelNodeImpl {
 		codeflow.pushDescriptor("Ljava/util/List");
 	}
 
+	/**
+	 * Build a new list from the values of the (compilable) child expressions,
+	 * evaluating them each time the compiled expression gets evaluated.
+	 */
+	private void generateListCode(MethodVisitor mv, CodeFlow codeflow) {
+		mv.visitTypeInsn(NEW, "java/util/ArrayList");
+		mv.visitInsn(DUP);
+		mv.visitMethodInsn(INVOKESPECIAL, "java/util/ArrayList", "<init>", "()V", false);
+		for (SpelNodeImpl child : this.children) {
+			mv.visitInsn(DUP);
+			codeflow.enterCompilationScope();
+			child.generateCode(mv, codeflow);
+			CodeFlow.insertBoxIfNecessary(mv, codeflow.lastDescriptor());
+			codeflow.exitCompilationScope();
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "add", "(Ljava/lang/Object;)Z", true);
+			mv.visitInsn(POP);
+		}
+		codeflow.pushDescriptor("Ljava/util/List");
+	}
+
 	void generateClinitCode(String clazzname, String constantFieldName, MethodVisitor mv, CodeFlow codeflow, boolean nested) {
 		mv.visitTypeInsn(NEW, "java/util/ArrayList");
 		mv.visitInsn(DUP);
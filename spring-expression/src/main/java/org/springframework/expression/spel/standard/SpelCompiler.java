@@ -18,6 +18,8 @@ package org.springframework.expression.spel.standard;
 
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -30,6 +32,7 @@ import org.springframework.asm.Opcodes;
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.CompiledExpression;
+import org.springframework.expression.spel.SpelNode;
 import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.ast.SpelNodeImpl;
 import org.springframework.lang.Nullable;
@@ -116,7 +119,12 @@ public final class SpelCompiler implements Opcodes {
 		}
 
 		if (logger.isDebugEnabled()) {
-			logger.debug("SpEL: unable to compile " + expression.toStringAST());
+			StringBuilder sb = new StringBuilder();
+			for (SpelNode node : findInterpretedNodes(expression)) {
+				sb.append(sb.length() == 0 ? " - interpreted: " : ", ");
+				sb.append(node.getClass().getSimpleName()).append(" '").append(node.toStringAST()).append("'");
+			}
+			logger.debug("SpEL: unable to compile " + expression.toStringAST() + sb);
 		}
 		return null;
 	}
@@ -236,6 +244,43 @@ public final class SpelCompiler implements Opcodes {
 		return (expression instanceof SpelExpression && ((SpelExpression) expression).compileExpression());
 	}
 
+	/**
+	 * Determine the nodes of the given expression which keep it from being compiled,
+	 * i.e. the innermost AST nodes which are not compilable in their current state.
+	 * <p>Compilability depends on type information gathered during interpreted
+	 * evaluation, so this is only meaningful for expressions evaluated before.
+	 * @param expression the expression to analyze
+	 * @return the non-compilable nodes in depth-first order, or an empty list
+	 * if the expression is fully compilable (or not a SpEL expression at all)
+	 * @since 5.1.21
+	 */
+	public static List<SpelNode> findInterpretedNodes(Expression expression) {
+		if (!(expression instanceof SpelExpression)) {
+			return new ArrayList<>();
+		}
+		return findInterpretedNodes(((SpelExpression) expression).getAST());
+	}
+
+	private static List<SpelNode> findInterpretedNodes(SpelNode node) {
+		List<SpelNode> result = new ArrayList<>();
+		collectInterpretedNodes(node, result);
+		return result;
+	}
+
+	private static void collectInterpretedNodes(SpelNode node, List<SpelNode> result) {
+		if (node instanceof SpelNodeImpl && ((SpelNodeImpl) node).isCompilable()) {
+			return;
+		}
+		int size = result.size();
+		for (int i = 0; i < node.getChildCount(); i++) {
+			collectInterpretedNodes(node.getChild(i), result);
+		}
+		if (result.size() == size) {
+			// All children compilable: this node itself is the culprit
+			result.add(node);
+		}
+	}
+
 	/**
 	 * Request to revert to the interpreter for expression evaluation.
 	 * Any compiled form is discarded but can be recreated by later recompiling again.
@@ -537,6 +537,16 @@ public class SpelExpression implements Expression {
 		}
 	}
 
+	/**
+	 * Return whether this expression is currently evaluated through its
+	 * compiled form, i.e. has been compiled and not reverted to interpretation
+	 * since, either explicitly or after a failing compiled evaluation.
+	 * @since 5.1.21
+	 */
+	public boolean isCompiled() {
+		return (this.compiledAst != null);
+	}
+
 	/**
 	 * Cause an expression to revert to being interpreted if it has been using a compiled
 	 * form. It also resets the compilation attempt failure count (an expression is normally no
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -104,6 +104,8 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * FunctionReference
 	 * InlineList
 	 * OpModulus
+	 * Projection
+	 * Selection
 	 *
 	 * Not yet compiled (some may never need to be):
 	 * Assign
@@ -114,9 +116,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * OpMatches
 	 * OpPower
 	 * OpInc
-	 * Projection
 	 * QualifiedId
-	 * Selection
 	 */
 
 
@@ -365,6 +365,107 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertEquals("bc", o);
 	}
 
+	@Test
+	public void inlineListWithNonLiterals() throws Exception {
+		expression = parser.parseExpression("{length(), #this, {1,2}}");
+		assertEquals("[3, abc, [1, 2]]", expression.getValue("abc").toString());
+		assertCanCompile(expression);
+		List<?> l = expression.getValue("wxyz", List.class);
+		assertEquals("[4, wxyz, [1, 2]]", l.toString());
+		assertTrue(l instanceof ArrayList);
+
+		expression = parser.parseExpression("{'abc'.substring(1), {length(), 'x'}}[1][0]");
+		assertEquals(3, expression.getValue("abc"));
+		assertCanCompile(expression);
+		assertEquals(5, expression.getValue("abcde"));
+	}
+
+	@Test
+	public void selection() throws Exception {
+		expression = parser.parseExpression("{'a','bb','ccc'}.?[length() > 1]");
+		assertEquals("[bb, ccc]", expression.getValue().toString());
+		assertCanCompile(expression);
+		assertEquals("[bb, ccc]", expression.getValue().toString());
+
+		expression = parser.parseExpression("{'a','bb','ccc'}.^[length() > 1]");
+		assertEquals("bb", expression.getValue());
+		assertCanCompile(expression);
+		assertEquals("bb", expression.getValue());
+
+		expression = parser.parseExpression("{'a','bb','ccc'}.$[length() > 1]");
+		assertEquals("ccc", expression.getValue());
+		assertCanCompile(expression);
+		assertEquals("ccc", expression.getValue());
+
+		expression = parser.parseExpression("{'a','bb','ccc'}.^[length() > 5]");
+		assertNull(expression.getValue());
+		assertCanCompile(expression);
+		assertNull(expression.getValue());
+
+		expression = parser.parseExpression("#root.?[#this > 2]");
+		List<Integer> ints = new ArrayList<>();
+		Collections.addAll(ints, 1, 2, 3, 4);
+		assertEquals("[3, 4]", expression.getValue(ints).toString());
+		assertCanCompile(expression);
+		ints.add(5);
+		assertEquals("[3, 4, 5]", expression.getValue(ints).toString());
+
+		// Map selection remains interpreted
+		expression = parser.parseExpression("{'a':1,'b':2}.?[value > 1]");
+		assertEquals("{b=2}", expression.getValue().toString());
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void projection() throws Exception {
+		expression = parser.parseExpression("{'a','bb','ccc'}.![length()]");
+		assertEquals("[1, 2, 3]", expression.getValue().toString());
+		assertCanCompile(expression);
+		assertEquals("[1, 2, 3]", expression.getValue().toString());
+
+		expression = parser.parseExpression("{'a','bb','ccc'}.![#this + '!'].?[length() > 2]");
+		assertEquals("[bb!, ccc!]", expression.getValue().toString());
+		assertCanCompile(expression);
+		assertEquals("[bb!, ccc!]", expression.getValue().toString());
+
+		expression = parser.parseExpression("{'ab','c'}.![{#this, length()}]");
+		assertEquals("[[ab, 2], [c, 1]]", expression.getValue().toString());
+		assertCanCompile(expression);
+		assertEquals("[[ab, 2], [c, 1]]", expression.getValue().toString());
+
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		List<String> strings = new ArrayList<>();
+		Collections.addAll(strings, "a", "bb");
+		context.setVariable("strings", strings);
+		expression = parser.parseExpression("#strings?.![length()]");
+		assertEquals("[1, 2]", expression.getValue(context).toString());
+		assertCanCompile(expression);
+		assertEquals("[1, 2]", expression.getValue(context).toString());
+		context.setVariable("strings", null);
+		assertNull(expression.getValue(context));
+
+		// Array projection remains interpreted
+		context.setVariable("ints", new int[] {1, 2});
+		expression = parser.parseExpression("#ints.![#this * 2]");
+		assertEquals(2, ((Object[]) expression.getValue(context)).length);
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void interpretedNodes() throws Exception {
+		expression = parser.parseExpression("{'a','b'}.?[#this matches 'a'].size() + 2^3");
+		assertEquals(9, expression.getValue());
+		List<SpelNode> nodes = SpelCompiler.findInterpretedNodes(expression);
+		assertEquals(2, nodes.size());
+		assertEquals("(#this matches 'a')", nodes.get(0).toStringAST());
+		assertEquals("(2 ^ 3)", nodes.get(1).toStringAST());
+
+		expression = parser.parseExpression("{'a','b'}.?[#this == 'a'].size() + 8");
+		assertEquals(9, expression.getValue());
+		assertTrue(SpelCompiler.findInterpretedNodes(expression).isEmpty());
+		assertCanCompile(expression);
+	}
+
 	@SuppressWarnings("rawtypes")
 	@Test
 	public void nestedInlineLists() throws Exception {
@@ -30,6 +30,7 @@ import java.util.stream.Collectors;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.InvalidMimeTypeException;
 import org.springframework.util.MimeType;
 import org.springframework.util.MimeTypeUtils;
@@ -319,6 +320,9 @@ public class MediaType extends MimeType implements Serializable {
 
 	private static final String PARAM_QUALITY_FACTOR = "q";
 
+	private static final ConcurrentLruCache<String, MediaType> cachedMediaTypes =
+			new ConcurrentLruCache<>(64, MediaType::parseMediaTypeInternal);
+
 
 	static {
 		ALL = valueOf(ALL_VALUE);
@@ -524,6 +528,14 @@ public class MediaType extends MimeType implements Serializable {
 	 * @throws InvalidMediaTypeException if the media type value cannot be parsed
 	 */
 	public static MediaType parseMediaType(String mediaType) {
+		// do not cache multipart media types with random boundaries
+		if (!StringUtils.hasLength(mediaType) || mediaType.startsWith("multipart")) {
+			return parseMediaTypeInternal(mediaType);
+		}
+		return cachedMediaTypes.get(mediaType);
+	}
+
+	private static MediaType parseMediaTypeInternal(String mediaType) {
 		MimeType type;
 		try {
 			type = MimeTypeUtils.parseMimeType(mediaType);
@@ -552,6 +564,7 @@ public class MediaType extends MimeType implements Serializable {
 		}
 		return MimeTypeUtils.tokenize(mediaTypes).stream()
 				.filter(StringUtils::hasText)
+				.map(String::trim)
 				.map(MediaType::parseMediaType)
 				.collect(Collectors.toList());
 	}
@@ -685,6 +698,25 @@ public class MediaType extends MimeType implements Serializable {
 	}
 
 
+	/**
+	 * Return the number of {@link #parseMediaType} calls that were served
+	 * from the internal cache of recently parsed media types.
+	 * @since 5.1.21
+	 */
+	public static long getCacheHitCount() {
+		return cachedMediaTypes.hitCount();
+	}
+
+	/**
+	 * Return the number of {@link #parseMediaType} calls that actually had
+	 * to parse the given String, i.e. were not served from the cache.
+	 * @since 5.1.21
+	 */
+	public static long getCacheMissCount() {
+		return cachedMediaTypes.missCount();
+	}
+
+
 	/**
 	 * Comparator used by {@link #sortByQualityValue(List)}.
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -67,6 +67,23 @@ public class MediaTypeTests {
 		assertEquals("Invalid quality factor", 0.2D, mediaType.getQualityValue(), 0D);
 	}
 
+	@Test
+	public void parseMediaTypeIsCached() {
+		String s = "application/x-cached-media-type;q=0.5";
+		long missCount = MediaType.getCacheMissCount();
+		long hitCount = MediaType.getCacheHitCount();
+		MediaType mediaType = MediaType.parseMediaType(s);
+		assertSame(mediaType, MediaType.parseMediaType(s));
+		assertSame(mediaType, MediaType.parseMediaTypes("text/html, " + s).get(1));
+		assertEquals(missCount + 1, MediaType.getCacheMissCount());
+		assertTrue(MediaType.getCacheHitCount() >= hitCount + 2);
+	}
+
+	@Test(expected = InvalidMediaTypeException.class)
+	public void parseEmptyMediaType() {
+		MediaType.parseMediaType("");
+	}
+
 	@Test(expected = InvalidMediaTypeException.class)
 	public void parseMediaTypeNoSubtype() {
 		MediaType.parseMediaType("audio");